@@ -217,7 +217,8 @@ JOIN exams e ON sa.exam_id = e.id
 JOIN exam_halls eh ON sa.hall_id = eh.id
 WHERE s.is_active = TRUE AND e.status != 'CANCELLED';
 
--- View for hall occupancy
+-- View for hall occupancy (ad hoc reporting; the application reads
+-- occupancy from its in-memory registry instead of this GROUP BY)
 CREATE VIEW hall_occupancy_view AS
 SELECT 
     eh.id as hall_id,
@@ -238,11 +239,18 @@ CREATE INDEX idx_students_dept_year ON students(department, year);
 CREATE INDEX idx_exams_date_status ON exams(exam_date, status);
 CREATE INDEX idx_seating_exam_hall ON seating_arrangements(exam_id, hall_id);
 
+-- Indexes for prefix and full-text search (StudentDAO/TeacherDAO.searchAfter)
+CREATE INDEX idx_students_name ON students(name);
+CREATE FULLTEXT INDEX ft_students_search ON students(name, email, roll_no, department);
+CREATE INDEX idx_teachers_name ON teachers(name);
+CREATE FULLTEXT INDEX ft_teachers_search ON teachers(name, email, department);
+
 -- Create stored procedures
 
 DELIMITER //
 
--- Procedure to generate seating arrangement
+-- Procedure to check for an existing seating arrangement
+-- (seats are allocated in the application by com.examseating.seating.SeatingGenerator)
 CREATE PROCEDURE GenerateSeatingArrangement(
     IN exam_id INT,
     IN hall_id INT,
@@ -266,7 +274,7 @@ BEGIN
         FROM exam_halls 
         WHERE id = hall_id;
         
-        -- This is a simplified version - actual seating logic would be more complex
+        -- Seat allocation itself is done by SeatingGenerator in the application
         SET result = CONCAT('Seating arrangement generated for hall capacity: ', hall_capacity);
     END IF;
 END//
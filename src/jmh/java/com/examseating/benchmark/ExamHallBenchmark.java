@@ -0,0 +1,61 @@
+package com.examseating.benchmark;
+
+import com.examseating.model.ExamHall;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ExamHall seat math over every seat of a 20 x 30 hall, reported per seat
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExamHallBenchmark {
+
+    private static final int ROWS = 20;
+    private static final int COLUMNS = 30;
+    private static final int SEATS = ROWS * COLUMNS;
+
+    private ExamHall hall;
+
+    @Setup
+    public void setUp() {
+        hall = new ExamHall(1, "Main Hall", SEATS, ROWS, COLUMNS, "Block A", 1, null);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SEATS)
+    public int calculateSeatNumber() {
+        int sum = 0;
+        for (int row = 1; row <= ROWS; row++) {
+            for (int column = 1; column <= COLUMNS; column++) {
+                sum += hall.calculateSeatNumber(row, column);
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SEATS)
+    public int getSeatPosition() {
+        int sum = 0;
+        for (int seat = 1; seat <= SEATS; seat++) {
+            int[] position = hall.getSeatPosition(seat);
+            sum += position[0] + position[1];
+        }
+        return sum;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.examseating.benchmark;
+
+import com.examseating.model.SeatingArrangement;
+import com.google.gson.Gson;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Gson serialization of a seating plan as the servlets send it: a list of
+ * SeatingArrangement rows with the joined student, hall and exam fields
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GsonSerializationBenchmark {
+
+    @Param({"80", "2000"})
+    private int size;
+
+    private Gson gson;
+    private List<SeatingArrangement> arrangements;
+
+    @Setup
+    public void setUp() {
+        gson = new Gson();
+        arrangements = new ArrayList<>(size);
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (int i = 0; i < size; i++) {
+            int seatNumber = i % 80 + 1;
+            SeatingArrangement arrangement = new SeatingArrangement(1, i + 1, i / 80 + 1, seatNumber,
+                    (seatNumber - 1) / 10 + 1, (seatNumber - 1) % 10 + 1);
+            arrangement.setId(i + 1);
+            arrangement.setStudentName("Student " + i);
+            arrangement.setStudentRollNo(String.format("CS2021%03d", i % 1000));
+            arrangement.setHallName("Hall " + (i / 80 + 1));
+            arrangement.setExamSubject("Data Structures");
+            arrangement.setExamCode("CS201-FINAL");
+            arrangement.setCreatedAt(now);
+            arrangement.setUpdatedAt(now);
+            arrangements.add(arrangement);
+        }
+    }
+
+    @Benchmark
+    public String toJson() {
+        return gson.toJson(arrangements);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.examseating.benchmark;
+
+import com.examseating.model.ExamHall;
+import com.examseating.seating.HallSelection;
+import com.examseating.seating.HallSelector;
+import com.examseating.seating.SeatingConfig;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Hall selection for one exam over a campus of 1,500 halls (5 x 5 to 24 x
+ * 24, 20 buildings of 5 floors), from one small hall's worth of students to
+ * a whole-campus sitting
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HallSelectorBenchmark {
+
+    private static final int HALLS = 1500;
+
+    @Param({"150", "2000", "20000"})
+    private int headcount;
+
+    private List<ExamHall> halls;
+    private HallSelector selector;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        halls = new ArrayList<>(HALLS);
+        for (int i = 1; i <= HALLS; i++) {
+            int rows = 5 + random.nextInt(20);
+            int columns = 5 + random.nextInt(20);
+            halls.add(new ExamHall(i, "Hall " + i, rows * columns, rows, columns,
+                    "Block " + random.nextInt(20), random.nextInt(5), null));
+        }
+        selector = new HallSelector(new SeatingConfig(true, true, true, 80));
+    }
+
+    @Benchmark
+    public HallSelection select() {
+        return selector.select(halls, headcount);
+    }
+}
\ No newline at end of file
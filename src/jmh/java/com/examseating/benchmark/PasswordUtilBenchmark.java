@@ -0,0 +1,111 @@
+package com.examseating.benchmark;
+
+import com.examseating.util.PasswordUtil;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-login cost of password verification: the current PasswordUtil path
+ * against the previous implementation (new MessageDigest per call,
+ * String.format hex encoding, split and String.equals).
+ * <p>
+ * Run with the gc profiler to see bytes allocated per login
+ * (gc.alloc.rate.norm):
+ * <pre>
+ * mvn -Pjmh compile exec:exec -Djmh.args="PasswordUtilBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PasswordUtilBenchmark {
+
+    private static final String PASSWORD = "Exam#Seating2024";
+
+    private String storedHash;
+    private String legacyHash;
+
+    @Setup
+    public void setUp() {
+        storedHash = PasswordUtil.hashPassword(PASSWORD);
+        legacyHash = PasswordUtil.simpleHash(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean verifySalted() {
+        return PasswordUtil.verifyPassword(PASSWORD, storedHash);
+    }
+
+    @Benchmark
+    public boolean verifyLegacy() {
+        return PasswordUtil.verifyPassword(PASSWORD, legacyHash);
+    }
+
+    @Benchmark
+    public boolean verifySaltedBaseline() {
+        return Baseline.verifyPassword(PASSWORD, storedHash);
+    }
+
+    @Benchmark
+    public boolean verifyLegacyBaseline() {
+        return Baseline.verifyPassword(PASSWORD, legacyHash);
+    }
+
+    /**
+     * PasswordUtil verification as it was before the allocation-free path
+     */
+    static final class Baseline {
+
+        static boolean verifyPassword(String password, String storedHash) {
+            if (storedHash == null || !storedHash.contains(":")) {
+                return simpleHash(password).equals(storedHash);
+            }
+            String[] parts = storedHash.split(":", 2);
+            if (parts.length != 2) {
+                return false;
+            }
+            return hashPassword(password, parts[0]).equals(storedHash);
+        }
+
+        static String hashPassword(String password, String salt) {
+            try {
+                MessageDigest md = MessageDigest.getInstance("SHA-256");
+                md.update(salt.getBytes());
+                return salt + ":" + bytesToHex(md.digest(password.getBytes()));
+            } catch (NoSuchAlgorithmException e) {
+                throw new RuntimeException("Hash algorithm not available", e);
+            }
+        }
+
+        static String simpleHash(String input) {
+            try {
+                MessageDigest md = MessageDigest.getInstance("SHA-256");
+                return bytesToHex(md.digest(input.getBytes()));
+            } catch (NoSuchAlgorithmException e) {
+                throw new RuntimeException("Hash algorithm not available", e);
+            }
+        }
+
+        static String bytesToHex(byte[] bytes) {
+            StringBuilder result = new StringBuilder();
+            for (byte b : bytes) {
+                result.append(String.format("%02x", b));
+            }
+            return result.toString();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,143 @@
+package com.examseating.benchmark;
+
+import com.examseating.model.Student;
+import com.examseating.util.ValidationUtil;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ValidationUtil validators over a fixed mix of valid and invalid input,
+ * reported per validated value
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationUtilBenchmark {
+
+    private static final int INPUTS = 8;
+
+    private final String[] emails = {
+        "john.smith@university.edu", "jane_doe+exam@mail.example.org", "student42@cs.uni.ac.in", " padded@host.com ",
+        "no-at-sign.example.com", "trailing@dot.", "a@b.c", "two@@signs.com"
+    };
+
+    private final String[] phones = {
+        "+1234567890", "9876543210", "+91 98765-432101", "(555) 123-4567",
+        "", "12", "+0123456789", "phone"
+    };
+
+    private final String[] rollNumbers = {
+        "CS2021001", "ee20210", "21CSE045", "MECH123456",
+        "C2021001", "CS20", "21C045", "CS-2021-001"
+    };
+
+    private final String[] names = {
+        "John Smith", "Mary-Jane O'Neil", "Dr. A. Kumar", "Anne",
+        "J", "R2-D2", "", "Jean-Luc Picard, Jr."
+    };
+
+    private final String[] examCodes = {
+        "CS101-MID", "math201-final", "PHY110-QUIZ", "EE300-FINAL",
+        "CS101", "CS1010-MID", "C101-MID", "CS101-EXAM"
+    };
+
+    private final Student[] students = new Student[INPUTS];
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < INPUTS; i++) {
+            Student student = new Student();
+            student.setRollNo(rollNumbers[i]);
+            student.setName(names[i]);
+            student.setEmail(emails[i]);
+            student.setDepartment("Computer Science");
+            student.setYear(i % 7);
+            student.setSemester(i + 1);
+            student.setPhone(phones[i]);
+            students[i] = student;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public int email() {
+        int valid = 0;
+        for (String email : emails) {
+            if (ValidationUtil.isValidEmail(email)) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public int phone() {
+        int valid = 0;
+        for (String phone : phones) {
+            if (ValidationUtil.isValidPhone(phone)) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public int rollNo() {
+        int valid = 0;
+        for (String rollNo : rollNumbers) {
+            if (ValidationUtil.isValidRollNo(rollNo)) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public int name() {
+        int valid = 0;
+        for (String name : names) {
+            if (ValidationUtil.isValidName(name)) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public int examCode() {
+        int valid = 0;
+        for (String examCode : examCodes) {
+            if (ValidationUtil.isValidExamCode(examCode)) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public int validateStudent() {
+        int errors = 0;
+        for (Student student : students) {
+            errors += ValidationUtil.validateStudent(student).size();
+        }
+        return errors;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,173 @@
+package com.examseating.dao;
+
+import com.examseating.model.SeatingArrangement;
+import com.examseating.model.Student;
+import com.examseating.model.StudentSummary;
+import com.examseating.model.Teacher;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * DAO row mapping: query an embedded H2 database (MySQL mode) holding the
+ * application tables and map every row with the DAOs' mapResultSetTo*
+ * methods. Lives in the dao package because the mappers are package-private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DaoMappingBenchmark {
+
+    // H2 2.x reserves YEAR even in MySQL mode; students has a year column
+    private static final String URL = "jdbc:h2:mem:dao_mapping;MODE=MySQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR";
+
+    @Param({"1000"})
+    private int rows;
+
+    private Connection connection;
+    private StudentDAO studentDAO;
+    private TeacherDAO teacherDAO;
+    private SeatingArrangementDAO seatingDAO;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(URL, "sa", "");
+        studentDAO = new StudentDAO();
+        teacherDAO = new TeacherDAO();
+        seatingDAO = new SeatingArrangementDAO();
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            statement.execute("CREATE TABLE students (id INT PRIMARY KEY AUTO_INCREMENT, roll_no VARCHAR(20), " +
+                    "name VARCHAR(100), email VARCHAR(100), password VARCHAR(255), department VARCHAR(100), " +
+                    "year INT, semester INT, phone VARCHAR(15), address TEXT, is_active BOOLEAN DEFAULT TRUE, " +
+                    "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+            statement.execute("CREATE TABLE teachers (id INT PRIMARY KEY AUTO_INCREMENT, name VARCHAR(100), " +
+                    "email VARCHAR(100), password VARCHAR(255), department VARCHAR(100), phone VARCHAR(15), " +
+                    "is_admin BOOLEAN DEFAULT FALSE, created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                    "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+            statement.execute("CREATE TABLE seating_arrangements (id INT PRIMARY KEY AUTO_INCREMENT, exam_id INT, " +
+                    "student_id INT, hall_id INT, seat_number INT, seat_row INT, seat_column INT, " +
+                    "status VARCHAR(10) DEFAULT 'ASSIGNED', created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                    "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+        }
+
+        try (PreparedStatement students = connection.prepareStatement(
+                 "INSERT INTO students (roll_no, name, email, password, department, year, semester, phone, address) " +
+                 "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement teachers = connection.prepareStatement(
+                 "INSERT INTO teachers (name, email, password, department, phone, is_admin) VALUES (?, ?, ?, ?, ?, ?)");
+             PreparedStatement seating = connection.prepareStatement(
+                 "INSERT INTO seating_arrangements (exam_id, student_id, hall_id, seat_number, seat_row, seat_column) " +
+                 "VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                students.setString(1, String.format("CS2021%04d", i));
+                students.setString(2, "Student " + i);
+                students.setString(3, "student" + i + "@university.edu");
+                students.setString(4, "c2FsdHNhbHRzYWx0c2FsdA==:ef92b778bafe771e89245b89ecbc08a44a4e166c06659911881f383d4473e94f");
+                students.setString(5, "Computer Science");
+                students.setInt(6, i % 4 + 1);
+                students.setInt(7, i % 8 + 1);
+                students.setString(8, "9876543210");
+                students.setString(9, "Hostel Block " + (i % 10));
+                students.addBatch();
+
+                teachers.setString(1, "Teacher " + i);
+                teachers.setString(2, "teacher" + i + "@university.edu");
+                teachers.setString(3, "ef92b778bafe771e89245b89ecbc08a44a4e166c06659911881f383d4473e94f");
+                teachers.setString(4, "Mathematics");
+                teachers.setString(5, "9876543210");
+                teachers.setBoolean(6, i == 1);
+                teachers.addBatch();
+
+                int seatNumber = (i - 1) % 80 + 1;
+                seating.setInt(1, 1);
+                seating.setInt(2, i);
+                seating.setInt(3, (i - 1) / 80 + 1);
+                seating.setInt(4, seatNumber);
+                seating.setInt(5, (seatNumber - 1) / 10 + 1);
+                seating.setInt(6, (seatNumber - 1) % 10 + 1);
+                seating.addBatch();
+            }
+            students.executeBatch();
+            teachers.executeBatch();
+            seating.executeBatch();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public List<Student> mapStudents() throws SQLException {
+        List<Student> students = new ArrayList<>(rows);
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT * FROM students ORDER BY roll_no")) {
+            while (resultSet.next()) {
+                students.add(studentDAO.mapResultSetToStudent(resultSet));
+            }
+        }
+        return students;
+    }
+
+    @Benchmark
+    public List<StudentSummary> mapStudentSummaries() throws SQLException {
+        List<StudentSummary> students = new ArrayList<>(rows);
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                 "SELECT id, roll_no, name, department FROM students ORDER BY roll_no")) {
+            while (resultSet.next()) {
+                students.add(studentDAO.mapResultSetToSummary(resultSet));
+            }
+        }
+        return students;
+    }
+
+    @Benchmark
+    public List<Teacher> mapTeachers() throws SQLException {
+        List<Teacher> teachers = new ArrayList<>(rows);
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT * FROM teachers ORDER BY name")) {
+            while (resultSet.next()) {
+                teachers.add(teacherDAO.mapResultSetToTeacher(resultSet));
+            }
+        }
+        return teachers;
+    }
+
+    @Benchmark
+    public List<SeatingArrangement> mapSeatingArrangements() throws SQLException {
+        List<SeatingArrangement> arrangements = new ArrayList<>(rows);
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                 "SELECT * FROM seating_arrangements ORDER BY hall_id, seat_number")) {
+            while (resultSet.next()) {
+                arrangements.add(seatingDAO.mapResultSetToSeatingArrangement(resultSet));
+            }
+        }
+        return arrangements;
+    }
+}
\ No newline at end of file
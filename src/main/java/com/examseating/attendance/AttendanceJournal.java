@@ -0,0 +1,178 @@
+package com.examseating.attendance;
+
+import com.examseating.model.SeatingArrangement;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only log of accepted attendance marks that have not reached the
+ * database yet, one {@code examId,seatingId,STATUS} line per mark.
+ * <p>
+ * The journal is split into numbered segment files. Each flush rotates to
+ * a new segment and deletes the closed ones once their marks are stored,
+ * so a segment only exists while it holds unflushed marks. Lines are
+ * flushed to the operating system as they are written: they survive the
+ * process dying, not the machine losing power. Segments left behind by a
+ * previous process are read back on startup by {@link #readRecovered()}.
+ */
+public class AttendanceJournal implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceJournal.class);
+
+    private static final String PREFIX = "attendance-";
+    private static final String SUFFIX = ".journal";
+
+    private final Path directory;
+    private final List<Path> recoveredSegments;
+
+    // Guarded by this
+    private final List<Path> closedSegments = new ArrayList<>();
+    private long nextSegment;
+    private Path currentSegment;
+    private BufferedWriter writer;
+    private boolean currentEmpty;
+
+    public AttendanceJournal(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+
+        List<Path> existing = new ArrayList<>();
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path segment : segments) {
+                existing.add(segment);
+                nextSegment = Math.max(nextSegment, segmentNumber(segment) + 1);
+            }
+        }
+        Collections.sort(existing);
+        this.recoveredSegments = Collections.unmodifiableList(existing);
+        openSegment();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Segments found on startup, oldest first
+     */
+    public List<Path> getRecoveredSegments() {
+        return recoveredSegments;
+    }
+
+    /**
+     * Marks in the segments found on startup, the last one per seating row
+     * winning. Torn or malformed lines (e.g. a write cut short by a crash)
+     * are skipped.
+     */
+    public Map<Integer, SeatingArrangement.SeatingStatus> readRecovered() throws IOException {
+        Map<Integer, SeatingArrangement.SeatingStatus> marks = new LinkedHashMap<>();
+        for (Path segment : recoveredSegments) {
+            try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] fields = line.split(",");
+                    try {
+                        if (fields.length == 3) {
+                            marks.put(Integer.parseInt(fields[1]),
+                                      SeatingArrangement.SeatingStatus.valueOf(fields[2]));
+                            continue;
+                        }
+                    } catch (IllegalArgumentException e) {
+                        // fall through
+                    }
+                    logger.warn("Skipping malformed attendance journal line in {}: {}", segment.getFileName(), line);
+                }
+            }
+        }
+        return marks;
+    }
+
+    /**
+     * Record one accepted mark
+     */
+    public synchronized void append(int examId, int seatingId, SeatingArrangement.SeatingStatus status)
+            throws IOException {
+        writer.write(examId + "," + seatingId + "," + status.name() + "\n");
+        writer.flush();
+        currentEmpty = false;
+    }
+
+    /**
+     * Start a new segment if the current one has marks, and return every
+     * closed segment that has not been deleted yet. All marks appended
+     * before this call are in the returned segments.
+     */
+    public synchronized List<Path> rotate() throws IOException {
+        if (!currentEmpty) {
+            writer.close();
+            closedSegments.add(currentSegment);
+            openSegment();
+        }
+        return new ArrayList<>(closedSegments);
+    }
+
+    /**
+     * Delete closed segments whose marks are stored
+     */
+    public synchronized void delete(Collection<Path> segments) {
+        for (Path segment : segments) {
+            closedSegments.remove(segment);
+            deleteQuietly(segment);
+        }
+    }
+
+    /**
+     * Delete the segments found on startup once their marks are stored
+     */
+    public void deleteRecovered() {
+        for (Path segment : recoveredSegments) {
+            deleteQuietly(segment);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+        if (currentEmpty) {
+            deleteQuietly(currentSegment);
+        }
+    }
+
+    private void openSegment() throws IOException {
+        currentSegment = directory.resolve(String.format("%s%012d%s", PREFIX, nextSegment++, SUFFIX));
+        writer = Files.newBufferedWriter(currentSegment, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        currentEmpty = true;
+    }
+
+    private static long segmentNumber(Path segment) {
+        String name = segment.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static void deleteQuietly(Path segment) {
+        try {
+            Files.deleteIfExists(segment);
+        } catch (IOException e) {
+            logger.warn("Could not delete attendance journal segment {}", segment, e);
+        }
+    }
+}
\ No newline at end of file
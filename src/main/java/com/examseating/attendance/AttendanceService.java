@@ -0,0 +1,419 @@
+package com.examseating.attendance;
+
+import com.examseating.dao.SeatingArrangementDAO;
+import com.examseating.model.SeatingArrangement;
+import com.examseating.seating.SeatStatusFeed;
+import com.examseating.util.DatabaseUtil;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Write-behind attendance marking.
+ * <p>
+ * A mark is checked against an in-memory copy of the exam's seating rows
+ * (loaded once per exam), written to the {@link AttendanceJournal},
+ * published to live views and acknowledged at once. Marks are collected
+ * per seat, so marking a seat again before it is stored just replaces the
+ * pending status, and are written to MySQL in one batch every
+ * {@code attendance.flush.interval} ms or as soon as
+ * {@code attendance.flush.batch.size} are pending.
+ * <p>
+ * As with {@link SeatingArrangement#canMarkAttendance()}, a seat can only
+ * be marked while it is ASSIGNED: once a flush has taken its mark, further
+ * marks are rejected. The in-memory rows are dropped when
+ * {@link SeatingArrangementDAO} rewrites the exam's seating (see
+ * {@link #seatingChanged(int)}) and after {@code attendance.state.idle.ttl}
+ * seconds without marks, and reloaded on the next mark.
+ */
+public class AttendanceService {
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceService.class);
+
+    public enum MarkResult {
+        /** Stored in the journal and queued for the database */
+        ACCEPTED,
+        /** No such seating row in the exam */
+        NOT_FOUND,
+        /** The seat's attendance has already been recorded */
+        ALREADY_MARKED,
+        /** Only PRESENT and ABSENT can be marked */
+        INVALID_STATUS,
+        /** The exam has no seating, or it or the journal could not be read */
+        UNAVAILABLE
+    }
+
+    private final SeatingArrangementDAO seatingDAO;
+    private final AttendanceJournal journal;
+    private final SeatStatusFeed feed;
+    private final int flushThreshold;
+    private final long idleTtlMillis;
+
+    private final Map<Integer, ExamAttendance> exams = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Object flushLock = new Object();
+    private final ScheduledExecutorService flusher;
+    private volatile boolean recoveryPending;
+
+    private static final Set<AttendanceService> running = ConcurrentHashMap.newKeySet();
+
+    public AttendanceService(SeatingArrangementDAO seatingDAO, AttendanceJournal journal, SeatStatusFeed feed,
+                             long flushIntervalMillis, int flushThreshold, long idleTtlSeconds) {
+        this.seatingDAO = seatingDAO;
+        this.journal = journal;
+        this.feed = feed;
+        this.flushThreshold = Math.max(1, flushThreshold);
+        this.idleTtlMillis = TimeUnit.SECONDS.toMillis(idleTtlSeconds);
+
+        recoveryPending = !journal.getRecoveredSegments().isEmpty();
+        recover();
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "attendance-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+        running.add(this);
+    }
+
+    /**
+     * Create a service configured by the attendance.* properties
+     */
+    public static AttendanceService fromProperties() throws IOException {
+        Path directory = Paths.get(DatabaseUtil.getProperty("attendance.journal.directory",
+                Paths.get(System.getProperty("java.io.tmpdir"), "exam-seating-attendance").toString()));
+        int interval = DatabaseUtil.getIntProperty("attendance.flush.interval", 1000);
+        int batchSize = DatabaseUtil.getIntProperty("attendance.flush.batch.size", 500);
+        int idleTtl = DatabaseUtil.getIntProperty("attendance.state.idle.ttl", 3600);
+        logger.info("Attendance service: journal={}, flushInterval={}ms, batchSize={}", directory, interval, batchSize);
+        return new AttendanceService(new SeatingArrangementDAO(), new AttendanceJournal(directory),
+                SeatStatusFeed.getInstance(), interval, batchSize, idleTtl);
+    }
+
+    /**
+     * Drop the in-memory seating rows of an exam whose seating was just
+     * rewritten, in every running service; the next mark reloads them.
+     * Pending marks are kept and flushed as usual.
+     */
+    public static void seatingChanged(int examId) {
+        for (AttendanceService service : running) {
+            ExamAttendance exam = service.exams.get(examId);
+            if (exam != null) {
+                synchronized (exam) {
+                    exam.seats = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Mark one seat PRESENT or ABSENT. An ACCEPTED mark is durable in the
+     * journal and visible to live views, and reaches the database with the
+     * next flush.
+     */
+    public MarkResult mark(int examId, int seatingId, SeatingArrangement.SeatingStatus status) {
+        if (status != SeatingArrangement.SeatingStatus.PRESENT && status != SeatingArrangement.SeatingStatus.ABSENT) {
+            return MarkResult.INVALID_STATUS;
+        }
+
+        while (true) {
+            ExamAttendance exam = exams.computeIfAbsent(examId, ExamAttendance::new);
+            synchronized (exam) {
+                if (exam.evicted) {
+                    continue;
+                }
+                boolean fresh = exam.seats == null;
+                if (!exam.load()) {
+                    return MarkResult.UNAVAILABLE;
+                }
+                exam.lastUsed = System.currentTimeMillis();
+
+                SeatingArrangement seat = exam.seats.get(seatingId);
+                if (seat == null && !fresh) {
+                    // The row may have been added since the exam was loaded
+                    exam.seats = null;
+                    if (!exam.load()) {
+                        return MarkResult.UNAVAILABLE;
+                    }
+                    seat = exam.seats.get(seatingId);
+                }
+                if (seat == null) {
+                    return MarkResult.NOT_FOUND;
+                }
+                SeatingArrangement.SeatingStatus pending = exam.pending.get(seatingId);
+                if (pending == status) {
+                    return MarkResult.ACCEPTED;
+                }
+                if (pending == null && !seat.canMarkAttendance()) {
+                    return MarkResult.ALREADY_MARKED;
+                }
+
+                try {
+                    journal.append(examId, seatingId, status);
+                } catch (IOException e) {
+                    logger.error("Could not journal attendance mark for seat {} of exam {}", seatingId, examId, e);
+                    return MarkResult.UNAVAILABLE;
+                }
+                if (exam.pending.put(seatingId, status) == null) {
+                    pendingCount.incrementAndGet();
+                }
+                feed.publish(copyWithStatus(seat, status));
+            }
+            break;
+        }
+
+        if (pendingCount.get() >= flushThreshold && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flushQuietly);
+        }
+        return MarkResult.ACCEPTED;
+    }
+
+    /**
+     * Number of accepted marks not yet taken by a flush
+     */
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * Write all pending marks to the database in one batch. On failure the
+     * marks are queued again for the next flush and stay in the journal.
+     * Marks that match no ASSIGNED row (the row was deleted or already
+     * marked elsewhere) are logged and dropped.
+     *
+     * @return the number of marks stored, or -1 if the batch failed
+     */
+    public int flush() {
+        synchronized (flushLock) {
+            flushRequested.set(false);
+            recover();
+
+            List<Path> segments;
+            try {
+                segments = journal.rotate();
+            } catch (IOException e) {
+                logger.error("Could not rotate attendance journal", e);
+                segments = null;
+            }
+
+            // Take every pending mark; the seats count as marked from here on
+            Map<ExamAttendance, Map<Integer, SeatingArrangement.SeatingStatus>> taken = new IdentityHashMap<>();
+            Map<Integer, SeatingArrangement.SeatingStatus> batch = new HashMap<>();
+            for (ExamAttendance exam : exams.values()) {
+                synchronized (exam) {
+                    if (exam.pending.isEmpty()) {
+                        continue;
+                    }
+                    for (Map.Entry<Integer, SeatingArrangement.SeatingStatus> mark : exam.pending.entrySet()) {
+                        exam.setStatus(mark.getKey(), mark.getValue());
+                    }
+                    taken.put(exam, new LinkedHashMap<>(exam.pending));
+                    batch.putAll(exam.pending);
+                    pendingCount.addAndGet(-exam.pending.size());
+                    exam.pending.clear();
+                }
+            }
+
+            List<Integer> unchanged = new ArrayList<>();
+            int updated = seatingDAO.markAttendance(batch, unchanged);
+            if (updated < 0) {
+                requeue(taken);
+                logger.warn("Attendance flush of {} marks failed; will retry", batch.size());
+                return -1;
+            }
+            if (!unchanged.isEmpty()) {
+                dropLost(taken, unchanged);
+            }
+            if (segments != null) {
+                journal.delete(segments);
+            }
+            if (!batch.isEmpty()) {
+                logger.debug("Flushed {} attendance marks ({} rows changed)", batch.size(), updated);
+            }
+            evictIdle();
+            return batch.size() - unchanged.size();
+        }
+    }
+
+    /**
+     * Stop the flush timer, store what is pending and close the journal
+     */
+    public void shutdown() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        running.remove(this);
+        int flushed = flush();
+        try {
+            journal.close();
+        } catch (IOException e) {
+            logger.warn("Error closing attendance journal", e);
+        }
+        logger.info("Attendance service shut down (final flush: {}, still pending: {})", flushed, getPendingCount());
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.error("Attendance flush failed", e);
+        }
+    }
+
+    private void requeue(Map<ExamAttendance, Map<Integer, SeatingArrangement.SeatingStatus>> taken) {
+        for (Map.Entry<ExamAttendance, Map<Integer, SeatingArrangement.SeatingStatus>> entry : taken.entrySet()) {
+            ExamAttendance exam = entry.getKey();
+            synchronized (exam) {
+                for (Map.Entry<Integer, SeatingArrangement.SeatingStatus> mark : entry.getValue().entrySet()) {
+                    exam.setStatus(mark.getKey(), SeatingArrangement.SeatingStatus.ASSIGNED);
+                    if (exam.pending.putIfAbsent(mark.getKey(), mark.getValue()) == null) {
+                        pendingCount.incrementAndGet();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Log the marks a flush could not store and drop the in-memory rows of
+     * their exams, which no longer match the database
+     */
+    private void dropLost(Map<ExamAttendance, Map<Integer, SeatingArrangement.SeatingStatus>> taken,
+                          List<Integer> unchanged) {
+        Set<Integer> lost = new HashSet<>(unchanged);
+        for (Map.Entry<ExamAttendance, Map<Integer, SeatingArrangement.SeatingStatus>> entry : taken.entrySet()) {
+            ExamAttendance exam = entry.getKey();
+            List<String> marks = new ArrayList<>();
+            for (Map.Entry<Integer, SeatingArrangement.SeatingStatus> mark : entry.getValue().entrySet()) {
+                if (lost.contains(mark.getKey())) {
+                    marks.add(mark.getKey() + "=" + mark.getValue());
+                }
+            }
+            if (!marks.isEmpty()) {
+                logger.warn("{} attendance marks of exam {} matched no ASSIGNED seat and were not stored: {}",
+                        marks.size(), exam.examId, marks);
+                synchronized (exam) {
+                    exam.seats = null;
+                }
+            }
+        }
+    }
+
+    private void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleTtlMillis;
+        Iterator<ExamAttendance> iterator = exams.values().iterator();
+        while (iterator.hasNext()) {
+            ExamAttendance exam = iterator.next();
+            synchronized (exam) {
+                if (exam.pending.isEmpty() && exam.lastUsed < cutoff) {
+                    exam.evicted = true;
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Apply marks left in the journal by a previous process. Called on
+     * startup and before every flush until it succeeds.
+     */
+    private void recover() {
+        if (!recoveryPending) {
+            return;
+        }
+        try {
+            Map<Integer, SeatingArrangement.SeatingStatus> marks = journal.readRecovered();
+            int updated = seatingDAO.markAttendance(marks, null);
+            if (updated < 0) {
+                logger.error("Could not apply {} journaled attendance marks; segments kept in {} for the next flush",
+                        marks.size(), journal.getDirectory());
+                return;
+            }
+            journal.deleteRecovered();
+            recoveryPending = false;
+            logger.info("Recovered {} journaled attendance marks ({} rows changed)", marks.size(), updated);
+        } catch (IOException e) {
+            logger.error("Could not read attendance journal in {}", journal.getDirectory(), e);
+        }
+    }
+
+    private static SeatingArrangement copyWithStatus(SeatingArrangement seat, SeatingArrangement.SeatingStatus status) {
+        SeatingArrangement copy = new SeatingArrangement();
+        copy.setId(seat.getId());
+        copy.setExamId(seat.getExamId());
+        copy.setStudentId(seat.getStudentId());
+        copy.setHallId(seat.getHallId());
+        copy.setSeatNumber(seat.getSeatNumber());
+        copy.setSeatRow(seat.getSeatRow());
+        copy.setSeatColumn(seat.getSeatColumn());
+        copy.setStatus(status);
+        return copy;
+    }
+
+    /**
+     * One exam's seating rows by id and its pending marks; guarded by itself
+     */
+    private final class ExamAttendance {
+        private final int examId;
+        private Map<Integer, SeatingArrangement> seats;
+        private final Map<Integer, SeatingArrangement.SeatingStatus> pending = new LinkedHashMap<>();
+        private long lastUsed = System.currentTimeMillis();
+        private boolean evicted;
+
+        ExamAttendance(int examId) {
+            this.examId = examId;
+        }
+
+        /**
+         * Load the exam's rows on first use; false if there are none (or the
+         * query failed), in which case the next mark tries again
+         */
+        boolean load() {
+            if (seats != null) {
+                return true;
+            }
+            List<SeatingArrangement> rows = seatingDAO.getByExam(examId);
+            if (rows.isEmpty()) {
+                return false;
+            }
+            Map<Integer, SeatingArrangement> byId = new HashMap<>(rows.size() * 2);
+            for (SeatingArrangement row : rows) {
+                byId.put(row.getId(), row);
+            }
+            seats = byId;
+            return true;
+        }
+
+        /**
+         * Set the in-memory status of a row, if the rows are loaded
+         */
+        void setStatus(int seatingId, SeatingArrangement.SeatingStatus status) {
+            SeatingArrangement seat = seats != null ? seats.get(seatingId) : null;
+            if (seat != null) {
+                seat.setStatus(status);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,148 @@
+package com.examseating.dao;
+
+import com.examseating.model.Exam;
+import com.examseating.util.DatabaseUtil;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Data Access Object for Exam operations
+ */
+public class ExamDAO {
+    private static final Logger logger = Logger.getLogger(ExamDAO.class.getName());
+
+    private static final int BATCH_SIZE = 1000;
+
+    // SQL Queries
+    private static final String SELECT_EXAMS_BY_STATUS =
+        "SELECT * FROM exams WHERE status = ? ORDER BY id";
+
+    private static final String UPDATE_SCHEDULE =
+        "UPDATE exams SET exam_date = ?, start_time = ?, end_time = ?, updated_at = CURRENT_TIMESTAMP " +
+        "WHERE id = ? AND status = 'SCHEDULED'";
+
+    /**
+     * Get all exams with a status
+     */
+    public List<Exam> getByStatus(Exam.ExamStatus status) {
+        List<Exam> exams = new ArrayList<>();
+
+        try (Connection connection = DatabaseUtil.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_EXAMS_BY_STATUS)) {
+
+            statement.setString(1, status.name());
+            ResultSet resultSet = statement.executeQuery();
+
+            while (resultSet.next()) {
+                exams.add(mapResultSetToExam(resultSet));
+            }
+
+            return exams;
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error getting " + status + " exams", e);
+            return exams;
+        }
+    }
+
+    /**
+     * Write exam_date, start_time and end_time for a set of exams in one
+     * transaction. Exams that are no longer SCHEDULED are left alone. The
+     * seats of each rescheduled exam are then reloaded into the
+     * SeatLookupIndex, whose hall tickets show the exam's date and time.
+     *
+     * @return rows updated, or -1 if the batch was rolled back
+     */
+    public int updateSchedules(Collection<Exam> exams) {
+        if (exams.isEmpty()) {
+            return 0;
+        }
+
+        try (Connection connection = DatabaseUtil.getConnection()) {
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE_SCHEDULE)) {
+                int updated = 0;
+                int batched = 0;
+                List<Integer> ids = new ArrayList<>(Math.min(exams.size(), BATCH_SIZE));
+                List<Integer> rescheduled = new ArrayList<>(exams.size());
+                for (Exam exam : exams) {
+                    statement.setDate(1, exam.getExamDate());
+                    statement.setTime(2, exam.getStartTime());
+                    statement.setTime(3, exam.getEndTime());
+                    statement.setInt(4, exam.getId());
+                    statement.addBatch();
+                    ids.add(exam.getId());
+
+                    if (++batched % BATCH_SIZE == 0 || batched == exams.size()) {
+                        int[] counts = statement.executeBatch();
+                        updated += countAffected(counts);
+                        for (int i = 0; i < counts.length; i++) {
+                            if (counts[i] != 0) {
+                                rescheduled.add(ids.get(i));
+                            }
+                        }
+                        ids.clear();
+                    }
+                }
+                connection.commit();
+
+                SeatingArrangementDAO seatingDAO = new SeatingArrangementDAO();
+                for (int examId : rescheduled) {
+                    seatingDAO.refreshSeatIndex(examId);
+                }
+                return updated;
+
+            } catch (SQLException e) {
+                try {
+                    connection.rollback();
+                } catch (SQLException rollbackError) {
+                    logger.log(Level.SEVERE, "Error rolling back exam schedules", rollbackError);
+                }
+                logger.log(Level.SEVERE, "Error updating schedules for " + exams.size() + " exams", e);
+                return -1;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error updating schedules for " + exams.size() + " exams", e);
+            return -1;
+        }
+    }
+
+    private static int countAffected(int[] counts) {
+        int total = 0;
+        for (int count : counts) {
+            // Rewritten batches report SUCCESS_NO_INFO per row
+            total += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+        }
+        return total;
+    }
+
+    /**
+     * Map ResultSet to Exam object
+     */
+    Exam mapResultSetToExam(ResultSet resultSet) throws SQLException {
+        Exam exam = new Exam();
+        exam.setId(resultSet.getInt("id"));
+        exam.setSubject(resultSet.getString("subject"));
+        exam.setExamCode(resultSet.getString("exam_code"));
+        exam.setExamDate(resultSet.getDate("exam_date"));
+        exam.setStartTime(resultSet.getTime("start_time"));
+        exam.setEndTime(resultSet.getTime("end_time"));
+        exam.setDuration(resultSet.getInt("duration"));
+        exam.setTotalMarks(resultSet.getInt("total_marks"));
+        exam.setMinMarks(resultSet.getInt("min_marks"));
+        exam.setInstructions(resultSet.getString("instructions"));
+        exam.setStatus(Exam.ExamStatus.valueOf(resultSet.getString("status")));
+        exam.setCreatedBy(resultSet.getInt("created_by"));
+        exam.setCreatedAt(resultSet.getTimestamp("created_at"));
+        exam.setUpdatedAt(resultSet.getTimestamp("updated_at"));
+        return exam;
+    }
+}
\ No newline at end of file
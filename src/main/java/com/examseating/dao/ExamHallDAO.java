@@ -0,0 +1,88 @@
+package com.examseating.dao;
+
+import com.examseating.model.ExamHall;
+import com.examseating.util.DatabaseUtil;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Data Access Object for ExamHall operations
+ */
+public class ExamHallDAO {
+    private static final Logger logger = Logger.getLogger(ExamHallDAO.class.getName());
+
+    // SQL Queries
+    private static final String SELECT_ACTIVE_HALLS =
+        "SELECT * FROM exam_halls WHERE is_active = TRUE ORDER BY capacity DESC";
+
+    private static final String SELECT_HALL_BY_ID =
+        "SELECT * FROM exam_halls WHERE id = ?";
+
+    /**
+     * Get all active halls, largest first
+     */
+    public List<ExamHall> getActive() {
+        List<ExamHall> halls = new ArrayList<>();
+
+        try (Connection connection = DatabaseUtil.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_ACTIVE_HALLS)) {
+
+            ResultSet resultSet = statement.executeQuery();
+
+            while (resultSet.next()) {
+                halls.add(mapResultSetToExamHall(resultSet));
+            }
+
+            return halls;
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error getting active halls", e);
+            return halls;
+        }
+    }
+
+    /**
+     * Get hall by ID
+     */
+    public ExamHall getById(int id) {
+        try (Connection connection = DatabaseUtil.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_HALL_BY_ID)) {
+
+            statement.setInt(1, id);
+            ResultSet resultSet = statement.executeQuery();
+
+            if (resultSet.next()) {
+                return mapResultSetToExamHall(resultSet);
+            }
+
+            return null;
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error getting hall by ID: " + id, e);
+            return null;
+        }
+    }
+
+    /**
+     * Map ResultSet to ExamHall object
+     */
+    ExamHall mapResultSetToExamHall(ResultSet resultSet) throws SQLException {
+        ExamHall hall = new ExamHall();
+        hall.setId(resultSet.getInt("id"));
+        hall.setHallName(resultSet.getString("hall_name"));
+        hall.setCapacity(resultSet.getInt("capacity"));
+        hall.setRows(resultSet.getInt("rows"));
+        hall.setColumns(resultSet.getInt("columns"));
+        hall.setBuilding(resultSet.getString("building"));
+        int floor = resultSet.getInt("floor");
+        hall.setFloor(resultSet.wasNull() ? null : floor);
+        hall.setFacilities(resultSet.getString("facilities"));
+        hall.setActive(resultSet.getBoolean("is_active"));
+        hall.setCreatedAt(resultSet.getTimestamp("created_at"));
+        hall.setUpdatedAt(resultSet.getTimestamp("updated_at"));
+        return hall;
+    }
+}
\ No newline at end of file
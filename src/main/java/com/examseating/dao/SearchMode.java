@@ -0,0 +1,63 @@
+package com.examseating.dao;
+
+import java.util.Locale;
+
+/**
+ * How a keyset-paginated search matches its term. Both modes are served by
+ * indexes: PREFIX by the B-tree indexes on each searched column, FULLTEXT
+ * by the ft_*_search indexes.
+ */
+public enum SearchMode {
+    /**
+     * Column values starting with the term (roll number, email, name or
+     * department), e.g. "CS2021" or "john.s"
+     */
+    PREFIX {
+        @Override
+        public String toParameter(String term) {
+            String trimmed = term == null ? "" : term.trim();
+            if (trimmed.isEmpty()) {
+                return null;
+            }
+            StringBuilder pattern = new StringBuilder(trimmed.length() + 2);
+            for (int i = 0; i < trimmed.length(); i++) {
+                char c = trimmed.charAt(i);
+                if (c == '%' || c == '_' || c == '\\') {
+                    pattern.append('\\');
+                }
+                pattern.append(c);
+            }
+            return pattern.append('%').toString();
+        }
+    },
+
+    /**
+     * Words anywhere in the searched columns, each matched as a word prefix,
+     * e.g. "smith comp" finds "Dr. John Smith" in "Computer Science". Words
+     * shorter than innodb_ft_min_token_size are not indexed and are dropped.
+     */
+    FULLTEXT {
+        @Override
+        public String toParameter(String term) {
+            if (term == null) {
+                return null;
+            }
+            StringBuilder query = new StringBuilder();
+            for (String word : term.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+                if (word.length() >= MIN_FULLTEXT_WORD) {
+                    query.append(query.length() > 0 ? " +" : "+").append(word).append('*');
+                }
+            }
+            return query.length() > 0 ? query.toString() : null;
+        }
+    };
+
+    // InnoDB default innodb_ft_min_token_size
+    private static final int MIN_FULLTEXT_WORD = 3;
+
+    /**
+     * The LIKE pattern or boolean-mode MATCH query for a search term, or
+     * null if the term has nothing to match on
+     */
+    public abstract String toParameter(String term);
+}
\ No newline at end of file
@@ -0,0 +1,1152 @@
+package com.examseating.dao;
+
+import com.examseating.attendance.AttendanceService;
+import com.examseating.model.Exam;
+import com.examseating.model.RosterEntry;
+import com.examseating.model.SeatLocation;
+import com.examseating.model.SeatingArrangement;
+import com.examseating.model.StudentSummary;
+import com.examseating.seating.OccupancyRegistry;
+import com.examseating.seating.SeatLookupIndex;
+import com.examseating.seating.SeatStatusFeed;
+import com.examseating.util.DatabaseUtil;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Data Access Object for SeatingArrangement operations
+ */
+public class SeatingArrangementDAO {
+    private static final Logger logger = Logger.getLogger(SeatingArrangementDAO.class.getName());
+
+    // Rows per executeBatch call; the driver rewrites each batch into multi-row INSERTs
+    private static final int BATCH_SIZE = 1000;
+
+    // Reported as the violated constraint when two concurrent exams share a seat
+    static final String PHYSICAL_SEAT = "physical_seat";
+
+    // SQL Queries
+    private static final String INSERT_SEATING =
+        "INSERT INTO seating_arrangements (exam_id, student_id, hall_id, seat_number, seat_row, seat_column, status) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String DELETE_SEATING_BY_EXAM =
+        "DELETE FROM seating_arrangements WHERE exam_id = ?";
+
+    private static final String DELETE_SEATING_BY_EXAM_AND_HALL =
+        "DELETE FROM seating_arrangements WHERE exam_id = ? AND hall_id = ?";
+
+    private static final String LOCK_HALL =
+        "SELECT id FROM exam_halls WHERE id = ? FOR UPDATE";
+
+    // unique_seat is per exam; this finds a seat held by another exam whose
+    // time overlaps on the same day
+    private static final String SELECT_PHYSICAL_DOUBLE_BOOKING =
+        "SELECT a.seat_number, b.exam_id FROM seating_arrangements a " +
+        "JOIN exams ea ON ea.id = a.exam_id " +
+        "JOIN seating_arrangements b ON b.hall_id = a.hall_id AND b.seat_row = a.seat_row " +
+        "AND b.seat_column = a.seat_column AND b.exam_id <> a.exam_id " +
+        "JOIN exams eb ON eb.id = b.exam_id " +
+        "WHERE a.exam_id = ? AND a.hall_id = ? AND eb.status <> 'CANCELLED' AND eb.exam_date = ea.exam_date " +
+        "AND eb.start_time < ea.end_time AND ea.start_time < eb.end_time LIMIT 1";
+
+    private static final String SELECT_HALLS_BY_IDS_FOR_UPDATE =
+        "SELECT id, hall_id FROM seating_arrangements WHERE id IN (%s) FOR UPDATE";
+
+    private static final String SELECT_OCCUPANCY_COUNTS =
+        "SELECT exam_id, hall_id, COUNT(*) AS occupied FROM seating_arrangements GROUP BY exam_id, hall_id";
+
+    private static final String SELECT_SEATING_BY_ID =
+        "SELECT * FROM seating_arrangements WHERE id = ?";
+
+    private static final String SELECT_SEATING_BY_EXAM =
+        "SELECT * FROM seating_arrangements WHERE exam_id = ? ORDER BY hall_id, seat_number";
+
+    private static final String SELECT_SEATING_BY_EXAM_AND_HALL =
+        "SELECT * FROM seating_arrangements WHERE exam_id = ? AND hall_id = ? ORDER BY seat_number";
+
+    private static final String SELECT_SEATING_BY_EXAM_STATUS =
+        "SELECT sa.* FROM seating_arrangements sa JOIN exams e ON sa.exam_id = e.id WHERE e.status = ?";
+
+    private static final String SELECT_HALL_ROSTER =
+        "SELECT sa.id, sa.seat_number, sa.seat_row, sa.seat_column, sa.status, " +
+        "s.id AS student_id, s.roll_no, s.name, s.department " +
+        "FROM seating_arrangements sa JOIN students s ON s.id = sa.student_id " +
+        "WHERE sa.exam_id = ? AND sa.hall_id = ? ORDER BY sa.seat_number";
+
+    private static final String SELECT_STUDENT_SCHEDULE =
+        "SELECT sa.*, eh.hall_name, e.subject, e.exam_code, e.exam_date, e.start_time, e.end_time, e.duration, " +
+        "e.status AS exam_status, e.created_at AS exam_created_at " +
+        "FROM seating_arrangements sa " +
+        "JOIN exams e ON e.id = sa.exam_id " +
+        "JOIN exam_halls eh ON eh.id = sa.hall_id " +
+        "WHERE sa.student_id = ? AND e.status <> 'CANCELLED' " +
+        "ORDER BY e.exam_date, e.start_time";
+
+    // Same rows as student_exam_view, narrowed to what a hall ticket shows
+    private static final String SELECT_SEAT_LOCATIONS =
+        "SELECT sa.id, sa.exam_id, sa.student_id, sa.hall_id, sa.seat_number, sa.seat_row, sa.seat_column, " +
+        "s.roll_no, e.subject, e.exam_code, e.exam_date, e.start_time, eh.hall_name " +
+        "FROM seating_arrangements sa " +
+        "JOIN students s ON s.id = sa.student_id " +
+        "JOIN exams e ON e.id = sa.exam_id " +
+        "JOIN exam_halls eh ON eh.id = sa.hall_id " +
+        "WHERE s.is_active = TRUE AND e.status <> 'CANCELLED' AND ";
+
+    private static final String SELECT_UPCOMING_SEAT_LOCATIONS =
+        SELECT_SEAT_LOCATIONS + "e.status IN ('SCHEDULED', 'ONGOING') AND e.exam_date >= CURDATE()";
+
+    private static final String SELECT_UPCOMING_SEAT_LOCATIONS_BY_STUDENT =
+        SELECT_UPCOMING_SEAT_LOCATIONS + " AND sa.student_id = ?";
+
+    private static final String SELECT_UPCOMING_SEAT_LOCATIONS_BY_ROLL_NO =
+        SELECT_UPCOMING_SEAT_LOCATIONS + " AND s.roll_no = ?";
+
+    private static final String SELECT_SEAT_LOCATIONS_BY_EXAM =
+        SELECT_SEAT_LOCATIONS + "sa.exam_id = ?";
+
+    private static final String SELECT_SEAT_LOCATIONS_BY_IDS =
+        SELECT_SEAT_LOCATIONS + "sa.id IN (%s)";
+
+    private static final String SELECT_SEATING_BY_STUDENT_AND_EXAM =
+        "SELECT * FROM seating_arrangements WHERE student_id = ? AND exam_id = ?";
+
+    private static final String UPDATE_SEATING_STATUS =
+        "UPDATE seating_arrangements SET status = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
+
+    // Attendance can only be marked once, on a row that is still ASSIGNED
+    private static final String MARK_ATTENDANCE =
+        "UPDATE seating_arrangements SET status = ?, updated_at = CURRENT_TIMESTAMP " +
+        "WHERE id = ? AND status = 'ASSIGNED'";
+
+    private static final String MOVE_SEATING =
+        "UPDATE seating_arrangements SET hall_id = ?, seat_number = ?, seat_row = ?, seat_column = ?, " +
+        "updated_at = CURRENT_TIMESTAMP WHERE id = ? AND exam_id = ?";
+
+    private static final String COUNT_SEATING_BY_EXAM =
+        "SELECT COUNT(*) FROM seating_arrangements WHERE exam_id = ?";
+
+    /**
+     * Write a whole seating plan for one exam in a single transaction,
+     * replacing any rows the exam already has. Nothing is written if any
+     * row fails (e.g. a unique_seat or unique_student_exam violation) or a
+     * seat is already held by another exam running at the same time
+     * (physical_seat).
+     */
+    public BatchResult replaceForExam(int examId, List<SeatingArrangement> arrangements) {
+        return writePlan(examId, arrangements, true);
+    }
+
+    /**
+     * Insert seating rows for one exam in a single batched transaction,
+     * keeping existing rows
+     */
+    public BatchResult insertAll(int examId, List<SeatingArrangement> arrangements) {
+        return writePlan(examId, arrangements, false);
+    }
+
+    private BatchResult writePlan(int examId, List<SeatingArrangement> arrangements, boolean replace) {
+        long start = System.nanoTime();
+
+        for (SeatingArrangement arrangement : arrangements) {
+            if (arrangement.getExamId() != examId) {
+                return BatchResult.failure(examId, "Arrangement belongs to exam " + arrangement.getExamId(), null,
+                                           System.nanoTime() - start);
+            }
+        }
+
+        try (Connection connection = DatabaseUtil.getConnection()) {
+            connection.setAutoCommit(false);
+            OccupancyRegistry.getInstance().beginWrite(examId);
+
+            try {
+                lockHalls(connection, getHallIds(arrangements));
+                int deleted = 0;
+                if (replace) {
+                    try (PreparedStatement delete = connection.prepareStatement(DELETE_SEATING_BY_EXAM)) {
+                        delete.setInt(1, examId);
+                        deleted = delete.executeUpdate();
+                    }
+                }
+
+                int inserted = insertBatched(connection, arrangements);
+                checkPhysicalSeats(connection, examId, getHallIds(arrangements));
+                connection.commit();
+
+                BatchResult result = BatchResult.success(examId, inserted, 0, deleted, System.nanoTime() - start);
+                logger.info("Seating plan saved: " + result);
+                if (replace) {
+                    refreshSeatIndex(examId);
+                    OccupancyRegistry.getInstance().replaceExam(examId, countByHall(arrangements));
+                } else {
+                    refreshSeatIndex(examId, arrangements);
+                    OccupancyRegistry.getInstance().adjust(examId, countByHall(arrangements));
+                }
+                AttendanceService.seatingChanged(examId);
+                return result;
+
+            } catch (SQLException e) {
+                rollback(connection, examId);
+                String constraint = getViolatedConstraint(e);
+                BatchResult result = BatchResult.failure(examId, e.getMessage(), constraint,
+                                                         System.nanoTime() - start);
+                if (constraint != null) {
+                    logger.warning("Seating plan rejected by " + constraint + " constraint: " + result);
+                } else {
+                    logger.log(Level.SEVERE, "Error saving seating plan for exam: " + examId, e);
+                }
+                return result;
+            } finally {
+                OccupancyRegistry.getInstance().endWrite(examId);
+                connection.setAutoCommit(true);
+            }
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error saving seating plan for exam: " + examId, e);
+            return BatchResult.failure(examId, e.getMessage(), null, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Write an incremental reseat in one transaction: existing rows move to
+     * their new hall and seat by id, and new rows are inserted. Only the
+     * delta is touched; the rest of the exam's plan is left as it is.
+     */
+    public BatchResult applyDelta(int examId, List<SeatingArrangement> moved, List<SeatingArrangement> added) {
+        long start = System.nanoTime();
+
+        for (SeatingArrangement arrangement : moved) {
+            if (arrangement.getExamId() != examId || arrangement.getId() <= 0) {
+                return BatchResult.failure(examId, "Cannot move arrangement: " + arrangement, null,
+                                           System.nanoTime() - start);
+            }
+        }
+        for (SeatingArrangement arrangement : added) {
+            if (arrangement.getExamId() != examId) {
+                return BatchResult.failure(examId, "Arrangement belongs to exam " + arrangement.getExamId(), null,
+                                           System.nanoTime() - start);
+            }
+        }
+
+        try (Connection connection = DatabaseUtil.getConnection()) {
+            connection.setAutoCommit(false);
+            OccupancyRegistry.getInstance().beginWrite(examId);
+
+            try {
+                List<SeatingArrangement> written = new ArrayList<>(moved);
+                written.addAll(added);
+                Set<Integer> hallIds = getHallIds(written);
+                lockHalls(connection, hallIds);
+
+                // Seats leave the halls the moved rows are in now
+                Map<Integer, Integer> occupancyDelta = countByHall(added);
+                Map<Integer, Integer> currentHalls = getCurrentHalls(connection, moved);
+                for (SeatingArrangement arrangement : moved) {
+                    Integer from = currentHalls.get(arrangement.getId());
+                    if (from != null) {
+                        occupancyDelta.merge(from, -1, Integer::sum);
+                        occupancyDelta.merge(arrangement.getHallId(), 1, Integer::sum);
+                    }
+                }
+
+                int updated = updateBatched(connection, moved);
+                int inserted = insertBatched(connection, added);
+                checkPhysicalSeats(connection, examId, hallIds);
+                connection.commit();
+
+                BatchResult result = BatchResult.success(examId, inserted, updated, 0, System.nanoTime() - start);
+                logger.info("Seating delta saved: " + result);
+                refreshSeatIndex(examId, written);
+                OccupancyRegistry.getInstance().adjust(examId, occupancyDelta);
+                AttendanceService.seatingChanged(examId);
+                return result;
+
+            } catch (SQLException e) {
+                rollback(connection, examId);
+                String constraint = getViolatedConstraint(e);
+                BatchResult result = BatchResult.failure(examId, e.getMessage(), constraint,
+                                                         System.nanoTime() - start);
+                if (constraint != null) {
+                    logger.warning("Seating delta rejected by " + constraint + " constraint: " + result);
+                } else {
+                    logger.log(Level.SEVERE, "Error saving seating delta for exam: " + examId, e);
+                }
+                return result;
+            } finally {
+                OccupancyRegistry.getInstance().endWrite(examId);
+                connection.setAutoCommit(true);
+            }
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error saving seating delta for exam: " + examId, e);
+            return BatchResult.failure(examId, e.getMessage(), null, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Write the seating of every exam sharing a hall in one sitting in a
+     * single transaction, replacing those exams' rows in that hall. Rows in
+     * other halls are kept. The result carries exam id 0, as it covers
+     * several exams.
+     */
+    public BatchResult replaceForHall(int hallId, Map<Integer, List<SeatingArrangement>> arrangementsByExam) {
+        long start = System.nanoTime();
+
+        List<SeatingArrangement> all = new ArrayList<>();
+        for (Map.Entry<Integer, List<SeatingArrangement>> exam : arrangementsByExam.entrySet()) {
+            for (SeatingArrangement arrangement : exam.getValue()) {
+                if (arrangement.getExamId() != exam.getKey() || arrangement.getHallId() != hallId) {
+                    return BatchResult.failure(0, "Arrangement does not belong to exam " + exam.getKey()
+                            + " in hall " + hallId + ": " + arrangement, null, System.nanoTime() - start);
+                }
+                all.add(arrangement);
+            }
+        }
+
+        try (Connection connection = DatabaseUtil.getConnection()) {
+            connection.setAutoCommit(false);
+            for (int examId : arrangementsByExam.keySet()) {
+                OccupancyRegistry.getInstance().beginWrite(examId);
+            }
+
+            try {
+                lockHalls(connection, Collections.singleton(hallId));
+                int deleted = 0;
+                Map<Integer, Integer> deletedByExam = new HashMap<>();
+                try (PreparedStatement delete = connection.prepareStatement(DELETE_SEATING_BY_EXAM_AND_HALL)) {
+                    for (int examId : arrangementsByExam.keySet()) {
+                        delete.setInt(1, examId);
+                        delete.setInt(2, hallId);
+                        int examDeleted = delete.executeUpdate();
+                        deletedByExam.put(examId, examDeleted);
+                        deleted += examDeleted;
+                    }
+                }
+
+                int inserted = insertBatched(connection, all);
+                for (int examId : arrangementsByExam.keySet()) {
+                    checkPhysicalSeats(connection, examId, Collections.singleton(hallId));
+                }
+                connection.commit();
+
+                BatchResult result = BatchResult.success(0, inserted, 0, deleted, System.nanoTime() - start);
+                logger.info("Hall " + hallId + " seating saved for exams " + arrangementsByExam.keySet() + ": " + result);
+                for (Map.Entry<Integer, List<SeatingArrangement>> exam : arrangementsByExam.entrySet()) {
+                    refreshSeatIndex(exam.getKey());
+                    OccupancyRegistry.getInstance().adjust(exam.getKey(), Collections.singletonMap(hallId,
+                            exam.getValue().size() - deletedByExam.get(exam.getKey())));
+                    AttendanceService.seatingChanged(exam.getKey());
+                }
+                return result;
+
+            } catch (SQLException e) {
+                rollback(connection, "seating for hall: " + hallId);
+                String constraint = getViolatedConstraint(e);
+                BatchResult result = BatchResult.failure(0, e.getMessage(), constraint, System.nanoTime() - start);
+                if (constraint != null) {
+                    logger.warning("Hall " + hallId + " seating rejected by " + constraint + " constraint: " + result);
+                } else {
+                    logger.log(Level.SEVERE, "Error saving seating for hall: " + hallId, e);
+                }
+                return result;
+            } finally {
+                for (int examId : arrangementsByExam.keySet()) {
+                    OccupancyRegistry.getInstance().endWrite(examId);
+                }
+                connection.setAutoCommit(true);
+            }
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error saving seating for hall: " + hallId, e);
+            return BatchResult.failure(0, e.getMessage(), null, System.nanoTime() - start);
+        }
+    }
+
+    private static Map<Integer, Integer> countByHall(List<SeatingArrangement> arrangements) {
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (SeatingArrangement arrangement : arrangements) {
+            counts.merge(arrangement.getHallId(), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    /**
+     * Hall each row is in now, by seating id, locking the rows for the rest
+     * of the caller's transaction
+     */
+    private Map<Integer, Integer> getCurrentHalls(Connection connection, List<SeatingArrangement> arrangements)
+            throws SQLException {
+        Map<Integer, Integer> halls = new HashMap<>();
+        for (int from = 0; from < arrangements.size(); from += BATCH_SIZE) {
+            List<SeatingArrangement> chunk = arrangements.subList(from, Math.min(from + BATCH_SIZE, arrangements.size()));
+            String sql = String.format(SELECT_HALLS_BY_IDS_FOR_UPDATE,
+                    String.join(", ", Collections.nCopies(chunk.size(), "?")));
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    statement.setInt(i + 1, chunk.get(i).getId());
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        halls.put(resultSet.getInt("id"), resultSet.getInt("hall_id"));
+                    }
+                }
+            }
+        }
+        return halls;
+    }
+
+    private static Set<Integer> getHallIds(List<SeatingArrangement> arrangements) {
+        Set<Integer> hallIds = new TreeSet<>();
+        for (SeatingArrangement arrangement : arrangements) {
+            hallIds.add(arrangement.getHallId());
+        }
+        return hallIds;
+    }
+
+    /**
+     * Lock the halls about to get seats, in id order so writers cannot
+     * deadlock. Writes to the same hall then run one at a time, and the
+     * physical seat check sees every committed seat.
+     */
+    private void lockHalls(Connection connection, Collection<Integer> hallIds) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(LOCK_HALL)) {
+            for (int hallId : hallIds) {
+                statement.setInt(1, hallId);
+                statement.executeQuery().close();
+            }
+        }
+    }
+
+    /**
+     * Fail if a seat the exam now holds in one of the halls is also held by
+     * another exam running at the same time
+     */
+    private void checkPhysicalSeats(Connection connection, int examId, Collection<Integer> hallIds)
+            throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_PHYSICAL_DOUBLE_BOOKING)) {
+            for (int hallId : hallIds) {
+                statement.setInt(1, examId);
+                statement.setInt(2, hallId);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (resultSet.next()) {
+                        throw new SQLException("Seat " + resultSet.getInt("seat_number") + " in hall " + hallId
+                                + " is also held by concurrent exam " + resultSet.getInt("exam_id")
+                                + " (" + PHYSICAL_SEAT + ")", "23000");
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reload one exam's seats into the {@link SeatLookupIndex} after its plan
+     * (or, from {@link ExamDAO#updateSchedules}, its date and time) changed.
+     * If the reload fails the exam is dropped from the index rather than
+     * left answering with old seats.
+     */
+    void refreshSeatIndex(int examId) {
+        List<SeatLocation> locations = getSeatLocations(SELECT_SEAT_LOCATIONS_BY_EXAM, examId);
+        if (locations != null) {
+            SeatLookupIndex.getInstance().replaceExam(examId, locations);
+        } else {
+            logger.warning("Dropping exam " + examId + " from the seat lookup index after failed reload");
+            SeatLookupIndex.getInstance().removeExam(examId);
+        }
+    }
+
+    /**
+     * Update only the rows just written in the {@link SeatLookupIndex}
+     */
+    private void refreshSeatIndex(int examId, List<SeatingArrangement> written) {
+        if (written.isEmpty()) {
+            return;
+        }
+        List<Integer> ids = new ArrayList<>(written.size());
+        for (SeatingArrangement arrangement : written) {
+            ids.add(arrangement.getId());
+        }
+
+        List<SeatLocation> locations = getSeatLocationsByIds(ids);
+        if (locations != null) {
+            SeatLookupIndex.getInstance().update(locations);
+        } else {
+            logger.warning("Dropping exam " + examId + " from the seat lookup index after failed refresh");
+            SeatLookupIndex.getInstance().removeExam(examId);
+        }
+    }
+
+    private int updateBatched(Connection connection, List<SeatingArrangement> arrangements) throws SQLException {
+        int updated = 0;
+
+        try (PreparedStatement statement = connection.prepareStatement(MOVE_SEATING)) {
+            for (int i = 0; i < arrangements.size(); i++) {
+                SeatingArrangement arrangement = arrangements.get(i);
+                statement.setInt(1, arrangement.getHallId());
+                statement.setInt(2, arrangement.getSeatNumber());
+                statement.setInt(3, arrangement.getSeatRow());
+                statement.setInt(4, arrangement.getSeatColumn());
+                statement.setInt(5, arrangement.getId());
+                statement.setInt(6, arrangement.getExamId());
+                statement.addBatch();
+
+                if ((i + 1) % BATCH_SIZE == 0 || i == arrangements.size() - 1) {
+                    updated += countAffected(statement.executeBatch());
+                }
+            }
+        }
+
+        return updated;
+    }
+
+    /**
+     * Add rows in batches of BATCH_SIZE on the caller's connection and
+     * transaction. Generated ids are copied back onto the arrangements.
+     */
+    int insertBatched(Connection connection, List<SeatingArrangement> arrangements) throws SQLException {
+        int inserted = 0;
+
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_SEATING, Statement.RETURN_GENERATED_KEYS)) {
+            int batchStart = 0;
+            for (int i = 0; i < arrangements.size(); i++) {
+                SeatingArrangement arrangement = arrangements.get(i);
+                statement.setInt(1, arrangement.getExamId());
+                statement.setInt(2, arrangement.getStudentId());
+                statement.setInt(3, arrangement.getHallId());
+                statement.setInt(4, arrangement.getSeatNumber());
+                statement.setInt(5, arrangement.getSeatRow());
+                statement.setInt(6, arrangement.getSeatColumn());
+                statement.setString(7, arrangement.getStatus().name());
+                statement.addBatch();
+
+                if ((i + 1) % BATCH_SIZE == 0 || i == arrangements.size() - 1) {
+                    inserted += countAffected(statement.executeBatch());
+                    assignGeneratedKeys(statement, arrangements, batchStart, i + 1);
+                    batchStart = i + 1;
+                }
+            }
+        }
+
+        return inserted;
+    }
+
+    private void assignGeneratedKeys(PreparedStatement statement, List<SeatingArrangement> arrangements,
+                                     int from, int to) throws SQLException {
+        try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+            int index = from;
+            while (index < to && generatedKeys.next()) {
+                arrangements.get(index++).setId(generatedKeys.getInt(1));
+            }
+        }
+    }
+
+    private static int countAffected(int[] counts) {
+        int total = 0;
+        for (int count : counts) {
+            // Rewritten batches report SUCCESS_NO_INFO per row
+            total += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+        }
+        return total;
+    }
+
+    private void rollback(Connection connection, int examId) {
+        rollback(connection, "seating plan for exam: " + examId);
+    }
+
+    /**
+     * Roll back and log; {@code what} names the work undone
+     */
+    private void rollback(Connection connection, String what) {
+        try {
+            connection.rollback();
+            logger.info("Rolled back " + what);
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error rolling back " + what, e);
+        }
+    }
+
+    /**
+     * Name of the unique key behind a duplicate-key failure, or null
+     */
+    static String getViolatedConstraint(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            String message = t.getMessage();
+            if (message != null && message.contains("unique_student_exam")) {
+                return "unique_student_exam";
+            }
+            if (message != null && message.contains("unique_seat")) {
+                return "unique_seat";
+            }
+            if (message != null && message.contains(PHYSICAL_SEAT)) {
+                return PHYSICAL_SEAT;
+            }
+            if (t instanceof SQLException && ((SQLException) t).getNextException() != null) {
+                String next = getViolatedConstraint(((SQLException) t).getNextException());
+                if (next != null) {
+                    return next;
+                }
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Get all seating rows for an exam
+     */
+    public List<SeatingArrangement> getByExam(int examId) {
+        List<SeatingArrangement> arrangements = new ArrayList<>();
+
+        try (Connection connection = DatabaseUtil.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_SEATING_BY_EXAM)) {
+
+            statement.setInt(1, examId);
+            ResultSet resultSet = statement.executeQuery();
+
+            while (resultSet.next()) {
+                arrangements.add(mapResultSetToSeatingArrangement(resultSet));
+            }
+
+            return arrangements;
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error getting seating for exam: " + examId, e);
+            return arrangements;
+        }
+    }
+
+    /**
+     * Get the seating rows of every exam with a status; the registrations
+     * the timetable generator schedules from
+     */
+    public List<SeatingArrangement> getByExamStatus(Exam.ExamStatus status) {
+        List<SeatingArrangement> arrangements = new ArrayList<>();
+
+        try (Connection connection = DatabaseUtil.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_SEATING_BY_EXAM_STATUS)) {
+
+            statement.setString(1, status.name());
+            ResultSet resultSet = statement.executeQuery();
+
+            while (resultSet.next()) {
+                arrangements.add(mapResultSetToSeatingArrangement(resultSet));
+            }
+
+            return arrangements;
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error getting seating for " + status + " exams", e);
+            return arrangements;
+        }
+    }
+
+    /**
+     * Get seating rows for an exam in one hall
+     */
+    public List<SeatingArrangement> getByExamAndHall(int examId, int hallId) {
+        List<SeatingArrangement> arrangements = new ArrayList<>();
+
+        try (Connection connection = DatabaseUtil.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_SEATING_BY_EXAM_AND_HALL)) {
+
+            statement.setInt(1, examId);
+            statement.setInt(2, hallId);
+            ResultSet resultSet = statement.executeQuery();
+
+            while (resultSet.next()) {
+                arrangements.add(mapResultSetToSeatingArrangement(resultSet));
+            }
+
+            return arrangements;
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error getting seating for exam/hall: " + examId + "/" + hallId, e);
+            return arrangements;
+        }
+    }
+
+    /**
+     * Roster of one hall for an exam in seat order: each seat with the
+     * student's roll number, name and department, in one query
+     */
+    public List<RosterEntry> getHallRoster(int examId, int hallId) {
+        List<RosterEntry> roster = new ArrayList<>();
+
+        try (Connection connection = DatabaseUtil.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_HALL_ROSTER)) {
+
+            statement.setInt(1, examId);
+            statement.setInt(2, hallId);
+            ResultSet resultSet = statement.executeQuery();
+
+            while (resultSet.next()) {
+                roster.add(mapResultSetToRosterEntry(resultSet));
+            }
+
+            return roster;
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error getting roster for exam/hall: " + examId + "/" + hallId, e);
+            return roster;
+        }
+    }
+
+    /**
+     * Every seat of a student in exams that are not cancelled, in exam
+     * order, each with its hall name and exam (subject, code, date, times,
+     * status) joined in; one query for everything a student's dashboard shows
+     */
+    public List<SeatingArrangement> getStudentSchedule(int studentId) {
+        List<SeatingArrangement> arrangements = new ArrayList<>();
+
+        try (Connection connection = DatabaseUtil.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_STUDENT_SCHEDULE)) {
+
+            statement.setInt(1, studentId);
+            ResultSet resultSet = statement.executeQuery();
+
+            while (resultSet.next()) {
+                SeatingArrangement arrangement = mapResultSetToSeatingArrangement(resultSet);
+                arrangement.setHallName(resultSet.getString("hall_name"));
+                arrangement.setExamSubject(resultSet.getString("subject"));
+                arrangement.setExamCode(resultSet.getString("exam_code"));
+
+                Exam exam = new Exam();
+                exam.setId(arrangement.getExamId());
+                exam.setSubject(arrangement.getExamSubject());
+                exam.setExamCode(arrangement.getExamCode());
+                exam.setExamDate(resultSet.getDate("exam_date"));
+                exam.setStartTime(resultSet.getTime("start_time"));
+                exam.setEndTime(resultSet.getTime("end_time"));
+                exam.setDuration(resultSet.getInt("duration"));
+                exam.setStatus(Exam.ExamStatus.valueOf(resultSet.getString("exam_status")));
+                exam.setCreatedAt(resultSet.getTimestamp("exam_created_at"));
+                arrangement.setExam(exam);
+
+                arrangements.add(arrangement);
+            }
+
+            return arrangements;
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error getting schedule for student: " + studentId, e);
+            return arrangements;
+        }
+    }
+
+    /**
+     * Seat locations of every active student in exams still to be held
+     * (scheduled or ongoing, today or later), for loading the
+     * {@link SeatLookupIndex}; null if the query failed
+     */
+    public List<SeatLocation> getUpcomingSeatLocations() {
+        return getSeatLocations(SELECT_UPCOMING_SEAT_LOCATIONS, 0);
+    }
+
+    /**
+     * One student's upcoming seat locations, for lookups the
+     * {@link SeatLookupIndex} cannot answer; null if the query failed
+     */
+    public List<SeatLocation> getUpcomingSeatLocations(int studentId) {
+        return getSeatLocations(SELECT_UPCOMING_SEAT_LOCATIONS_BY_STUDENT, studentId);
+    }
+
+    /**
+     * Upcoming seat locations of the student with a roll number; null if the
+     * query failed
+     */
+    public List<SeatLocation> getUpcomingSeatLocations(String rollNo) {
+        List<SeatLocation> locations = new ArrayList<>();
+
+        try (Connection connection = DatabaseUtil.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_UPCOMING_SEAT_LOCATIONS_BY_ROLL_NO)) {
+
+            statement.setString(1, rollNo);
+            ResultSet resultSet = statement.executeQuery();
+
+            while (resultSet.next()) {
+                locations.add(mapResultSetToSeatLocation(resultSet));
+            }
+
+            return locations;
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error getting seat locations for roll no: " + rollNo, e);
+            return null;
+        }
+    }
+
+    /**
+     * Seat locations from one of the SELECT_*SEAT_LOCATIONS queries, binding
+     * {@code id} (an exam or student id) unless it is 0
+     */
+    private List<SeatLocation> getSeatLocations(String sql, int id) {
+        List<SeatLocation> locations = new ArrayList<>();
+
+        try (Connection connection = DatabaseUtil.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+
+            if (id > 0) {
+                statement.setInt(1, id);
+            }
+            ResultSet resultSet = statement.executeQuery();
+
+            while (resultSet.next()) {
+                locations.add(mapResultSetToSeatLocation(resultSet));
+            }
+
+            return locations;
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error getting seat locations" + (id > 0 ? " for id: " + id : ""), e);
+            return null;
+        }
+    }
+
+    /**
+     * Seat locations of the given seating rows, BATCH_SIZE ids per query;
+     * null if a query failed
+     */
+    private List<SeatLocation> getSeatLocationsByIds(List<Integer> ids) {
+        List<SeatLocation> locations = new ArrayList<>(ids.size());
+
+        try (Connection connection = DatabaseUtil.getConnection()) {
+            for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+                List<Integer> chunk = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+                String sql = String.format(SELECT_SEAT_LOCATIONS_BY_IDS,
+                        String.join(", ", Collections.nCopies(chunk.size(), "?")));
+
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        statement.setInt(i + 1, chunk.get(i));
+                    }
+                    ResultSet resultSet = statement.executeQuery();
+
+                    while (resultSet.next()) {
+                        locations.add(mapResultSetToSeatLocation(resultSet));
+                    }
+                }
+            }
+
+            return locations;
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error getting seat locations for " + ids.size() + " seats", e);
+            return null;
+        }
+    }
+
+    /**
+     * Get a student's seat for an exam
+     */
+    public SeatingArrangement getByStudentAndExam(int studentId, int examId) {
+        try (Connection connection = DatabaseUtil.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_SEATING_BY_STUDENT_AND_EXAM)) {
+
+            statement.setInt(1, studentId);
+            statement.setInt(2, examId);
+            ResultSet resultSet = statement.executeQuery();
+
+            if (resultSet.next()) {
+                return mapResultSetToSeatingArrangement(resultSet);
+            }
+
+            return null;
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error getting seating for student/exam: " + studentId + "/" + examId, e);
+            return null;
+        }
+    }
+
+    /**
+     * Update the status of a seating row and, once stored, publish the change
+     * to live views of its hall through {@link SeatStatusFeed}
+     */
+    public boolean updateStatus(int seatingId, SeatingArrangement.SeatingStatus status) {
+        try (Connection connection = DatabaseUtil.getConnection();
+             PreparedStatement update = connection.prepareStatement(UPDATE_SEATING_STATUS);
+             PreparedStatement select = connection.prepareStatement(SELECT_SEATING_BY_ID)) {
+
+            update.setString(1, status.name());
+            update.setInt(2, seatingId);
+            if (update.executeUpdate() == 0) {
+                return false;
+            }
+
+            select.setInt(1, seatingId);
+            ResultSet resultSet = select.executeQuery();
+            if (resultSet.next()) {
+                SeatingArrangement arrangement = mapResultSetToSeatingArrangement(resultSet);
+                SeatStatusFeed.getInstance().publish(arrangement);
+                AttendanceService.seatingChanged(arrangement.getExamId());
+            }
+            return true;
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error updating seating status: " + seatingId, e);
+            return false;
+        }
+    }
+
+    /**
+     * Store a batch of attendance marks in one transaction. A mark only
+     * changes a row that is still ASSIGNED, so applying the same marks twice
+     * (e.g. when replaying a journal) is harmless.
+     *
+     * @param marks new status by seating row id
+     * @param unchanged if not null, receives the ids of the rows the batch did
+     *                  not change (deleted, or no longer ASSIGNED)
+     * @return the number of rows changed, or -1 if the batch was rolled back
+     */
+    public int markAttendance(Map<Integer, SeatingArrangement.SeatingStatus> marks, Collection<Integer> unchanged) {
+        if (marks.isEmpty()) {
+            return 0;
+        }
+
+        try (Connection connection = DatabaseUtil.getConnection()) {
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement statement = connection.prepareStatement(MARK_ATTENDANCE)) {
+                int updated = 0;
+                int batched = 0;
+                List<Integer> ids = new ArrayList<>(Math.min(marks.size(), BATCH_SIZE));
+                for (Map.Entry<Integer, SeatingArrangement.SeatingStatus> mark : marks.entrySet()) {
+                    statement.setString(1, mark.getValue().name());
+                    statement.setInt(2, mark.getKey());
+                    statement.addBatch();
+                    ids.add(mark.getKey());
+
+                    if (++batched % BATCH_SIZE == 0 || batched == marks.size()) {
+                        int[] counts = statement.executeBatch();
+                        updated += countAffected(counts);
+                        if (unchanged != null) {
+                            for (int i = 0; i < counts.length; i++) {
+                                if (counts[i] == 0) {
+                                    unchanged.add(ids.get(i));
+                                }
+                            }
+                        }
+                        ids.clear();
+                    }
+                }
+                connection.commit();
+                return updated;
+
+            } catch (SQLException e) {
+                rollback(connection, "attendance batch of " + marks.size() + " seats");
+                logger.log(Level.SEVERE, "Error marking attendance for " + marks.size() + " seats", e);
+                return -1;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error marking attendance for " + marks.size() + " seats", e);
+            return -1;
+        }
+    }
+
+    /**
+     * Delete all seating rows for an exam
+     */
+    public int deleteByExam(int examId) {
+        OccupancyRegistry.getInstance().beginWrite(examId);
+        try (Connection connection = DatabaseUtil.getConnection();
+             PreparedStatement statement = connection.prepareStatement(DELETE_SEATING_BY_EXAM)) {
+
+            statement.setInt(1, examId);
+            int deleted = statement.executeUpdate();
+            logger.info("Deleted " + deleted + " seating rows for exam: " + examId);
+            SeatLookupIndex.getInstance().removeExam(examId);
+            OccupancyRegistry.getInstance().removeExam(examId);
+            AttendanceService.seatingChanged(examId);
+            return deleted;
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error deleting seating for exam: " + examId, e);
+            return 0;
+        } finally {
+            OccupancyRegistry.getInstance().endWrite(examId);
+        }
+    }
+
+    /**
+     * Seats taken per hall id, per exam id, for seeding and reconciling the
+     * {@link OccupancyRegistry}; null if the counts could not be read
+     */
+    public Map<Integer, Map<Integer, Integer>> getOccupancyCounts() {
+        try (Connection connection = DatabaseUtil.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_OCCUPANCY_COUNTS)) {
+
+            ResultSet resultSet = statement.executeQuery();
+            Map<Integer, Map<Integer, Integer>> counts = new HashMap<>();
+
+            while (resultSet.next()) {
+                counts.computeIfAbsent(resultSet.getInt("exam_id"), k -> new HashMap<>())
+                      .put(resultSet.getInt("hall_id"), resultSet.getInt("occupied"));
+            }
+
+            return counts;
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error getting occupancy counts", e);
+            return null;
+        }
+    }
+
+    /**
+     * Get number of seated students for an exam
+     */
+    public int countByExam(int examId) {
+        try (Connection connection = DatabaseUtil.getConnection();
+             PreparedStatement statement = connection.prepareStatement(COUNT_SEATING_BY_EXAM)) {
+
+            statement.setInt(1, examId);
+            ResultSet resultSet = statement.executeQuery();
+
+            if (resultSet.next()) {
+                return resultSet.getInt(1);
+            }
+
+            return 0;
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error counting seating for exam: " + examId, e);
+            return 0;
+        }
+    }
+
+    /**
+     * Map ResultSet to SeatingArrangement object
+     */
+    SeatingArrangement mapResultSetToSeatingArrangement(ResultSet resultSet) throws SQLException {
+        SeatingArrangement arrangement = new SeatingArrangement();
+        arrangement.setId(resultSet.getInt("id"));
+        arrangement.setExamId(resultSet.getInt("exam_id"));
+        arrangement.setStudentId(resultSet.getInt("student_id"));
+        arrangement.setHallId(resultSet.getInt("hall_id"));
+        arrangement.setSeatNumber(resultSet.getInt("seat_number"));
+        arrangement.setSeatRow(resultSet.getInt("seat_row"));
+        arrangement.setSeatColumn(resultSet.getInt("seat_column"));
+        arrangement.setStatus(SeatingArrangement.SeatingStatus.valueOf(resultSet.getString("status")));
+        arrangement.setCreatedAt(resultSet.getTimestamp("created_at"));
+        arrangement.setUpdatedAt(resultSet.getTimestamp("updated_at"));
+        return arrangement;
+    }
+
+    SeatLocation mapResultSetToSeatLocation(ResultSet resultSet) throws SQLException {
+        return new SeatLocation(resultSet.getInt("id"), resultSet.getInt("exam_id"), resultSet.getInt("student_id"),
+                resultSet.getString("roll_no"), resultSet.getString("subject"), resultSet.getString("exam_code"),
+                resultSet.getDate("exam_date"), resultSet.getTime("start_time"), resultSet.getInt("hall_id"),
+                resultSet.getString("hall_name"), resultSet.getInt("seat_number"), resultSet.getInt("seat_row"),
+                resultSet.getInt("seat_column"));
+    }
+
+    RosterEntry mapResultSetToRosterEntry(ResultSet resultSet) throws SQLException {
+        StudentSummary student = new StudentSummary(resultSet.getInt("student_id"), resultSet.getString("roll_no"),
+                resultSet.getString("name"), resultSet.getString("department"));
+        return new RosterEntry(resultSet.getInt("id"), resultSet.getInt("seat_number"),
+                resultSet.getInt("seat_row"), resultSet.getInt("seat_column"),
+                SeatingArrangement.SeatingStatus.valueOf(resultSet.getString("status")), student);
+    }
+
+    /**
+     * Outcome of a batched plan write
+     */
+    public static class BatchResult {
+        private final int examId;
+        private final boolean success;
+        private final int rowsInserted;
+        private final int rowsUpdated;
+        private final int rowsDeleted;
+        private final long elapsedNanos;
+        private final String errorMessage;
+        private final String violatedConstraint;
+
+        private BatchResult(int examId, boolean success, int rowsInserted, int rowsUpdated, int rowsDeleted,
+                            long elapsedNanos, String errorMessage, String violatedConstraint) {
+            this.examId = examId;
+            this.success = success;
+            this.rowsInserted = rowsInserted;
+            this.rowsUpdated = rowsUpdated;
+            this.rowsDeleted = rowsDeleted;
+            this.elapsedNanos = elapsedNanos;
+            this.errorMessage = errorMessage;
+            this.violatedConstraint = violatedConstraint;
+        }
+
+        static BatchResult success(int examId, int rowsInserted, int rowsUpdated, int rowsDeleted,
+                                   long elapsedNanos) {
+            return new BatchResult(examId, true, rowsInserted, rowsUpdated, rowsDeleted, elapsedNanos, null, null);
+        }
+
+        static BatchResult failure(int examId, String errorMessage, String violatedConstraint, long elapsedNanos) {
+            return new BatchResult(examId, false, 0, 0, 0, elapsedNanos, errorMessage, violatedConstraint);
+        }
+
+        public int getExamId() {
+            return examId;
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        public int getRowsInserted() {
+            return rowsInserted;
+        }
+
+        public int getRowsUpdated() {
+            return rowsUpdated;
+        }
+
+        public int getRowsDeleted() {
+            return rowsDeleted;
+        }
+
+        public double getElapsedMillis() {
+            return elapsedNanos / 1_000_000.0;
+        }
+
+        public double getRowsPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : (rowsInserted + rowsUpdated) * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        public String getErrorMessage() {
+            return errorMessage;
+        }
+
+        /**
+         * unique_seat or unique_student_exam when the write hit one of them
+         */
+        public String getViolatedConstraint() {
+            return violatedConstraint;
+        }
+
+        public boolean isConstraintViolation() {
+            return violatedConstraint != null;
+        }
+
+        @Override
+        public String toString() {
+            return "BatchResult{" +
+                    "examId=" + examId +
+                    ", success=" + success +
+                    ", inserted=" + rowsInserted +
+                    ", updated=" + rowsUpdated +
+                    ", deleted=" + rowsDeleted +
+                    ", elapsedMs=" + String.format("%.1f", getElapsedMillis()) +
+                    ", rowsPerSec=" + String.format("%.0f", getRowsPerSecond()) +
+                    (violatedConstraint != null ? ", constraint=" + violatedConstraint : "") +
+                    '}';
+        }
+    }
+}
\ No newline at end of file
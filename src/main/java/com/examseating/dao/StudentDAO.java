@@ -1,10 +1,17 @@
 package com.examseating.dao;
 
+import com.examseating.model.LoginCredentials;
 import com.examseating.model.Student;
+import com.examseating.model.StudentSummary;
 import com.examseating.util.DatabaseUtil;
+import com.examseating.util.LookupCache;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -14,6 +21,9 @@ import java.util.logging.Logger;
 public class StudentDAO {
     private static final Logger logger = Logger.getLogger(StudentDAO.class.getName());
     
+    // Shared by all StudentDAO instances so writes through any of them invalidate it
+    private static final LookupCache<Student> cache = LookupCache.fromProperties("students");
+    
     // SQL Queries
     private static final String INSERT_STUDENT = 
         "INSERT INTO students (roll_no, name, email, password, department, year, semester, phone, address) " +
@@ -55,6 +65,36 @@ public class StudentDAO {
         "(name LIKE ? OR email LIKE ? OR roll_no LIKE ? OR department LIKE ?) " +
         "ORDER BY roll_no LIMIT ? OFFSET ?";
     
+    // Projections: only the columns the caller uses
+    private static final String SELECT_LOGIN_BY_EMAIL = 
+        "SELECT id, name, email, password, is_active FROM students WHERE email = ?";
+    
+    private static final String SELECT_ALL_SUMMARIES = 
+        "SELECT id, roll_no, name, department FROM students WHERE is_active = TRUE ORDER BY roll_no";
+    
+    private static final String SELECT_SUMMARIES_BY_DEPARTMENT = 
+        "SELECT id, roll_no, name, department FROM students WHERE department = ? AND is_active = TRUE ORDER BY roll_no";
+    
+    private static final String SELECT_SUMMARIES_BY_YEAR_SEMESTER = 
+        "SELECT id, roll_no, name, department FROM students WHERE year = ? AND semester = ? AND is_active = TRUE " +
+        "ORDER BY roll_no";
+    
+    private static final String SELECT_EXISTING_KEYS = 
+        "SELECT id, roll_no, email FROM students WHERE roll_no IN (%s) OR email IN (%s)";
+    
+    // Keyset search: one index range per column, merged and cut to one page
+    private static final String SEARCH_STUDENTS_BY_PREFIX = 
+        "(SELECT * FROM students WHERE is_active = TRUE AND roll_no > ? AND roll_no LIKE ? ORDER BY roll_no LIMIT ?) " +
+        "UNION (SELECT * FROM students WHERE is_active = TRUE AND roll_no > ? AND email LIKE ? ORDER BY roll_no LIMIT ?) " +
+        "UNION (SELECT * FROM students WHERE is_active = TRUE AND roll_no > ? AND name LIKE ? ORDER BY roll_no LIMIT ?) " +
+        "UNION (SELECT * FROM students WHERE is_active = TRUE AND roll_no > ? AND department LIKE ? ORDER BY roll_no LIMIT ?) " +
+        "ORDER BY roll_no LIMIT ?";
+    
+    private static final String SEARCH_STUDENTS_FULLTEXT = 
+        "SELECT * FROM students WHERE is_active = TRUE AND roll_no > ? AND " +
+        "MATCH(name, email, roll_no, department) AGAINST (? IN BOOLEAN MODE) " +
+        "ORDER BY roll_no LIMIT ?";
+    
     /**
      * Create a new student
      */
@@ -92,10 +132,122 @@ public class StudentDAO {
         }
     }
     
+    /**
+     * Insert students in one batched transaction. Passwords must already be
+     * hashed. Generated ids are copied back onto the students. Nothing is
+     * inserted if any row fails.
+     *
+     * @return number of students inserted, 0 on failure
+     */
+    public int createAll(List<Student> students) {
+        if (students.isEmpty()) {
+            return 0;
+        }
+        
+        try (Connection connection = DatabaseUtil.getConnection()) {
+            connection.setAutoCommit(false);
+            
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_STUDENT, Statement.RETURN_GENERATED_KEYS)) {
+                for (Student student : students) {
+                    statement.setString(1, student.getRollNo());
+                    statement.setString(2, student.getName());
+                    statement.setString(3, student.getEmail());
+                    statement.setString(4, student.getPassword());
+                    statement.setString(5, student.getDepartment());
+                    statement.setInt(6, student.getYear());
+                    statement.setInt(7, student.getSemester());
+                    statement.setString(8, student.getPhone());
+                    statement.setString(9, student.getAddress());
+                    statement.addBatch();
+                }
+                
+                int[] counts = statement.executeBatch();
+                try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                    int index = 0;
+                    while (index < students.size() && generatedKeys.next()) {
+                        students.get(index++).setId(generatedKeys.getInt(1));
+                    }
+                }
+                connection.commit();
+                
+                int inserted = 0;
+                for (int count : counts) {
+                    inserted += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+                }
+                logger.info("Students created in batch: " + inserted);
+                return inserted;
+                
+            } catch (SQLException e) {
+                connection.rollback();
+                logger.log(Level.SEVERE, "Error creating " + students.size() + " students, batch rolled back", e);
+                return 0;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+            
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error creating " + students.size() + " students", e);
+            return 0;
+        }
+    }
+    
+    /**
+     * Students (id, roll number and email only) whose roll number or email
+     * is one of the given values, found with a single query; null if the
+     * lookup failed
+     */
+    public List<Student> getExistingByRollNoOrEmail(Collection<String> rollNos, Collection<String> emails) {
+        List<Student> students = new ArrayList<>();
+        if (rollNos.isEmpty() && emails.isEmpty()) {
+            return students;
+        }
+        
+        // An empty IN () is invalid SQL; NULL matches nothing
+        String sql = String.format(SELECT_EXISTING_KEYS, placeholders(rollNos.size()), placeholders(emails.size()));
+        
+        try (Connection connection = DatabaseUtil.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            
+            int index = 1;
+            for (String rollNo : rollNos) {
+                statement.setString(index++, rollNo);
+            }
+            for (String email : emails) {
+                statement.setString(index++, email);
+            }
+            
+            ResultSet resultSet = statement.executeQuery();
+            
+            while (resultSet.next()) {
+                Student student = new Student();
+                student.setId(resultSet.getInt("id"));
+                student.setRollNo(resultSet.getString("roll_no"));
+                student.setEmail(resultSet.getString("email"));
+                students.add(student);
+            }
+            
+            return students;
+            
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error checking existing students", e);
+            return null;
+        }
+    }
+    
+    private static String placeholders(int count) {
+        return count == 0 ? "NULL" : String.join(", ", Collections.nCopies(count, "?"));
+    }
+    
     /**
      * Get student by ID
      */
     public Student getById(int id) {
+        Student cached = cache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        
+        long since = cache.getGeneration();
         try (Connection connection = DatabaseUtil.getConnection();
              PreparedStatement statement = connection.prepareStatement(SELECT_STUDENT_BY_ID)) {
             
@@ -103,7 +255,7 @@ public class StudentDAO {
             ResultSet resultSet = statement.executeQuery();
             
             if (resultSet.next()) {
-                return mapResultSetToStudent(resultSet);
+                return cache(since, mapResultSetToStudent(resultSet));
             }
             
             return null;
@@ -118,6 +270,12 @@ public class StudentDAO {
      * Get student by email
      */
     public Student getByEmail(String email) {
+        Student cached = cache.getByKey(emailKey(email));
+        if (cached != null) {
+            return cached;
+        }
+        
+        long since = cache.getGeneration();
         try (Connection connection = DatabaseUtil.getConnection();
              PreparedStatement statement = connection.prepareStatement(SELECT_STUDENT_BY_EMAIL)) {
             
@@ -125,7 +283,7 @@ public class StudentDAO {
             ResultSet resultSet = statement.executeQuery();
             
             if (resultSet.next()) {
-                return mapResultSetToStudent(resultSet);
+                return cache(since, mapResultSetToStudent(resultSet));
             }
             
             return null;
@@ -140,6 +298,12 @@ public class StudentDAO {
      * Get student by roll number
      */
     public Student getByRollNo(String rollNo) {
+        Student cached = cache.getByKey(rollNoKey(rollNo));
+        if (cached != null) {
+            return cached;
+        }
+        
+        long since = cache.getGeneration();
         try (Connection connection = DatabaseUtil.getConnection();
              PreparedStatement statement = connection.prepareStatement(SELECT_STUDENT_BY_ROLL_NO)) {
             
@@ -147,7 +311,7 @@ public class StudentDAO {
             ResultSet resultSet = statement.executeQuery();
             
             if (resultSet.next()) {
-                return mapResultSetToStudent(resultSet);
+                return cache(since, mapResultSetToStudent(resultSet));
             }
             
             return null;
@@ -230,6 +394,163 @@ public class StudentDAO {
         }
     }
     
+    /**
+     * Stream all active students to {@code action} in roll number order
+     * without materializing the result; memory use is one row at a time
+     * whatever the number of students. The action runs while a pooled
+     * connection is held, so it should not block for long.
+     *
+     * @return the number of students passed to the action, or -1 if the
+     *         query failed (the action may already have seen some rows)
+     */
+    public int forEach(Consumer<? super Student> action) {
+        return stream(SELECT_ALL_STUDENTS, statement -> { }, action, "all students");
+    }
+    
+    /**
+     * Stream the active students of a department to {@code action}, as
+     * {@link #forEach(Consumer)}
+     */
+    public int forEachByDepartment(String department, Consumer<? super Student> action) {
+        return stream(SELECT_STUDENTS_BY_DEPARTMENT, statement -> statement.setString(1, department),
+                action, "students by department: " + department);
+    }
+    
+    /**
+     * Stream the active students of a year and semester to {@code action},
+     * as {@link #forEach(Consumer)}
+     */
+    public int forEachByYearAndSemester(int year, int semester, Consumer<? super Student> action) {
+        return stream(SELECT_STUDENTS_BY_YEAR_SEMESTER, statement -> {
+            statement.setInt(1, year);
+            statement.setInt(2, semester);
+        }, action, "students by year/semester: " + year + "/" + semester);
+    }
+    
+    private int stream(String sql, ParameterBinder binder, Consumer<? super Student> action, String description) {
+        int count = 0;
+        
+        try (Connection connection = DatabaseUtil.getConnection();
+             PreparedStatement statement = DatabaseUtil.prepareStreaming(connection, sql)) {
+            
+            binder.bind(statement);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    action.accept(mapResultSetToStudent(resultSet));
+                    count++;
+                }
+            }
+            
+            logger.info("Streamed " + count + " " + description);
+            return count;
+            
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error streaming " + description + " after " + count + " rows", e);
+            return -1;
+        }
+    }
+    
+    private interface ParameterBinder {
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+    
+    /**
+     * Id, name, password hash and active flag of the student with this email,
+     * for login; null if there is none. Always read from the database so a
+     * password change or deactivation applies to the next login.
+     */
+    public LoginCredentials getLoginCredentials(String email) {
+        try (Connection connection = DatabaseUtil.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_LOGIN_BY_EMAIL)) {
+            
+            statement.setString(1, email);
+            ResultSet resultSet = statement.executeQuery();
+            
+            if (resultSet.next()) {
+                return new LoginCredentials(resultSet.getInt("id"), resultSet.getString("name"),
+                        resultSet.getString("email"), resultSet.getString("password"),
+                        resultSet.getBoolean("is_active"), false);
+            }
+            
+            return null;
+            
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error getting login credentials for email: " + email, e);
+            return null;
+        }
+    }
+    
+    /**
+     * Get all active students as summaries
+     */
+    public List<StudentSummary> getAllSummaries() {
+        List<StudentSummary> students = new ArrayList<>();
+        
+        try (Connection connection = DatabaseUtil.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_ALL_SUMMARIES);
+             ResultSet resultSet = statement.executeQuery()) {
+            
+            while (resultSet.next()) {
+                students.add(mapResultSetToSummary(resultSet));
+            }
+            
+            return students;
+            
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error getting all student summaries", e);
+            return students;
+        }
+    }
+    
+    /**
+     * Get active students of a department as summaries
+     */
+    public List<StudentSummary> getSummariesByDepartment(String department) {
+        List<StudentSummary> students = new ArrayList<>();
+        
+        try (Connection connection = DatabaseUtil.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_SUMMARIES_BY_DEPARTMENT)) {
+            
+            statement.setString(1, department);
+            ResultSet resultSet = statement.executeQuery();
+            
+            while (resultSet.next()) {
+                students.add(mapResultSetToSummary(resultSet));
+            }
+            
+            return students;
+            
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error getting student summaries by department: " + department, e);
+            return students;
+        }
+    }
+    
+    /**
+     * Get active students of a year and semester as summaries
+     */
+    public List<StudentSummary> getSummariesByYearAndSemester(int year, int semester) {
+        List<StudentSummary> students = new ArrayList<>();
+        
+        try (Connection connection = DatabaseUtil.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_SUMMARIES_BY_YEAR_SEMESTER)) {
+            
+            statement.setInt(1, year);
+            statement.setInt(2, semester);
+            ResultSet resultSet = statement.executeQuery();
+            
+            while (resultSet.next()) {
+                students.add(mapResultSetToSummary(resultSet));
+            }
+            
+            return students;
+            
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error getting student summaries by year/semester: " + year + "/" + semester, e);
+            return students;
+        }
+    }
+    
     /**
      * Update student
      */
@@ -247,6 +568,7 @@ public class StudentDAO {
             statement.setInt(8, student.getId());
             
             int affectedRows = statement.executeUpdate();
+            cache.invalidate(student.getId());
             
             if (affectedRows > 0) {
                 logger.info("Student updated successfully: " + student.getRollNo());
@@ -272,6 +594,7 @@ public class StudentDAO {
             statement.setInt(2, studentId);
             
             int affectedRows = statement.executeUpdate();
+            cache.invalidate(studentId);
             
             if (affectedRows > 0) {
                 logger.info("Student password updated successfully: " + studentId);
@@ -296,6 +619,7 @@ public class StudentDAO {
             statement.setInt(1, studentId);
             
             int affectedRows = statement.executeUpdate();
+            cache.invalidate(studentId);
             
             if (affectedRows > 0) {
                 logger.info("Student deleted successfully: " + studentId);
@@ -361,6 +685,50 @@ public class StudentDAO {
         }
     }
     
+    /**
+     * Search students one page at a time, seeking past the last roll number
+     * of the previous page instead of skipping OFFSET rows, so every page
+     * costs the same however deep it is.
+     *
+     * @param after last student of the previous page, or null for the first page
+     */
+    public List<Student> searchAfter(String searchTerm, SearchMode mode, Student after, int limit) {
+        List<Student> students = new ArrayList<>();
+        String parameter = mode.toParameter(searchTerm);
+        if (parameter == null || limit <= 0) {
+            return students;
+        }
+        String afterRollNo = after != null ? after.getRollNo() : "";
+        
+        try (Connection connection = DatabaseUtil.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                 mode == SearchMode.PREFIX ? SEARCH_STUDENTS_BY_PREFIX : SEARCH_STUDENTS_FULLTEXT)) {
+            
+            int index = 1;
+            int branches = mode == SearchMode.PREFIX ? 4 : 1;
+            for (int branch = 0; branch < branches; branch++) {
+                statement.setString(index++, afterRollNo);
+                statement.setString(index++, parameter);
+                statement.setInt(index++, limit);
+            }
+            if (mode == SearchMode.PREFIX) {
+                statement.setInt(index, limit);
+            }
+            
+            ResultSet resultSet = statement.executeQuery();
+            
+            while (resultSet.next()) {
+                students.add(mapResultSetToStudent(resultSet));
+            }
+            
+            return students;
+            
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error searching students: " + searchTerm, e);
+            return students;
+        }
+    }
+    
     /**
      * Check if email exists
      */
@@ -375,10 +743,30 @@ public class StudentDAO {
         return getByRollNo(rollNo) != null;
     }
     
+    /**
+     * Lookup cache counters for student reads
+     */
+    public static LookupCache.Stats getCacheStats() {
+        return cache.getStats();
+    }
+    
+    private static Student cache(long since, Student student) {
+        cache.put(since, student.getId(), student, emailKey(student.getEmail()), rollNoKey(student.getRollNo()));
+        return student;
+    }
+    
+    private static String emailKey(String email) {
+        return email != null ? "email:" + email.toLowerCase(Locale.ROOT) : null;
+    }
+    
+    private static String rollNoKey(String rollNo) {
+        return rollNo != null ? "roll:" + rollNo.toUpperCase(Locale.ROOT) : null;
+    }
+    
     /**
      * Map ResultSet to Student object
      */
-    private Student mapResultSetToStudent(ResultSet resultSet) throws SQLException {
+    Student mapResultSetToStudent(ResultSet resultSet) throws SQLException {
         Student student = new Student();
         student.setId(resultSet.getInt("id"));
         student.setRollNo(resultSet.getString("roll_no"));
@@ -395,4 +783,12 @@ public class StudentDAO {
         student.setUpdatedAt(resultSet.getTimestamp("updated_at"));
         return student;
     }
+    
+    /**
+     * Map the id, roll_no, name and department columns to a StudentSummary
+     */
+    StudentSummary mapResultSetToSummary(ResultSet resultSet) throws SQLException {
+        return new StudentSummary(resultSet.getInt("id"), resultSet.getString("roll_no"),
+                resultSet.getString("name"), resultSet.getString("department"));
+    }
 }
\ No newline at end of file
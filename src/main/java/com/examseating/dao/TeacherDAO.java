@@ -1,10 +1,13 @@
 package com.examseating.dao;
 
+import com.examseating.model.LoginCredentials;
 import com.examseating.model.Teacher;
 import com.examseating.util.DatabaseUtil;
+import com.examseating.util.LookupCache;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -14,6 +17,9 @@ import java.util.logging.Logger;
 public class TeacherDAO {
     private static final Logger logger = Logger.getLogger(TeacherDAO.class.getName());
     
+    // Shared by all TeacherDAO instances so writes through any of them invalidate it
+    private static final LookupCache<Teacher> cache = LookupCache.fromProperties("teachers");
+    
     // SQL Queries
     private static final String INSERT_TEACHER = 
         "INSERT INTO teachers (name, email, password, department, phone, is_admin) VALUES (?, ?, ?, ?, ?, ?)";
@@ -47,6 +53,21 @@ public class TeacherDAO {
         "SELECT * FROM teachers WHERE (name LIKE ? OR email LIKE ? OR department LIKE ?) " +
         "ORDER BY name LIMIT ? OFFSET ?";
     
+    // Keyset search on (name, id); one index range per column, merged and cut to one page
+    private static final String SEARCH_TEACHERS_BY_PREFIX = 
+        "(SELECT * FROM teachers WHERE (name > ? OR (name = ? AND id > ?)) AND name LIKE ? ORDER BY name, id LIMIT ?) " +
+        "UNION (SELECT * FROM teachers WHERE (name > ? OR (name = ? AND id > ?)) AND email LIKE ? ORDER BY name, id LIMIT ?) " +
+        "UNION (SELECT * FROM teachers WHERE (name > ? OR (name = ? AND id > ?)) AND department LIKE ? ORDER BY name, id LIMIT ?) " +
+        "ORDER BY name, id LIMIT ?";
+    
+    private static final String SEARCH_TEACHERS_FULLTEXT = 
+        "SELECT * FROM teachers WHERE (name > ? OR (name = ? AND id > ?)) AND " +
+        "MATCH(name, email, department) AGAINST (? IN BOOLEAN MODE) " +
+        "ORDER BY name, id LIMIT ?";
+    
+    private static final String SELECT_LOGIN_BY_EMAIL = 
+        "SELECT id, name, email, password, is_admin FROM teachers WHERE email = ?";
+    
     /**
      * Create a new teacher
      */
@@ -85,6 +106,12 @@ public class TeacherDAO {
      * Get teacher by ID
      */
     public Teacher getById(int id) {
+        Teacher cached = cache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        
+        long since = cache.getGeneration();
         try (Connection connection = DatabaseUtil.getConnection();
              PreparedStatement statement = connection.prepareStatement(SELECT_TEACHER_BY_ID)) {
             
@@ -92,7 +119,7 @@ public class TeacherDAO {
             ResultSet resultSet = statement.executeQuery();
             
             if (resultSet.next()) {
-                return mapResultSetToTeacher(resultSet);
+                return cache(since, mapResultSetToTeacher(resultSet));
             }
             
             return null;
@@ -107,6 +134,12 @@ public class TeacherDAO {
      * Get teacher by email
      */
     public Teacher getByEmail(String email) {
+        Teacher cached = cache.getByKey(emailKey(email));
+        if (cached != null) {
+            return cached;
+        }
+        
+        long since = cache.getGeneration();
         try (Connection connection = DatabaseUtil.getConnection();
              PreparedStatement statement = connection.prepareStatement(SELECT_TEACHER_BY_EMAIL)) {
             
@@ -114,7 +147,7 @@ public class TeacherDAO {
             ResultSet resultSet = statement.executeQuery();
             
             if (resultSet.next()) {
-                return mapResultSetToTeacher(resultSet);
+                return cache(since, mapResultSetToTeacher(resultSet));
             }
             
             return null;
@@ -125,6 +158,32 @@ public class TeacherDAO {
         }
     }
     
+    /**
+     * Id, name, password hash and admin flag of the teacher with this email,
+     * for login; null if there is none. Always read from the database so a
+     * password change or deactivation applies to the next login.
+     */
+    public LoginCredentials getLoginCredentials(String email) {
+        try (Connection connection = DatabaseUtil.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_LOGIN_BY_EMAIL)) {
+            
+            statement.setString(1, email);
+            ResultSet resultSet = statement.executeQuery();
+            
+            if (resultSet.next()) {
+                return new LoginCredentials(resultSet.getInt("id"), resultSet.getString("name"),
+                        resultSet.getString("email"), resultSet.getString("password"),
+                        true, resultSet.getBoolean("is_admin"));
+            }
+            
+            return null;
+            
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error getting login credentials for email: " + email, e);
+            return null;
+        }
+    }
+    
     /**
      * Get all teachers
      */
@@ -186,6 +245,7 @@ public class TeacherDAO {
             statement.setInt(5, teacher.getId());
             
             int affectedRows = statement.executeUpdate();
+            cache.invalidate(teacher.getId());
             
             if (affectedRows > 0) {
                 logger.info("Teacher updated successfully: " + teacher.getEmail());
@@ -211,6 +271,7 @@ public class TeacherDAO {
             statement.setInt(2, teacherId);
             
             int affectedRows = statement.executeUpdate();
+            cache.invalidate(teacherId);
             
             if (affectedRows > 0) {
                 logger.info("Teacher password updated successfully: " + teacherId);
@@ -235,6 +296,7 @@ public class TeacherDAO {
             statement.setInt(1, teacherId);
             
             int affectedRows = statement.executeUpdate();
+            cache.invalidate(teacherId);
             
             if (affectedRows > 0) {
                 logger.info("Teacher deleted successfully: " + teacherId);
@@ -299,6 +361,52 @@ public class TeacherDAO {
         }
     }
     
+    /**
+     * Search teachers one page at a time, seeking past the (name, id) of the
+     * last teacher of the previous page instead of skipping OFFSET rows
+     *
+     * @param after last teacher of the previous page, or null for the first page
+     */
+    public List<Teacher> searchAfter(String searchTerm, SearchMode mode, Teacher after, int limit) {
+        List<Teacher> teachers = new ArrayList<>();
+        String parameter = mode.toParameter(searchTerm);
+        if (parameter == null || limit <= 0) {
+            return teachers;
+        }
+        String afterName = after != null ? after.getName() : "";
+        int afterId = after != null ? after.getId() : 0;
+        
+        try (Connection connection = DatabaseUtil.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                 mode == SearchMode.PREFIX ? SEARCH_TEACHERS_BY_PREFIX : SEARCH_TEACHERS_FULLTEXT)) {
+            
+            int index = 1;
+            int branches = mode == SearchMode.PREFIX ? 3 : 1;
+            for (int branch = 0; branch < branches; branch++) {
+                statement.setString(index++, afterName);
+                statement.setString(index++, afterName);
+                statement.setInt(index++, afterId);
+                statement.setString(index++, parameter);
+                statement.setInt(index++, limit);
+            }
+            if (mode == SearchMode.PREFIX) {
+                statement.setInt(index, limit);
+            }
+            
+            ResultSet resultSet = statement.executeQuery();
+            
+            while (resultSet.next()) {
+                teachers.add(mapResultSetToTeacher(resultSet));
+            }
+            
+            return teachers;
+            
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error searching teachers: " + searchTerm, e);
+            return teachers;
+        }
+    }
+    
     /**
      * Check if email exists
      */
@@ -330,10 +438,26 @@ public class TeacherDAO {
         }
     }
     
+    /**
+     * Lookup cache counters for teacher reads
+     */
+    public static LookupCache.Stats getCacheStats() {
+        return cache.getStats();
+    }
+    
+    private static Teacher cache(long since, Teacher teacher) {
+        cache.put(since, teacher.getId(), teacher, emailKey(teacher.getEmail()));
+        return teacher;
+    }
+    
+    private static String emailKey(String email) {
+        return email != null ? "email:" + email.toLowerCase(Locale.ROOT) : null;
+    }
+    
     /**
      * Map ResultSet to Teacher object
      */
-    private Teacher mapResultSetToTeacher(ResultSet resultSet) throws SQLException {
+    Teacher mapResultSetToTeacher(ResultSet resultSet) throws SQLException {
         Teacher teacher = new Teacher();
         teacher.setId(resultSet.getInt("id"));
         teacher.setName(resultSet.getString("name"));
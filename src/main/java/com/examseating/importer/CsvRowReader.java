@@ -0,0 +1,107 @@
+package com.examseating.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming CSV reader (RFC 4180): comma separated, fields optionally
+ * enclosed in double quotes, "" for a quote inside a quoted field, and
+ * line breaks allowed inside quoted fields. A leading byte order mark and
+ * blank lines are skipped.
+ */
+public class CsvRowReader implements RowReader {
+    private static final char BOM = '\uFEFF';
+
+    private final BufferedReader reader;
+    private final StringBuilder field = new StringBuilder(64);
+    private int lineNumber;
+    private int rowNumber;
+    private boolean started;
+
+    public CsvRowReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+
+    @Override
+    public String[] readRow() throws IOException {
+        List<String> cells = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        boolean fieldStarted = false;
+        int c;
+
+        while ((c = reader.read()) != -1) {
+            if (!started) {
+                started = true;
+                if (c == BOM) {
+                    continue;
+                }
+            }
+            if (cells.isEmpty() && !fieldStarted && field.length() == 0 && !quoted) {
+                rowNumber = lineNumber + 1;
+            }
+
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+                fieldStarted = true;
+            } else if (c == ',') {
+                cells.add(field.toString());
+                field.setLength(0);
+                fieldStarted = true;
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                lineNumber++;
+                if (cells.isEmpty() && field.length() == 0 && !fieldStarted) {
+                    continue;
+                }
+                cells.add(field.toString());
+                return cells.toArray(new String[0]);
+            } else {
+                field.append((char) c);
+            }
+        }
+
+        if (cells.isEmpty() && field.length() == 0 && !fieldStarted) {
+            return null;
+        }
+        lineNumber++;
+        cells.add(field.toString());
+        return cells.toArray(new String[0]);
+    }
+
+    @Override
+    public int getRowNumber() {
+        return rowNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,137 @@
+package com.examseating.importer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import: row counts by fate and the first
+ * {@link #MAX_REPORTED_ERRORS} row errors
+ */
+public class ImportResult {
+    public static final int MAX_REPORTED_ERRORS = 500;
+
+    private boolean success = true;
+    private String message;
+    private int totalRows;
+    private int imported;
+    private int duplicates;
+    private int invalid;
+    private int failed;
+    private long elapsedMillis;
+    private final List<RowError> errors = new ArrayList<>();
+
+    /**
+     * Problems found in one input row
+     */
+    public static class RowError {
+        private final int row;
+        private final String rollNo;
+        private final List<String> messages;
+
+        public RowError(int row, String rollNo, List<String> messages) {
+            this.row = row;
+            this.rollNo = rollNo;
+            this.messages = messages;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public String getRollNo() {
+            return rollNo;
+        }
+
+        public List<String> getMessages() {
+            return messages;
+        }
+    }
+
+    public static ImportResult failure(String message) {
+        ImportResult result = new ImportResult();
+        result.success = false;
+        result.message = message;
+        return result;
+    }
+
+    void addError(int row, String rollNo, List<String> messages) {
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(row, rollNo, messages));
+        }
+    }
+
+    void countRow() {
+        totalRows++;
+    }
+
+    void addImported(int count) {
+        imported += count;
+    }
+
+    void countDuplicate() {
+        duplicates++;
+    }
+
+    void countInvalid() {
+        invalid++;
+    }
+
+    void addFailed(int count) {
+        failed += count;
+    }
+
+    void finish(String message, long elapsedMillis) {
+        this.message = message;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public int getTotalRows() {
+        return totalRows;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public int getDuplicates() {
+        return duplicates;
+    }
+
+    public int getInvalid() {
+        return invalid;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public List<RowError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    @Override
+    public String toString() {
+        return "ImportResult{" +
+                "success=" + success +
+                ", totalRows=" + totalRows +
+                ", imported=" + imported +
+                ", duplicates=" + duplicates +
+                ", invalid=" + invalid +
+                ", failed=" + failed +
+                ", elapsedMs=" + elapsedMillis +
+                '}';
+    }
+}
\ No newline at end of file
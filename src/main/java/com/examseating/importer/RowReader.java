@@ -0,0 +1,22 @@
+package com.examseating.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads a tabular upload one row at a time, so a file is never held in
+ * memory as a whole
+ */
+public interface RowReader extends Closeable {
+
+    /**
+     * Cell values of the next row, or null at the end of the file. Missing
+     * trailing cells may be omitted.
+     */
+    String[] readRow() throws IOException;
+
+    /**
+     * 1-based line or sheet row number of the row last returned
+     */
+    int getRowNumber();
+}
\ No newline at end of file
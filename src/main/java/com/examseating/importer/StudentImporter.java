@@ -0,0 +1,308 @@
+package com.examseating.importer;
+
+import com.examseating.dao.StudentDAO;
+import com.examseating.model.Student;
+import com.examseating.util.PasswordUtil;
+import com.examseating.util.ValidationUtil;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bulk student import from a CSV or XLSX upload.
+ * <p>
+ * Rows are read as a stream and handled in chunks of {@link #CHUNK_SIZE}:
+ * each chunk is parsed and validated in parallel, checked for duplicates
+ * (within the file and, with one query, against existing roll numbers and
+ * emails) and inserted in a single JDBC batch. If the batch fails, the
+ * chunk is inserted row by row so only the rows at fault are reported.
+ * Memory use is bounded by the chunk plus the roll numbers and emails
+ * already seen in the file.
+ * <p>
+ * The first row is a header naming the columns, in any order: roll_no,
+ * name, email, department, year, semester and password are required; phone
+ * and address are optional. The password is the student's initial login
+ * password and is stored hashed.
+ */
+public class StudentImporter {
+    private static final Logger logger = LoggerFactory.getLogger(StudentImporter.class);
+
+    public static final int CHUNK_SIZE = 1000;
+
+    private final StudentDAO studentDAO;
+
+    enum Column {
+        ROLL_NO(true, "rollno", "rollnumber", "roll"),
+        NAME(true, "name", "fullname", "studentname"),
+        EMAIL(true, "email", "emailaddress", "mail"),
+        DEPARTMENT(true, "department", "dept", "branch"),
+        YEAR(true, "year"),
+        SEMESTER(true, "semester", "sem"),
+        PHONE(false, "phone", "mobile", "phonenumber", "contact"),
+        ADDRESS(false, "address"),
+        PASSWORD(true, "password");
+
+        private final boolean required;
+        private final String[] aliases;
+
+        Column(boolean required, String... aliases) {
+            this.required = required;
+            this.aliases = aliases;
+        }
+    }
+
+    /**
+     * One input row turned into a student, or the reasons it could not be
+     */
+    private static final class Candidate {
+        private final int rowNumber;
+        private final Student student;
+        private final List<String> errors;
+
+        Candidate(int rowNumber, Student student, List<String> errors) {
+            this.rowNumber = rowNumber;
+            this.student = student;
+            this.errors = errors;
+        }
+    }
+
+    private static final class RawRow {
+        private final int rowNumber;
+        private final String[] cells;
+
+        RawRow(int rowNumber, String[] cells) {
+            this.rowNumber = rowNumber;
+            this.cells = cells;
+        }
+    }
+
+    public StudentImporter() {
+        this(new StudentDAO());
+    }
+
+    public StudentImporter(StudentDAO studentDAO) {
+        this.studentDAO = studentDAO;
+    }
+
+    public ImportResult importRows(RowReader reader) throws IOException {
+        long start = System.nanoTime();
+
+        String[] header = reader.readRow();
+        if (header == null) {
+            return ImportResult.failure("The file is empty");
+        }
+        Map<Column, Integer> columns = mapHeader(header);
+        List<String> missing = new ArrayList<>();
+        for (Column column : Column.values()) {
+            if (column.required && !columns.containsKey(column)) {
+                missing.add(column.name().toLowerCase(Locale.ROOT));
+            }
+        }
+        if (!missing.isEmpty()) {
+            return ImportResult.failure("Missing required columns: " + String.join(", ", missing));
+        }
+
+        ImportResult result = new ImportResult();
+        Set<String> seenRollNos = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        List<RawRow> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        String[] cells;
+        while ((cells = reader.readRow()) != null) {
+            if (isBlank(cells)) {
+                continue;
+            }
+            result.countRow();
+            chunk.add(new RawRow(reader.getRowNumber(), cells));
+            if (chunk.size() == CHUNK_SIZE) {
+                importChunk(chunk, columns, seenRollNos, seenEmails, result);
+                chunk.clear();
+            }
+        }
+        importChunk(chunk, columns, seenRollNos, seenEmails, result);
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        result.finish("Imported " + result.getImported() + " of " + result.getTotalRows() + " students", elapsedMillis);
+        logger.info("Student import finished: {}", result);
+        return result;
+    }
+
+    private void importChunk(List<RawRow> chunk, Map<Column, Integer> columns, Set<String> seenRollNos,
+                             Set<String> seenEmails, ImportResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        // Parsing, validation and password hashing are independent per row
+        List<Candidate> candidates = chunk.parallelStream()
+                .map(row -> toCandidate(row, columns))
+                .collect(Collectors.toList());
+
+        Map<String, Candidate> byRollNo = new HashMap<>();
+        Map<String, Candidate> byEmail = new HashMap<>();
+        for (Candidate candidate : candidates) {
+            if (!candidate.errors.isEmpty()) {
+                result.countInvalid();
+                result.addError(candidate.rowNumber, candidate.student.getRollNo(), candidate.errors);
+                continue;
+            }
+            String rollKey = rollNoKey(candidate.student.getRollNo());
+            String emailKey = emailKey(candidate.student.getEmail());
+            if (!seenRollNos.add(rollKey)) {
+                duplicate(candidate, "Roll number appears earlier in the file", result);
+            } else if (!seenEmails.add(emailKey)) {
+                duplicate(candidate, "Email appears earlier in the file", result);
+            } else {
+                byRollNo.put(rollKey, candidate);
+                byEmail.put(emailKey, candidate);
+            }
+        }
+        if (byRollNo.isEmpty()) {
+            return;
+        }
+
+        List<Student> existing = studentDAO.getExistingByRollNoOrEmail(
+                byRollNo.keySet(), byEmail.keySet());
+        if (existing == null) {
+            failChunk(byRollNo.values(), "Could not check for existing students", result);
+            return;
+        }
+        for (Student student : existing) {
+            Candidate candidate = byRollNo.remove(rollNoKey(student.getRollNo()));
+            if (candidate != null) {
+                byEmail.remove(emailKey(candidate.student.getEmail()));
+                duplicate(candidate, "Roll number already registered", result);
+            }
+            candidate = byEmail.remove(emailKey(student.getEmail()));
+            if (candidate != null) {
+                byRollNo.remove(rollNoKey(candidate.student.getRollNo()));
+                duplicate(candidate, "Email already registered", result);
+            }
+        }
+        if (byRollNo.isEmpty()) {
+            return;
+        }
+
+        List<Candidate> accepted = new ArrayList<>(byRollNo.size());
+        List<Student> students = new ArrayList<>(byRollNo.size());
+        for (Candidate candidate : candidates) {
+            if (candidate.errors.isEmpty() && byRollNo.get(rollNoKey(candidate.student.getRollNo())) == candidate) {
+                accepted.add(candidate);
+                students.add(candidate.student);
+            }
+        }
+        int inserted = studentDAO.createAll(students);
+        if (inserted == 0) {
+            // One bad row rolls back the whole batch; retry one by one so only it fails
+            logger.warn("Batch insert of {} students failed; retrying row by row", students.size());
+            List<Candidate> failed = new ArrayList<>();
+            for (Candidate candidate : accepted) {
+                if (studentDAO.create(candidate.student)) {
+                    inserted++;
+                } else {
+                    failed.add(candidate);
+                }
+            }
+            failChunk(failed, "Could not save student", result);
+        }
+        result.addImported(inserted);
+    }
+
+    private Candidate toCandidate(RawRow row, Map<Column, Integer> columns) {
+        Student student = new Student();
+        student.setRollNo(ValidationUtil.formatRollNo(cell(row, columns, Column.ROLL_NO)));
+        student.setName(cell(row, columns, Column.NAME));
+        student.setEmail(cell(row, columns, Column.EMAIL));
+        student.setDepartment(cell(row, columns, Column.DEPARTMENT));
+        student.setYear(parseInt(cell(row, columns, Column.YEAR)));
+        student.setSemester(parseInt(cell(row, columns, Column.SEMESTER)));
+        student.setPhone(emptyToNull(cell(row, columns, Column.PHONE)));
+        student.setAddress(emptyToNull(cell(row, columns, Column.ADDRESS)));
+
+        List<String> errors = new ArrayList<>(ValidationUtil.validateStudent(student).values());
+        String password = cell(row, columns, Column.PASSWORD);
+        if (password.isEmpty()) {
+            errors.add("Password is required");
+        }
+        if (errors.isEmpty()) {
+            student.setPassword(PasswordUtil.hashPassword(password));
+        }
+        return new Candidate(row.rowNumber, student, errors);
+    }
+
+    private static void duplicate(Candidate candidate, String message, ImportResult result) {
+        result.countDuplicate();
+        result.addError(candidate.rowNumber, candidate.student.getRollNo(), List.of(message));
+    }
+
+    private static void failChunk(Iterable<Candidate> candidates, String message, ImportResult result) {
+        int count = 0;
+        for (Candidate candidate : candidates) {
+            result.addError(candidate.rowNumber, candidate.student.getRollNo(), List.of(message));
+            count++;
+        }
+        result.addFailed(count);
+    }
+
+    private static Map<Column, Integer> mapHeader(String[] header) {
+        Map<Column, Integer> columns = new EnumMap<>(Column.class);
+        for (int i = 0; i < header.length; i++) {
+            String name = header[i] == null ? "" : header[i].toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "");
+            for (Column column : Column.values()) {
+                for (String alias : column.aliases) {
+                    if (alias.equals(name)) {
+                        columns.putIfAbsent(column, i);
+                    }
+                }
+            }
+        }
+        return columns;
+    }
+
+    private static String cell(RawRow row, Map<Column, Integer> columns, Column column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= row.cells.length || row.cells[index] == null) {
+            return "";
+        }
+        return row.cells[index].trim();
+    }
+
+    private static boolean isBlank(String[] cells) {
+        for (String cell : cells) {
+            if (cell != null && !cell.trim().isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int parseInt(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    // MySQL compares roll numbers and emails case-insensitively
+    private static String rollNoKey(String rollNo) {
+        return rollNo.toUpperCase(Locale.ROOT);
+    }
+
+    private static String emailKey(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
\ No newline at end of file
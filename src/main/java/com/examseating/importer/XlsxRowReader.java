@@ -0,0 +1,256 @@
+package com.examseating.importer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Streaming reader for the first worksheet of an .xlsx workbook, using the
+ * JDK's StAX parser on the workbook's zip entries. Only the shared string
+ * table is held in memory; sheet rows are read one at a time. Formatting,
+ * formulas (their cached values are used) and other sheets are ignored.
+ */
+public class XlsxRowReader implements RowReader {
+    private static final String RELATIONSHIP_NS =
+        "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    private static final XMLInputFactory XML_INPUT = createInputFactory();
+
+    private final ZipFile zip;
+    private final List<String> sharedStrings;
+    private final XMLStreamReader sheet;
+    private int rowNumber;
+
+    public XlsxRowReader(File file) throws IOException {
+        zip = new ZipFile(file);
+        try {
+            sharedStrings = readSharedStrings();
+            sheet = XML_INPUT.createXMLStreamReader(zip.getInputStream(findFirstSheet()));
+        } catch (XMLStreamException e) {
+            zip.close();
+            throw new IOException("Invalid XLSX file: " + e.getMessage(), e);
+        } catch (IOException | RuntimeException e) {
+            zip.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public String[] readRow() throws IOException {
+        try {
+            while (sheet.hasNext()) {
+                if (sheet.next() == XMLStreamConstants.START_ELEMENT && "row".equals(sheet.getLocalName())) {
+                    String reference = sheet.getAttributeValue(null, "r");
+                    rowNumber = reference != null ? Integer.parseInt(reference) : rowNumber + 1;
+                    List<String> cells = readCells();
+                    if (!cells.isEmpty()) {
+                        return cells.toArray(new String[0]);
+                    }
+                }
+            }
+            return null;
+        } catch (XMLStreamException | NumberFormatException e) {
+            throw new IOException("Invalid XLSX worksheet near row " + rowNumber + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public int getRowNumber() {
+        return rowNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            sheet.close();
+        } catch (XMLStreamException e) {
+            // Nothing left to release beyond the zip file
+        }
+        zip.close();
+    }
+
+    /**
+     * Cells of the current row up to its last non-empty cell; empty for a
+     * row with no values
+     */
+    private List<String> readCells() throws XMLStreamException {
+        List<String> cells = new ArrayList<>();
+        int lastValue = -1;
+
+        while (sheet.hasNext()) {
+            int event = sheet.next();
+            if (event == XMLStreamConstants.END_ELEMENT && "row".equals(sheet.getLocalName())) {
+                break;
+            }
+            if (event != XMLStreamConstants.START_ELEMENT || !"c".equals(sheet.getLocalName())) {
+                continue;
+            }
+
+            String reference = sheet.getAttributeValue(null, "r");
+            String type = sheet.getAttributeValue(null, "t");
+            int column = reference != null ? columnIndex(reference) : cells.size();
+            String value = cellValue(readCellText(), type);
+
+            while (cells.size() < column) {
+                cells.add("");
+            }
+            cells.add(value);
+            if (!value.isEmpty()) {
+                lastValue = cells.size() - 1;
+            }
+        }
+
+        return lastValue < 0 ? new ArrayList<>() : cells.subList(0, lastValue + 1);
+    }
+
+    /**
+     * Raw text of the current cell: its &lt;v&gt; value or inline string runs
+     */
+    private String readCellText() throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        while (sheet.hasNext()) {
+            int event = sheet.next();
+            if (event == XMLStreamConstants.END_ELEMENT && "c".equals(sheet.getLocalName())) {
+                break;
+            }
+            if (event == XMLStreamConstants.START_ELEMENT
+                    && ("v".equals(sheet.getLocalName()) || "t".equals(sheet.getLocalName()))) {
+                text.append(sheet.getElementText());
+            }
+        }
+        return text.toString();
+    }
+
+    private String cellValue(String text, String type) {
+        if (text.isEmpty()) {
+            return text;
+        }
+        if ("s".equals(type)) {
+            int index = Integer.parseInt(text.trim());
+            return index >= 0 && index < sharedStrings.size() ? sharedStrings.get(index) : "";
+        }
+        if ("b".equals(type)) {
+            return "1".equals(text) ? "TRUE" : "FALSE";
+        }
+        if (type == null || "n".equals(type)) {
+            // Whole numbers (years, phone numbers) come back as e.g. "2" rather than "2.0"
+            try {
+                return new BigDecimal(text.trim()).stripTrailingZeros().toPlainString();
+            } catch (NumberFormatException e) {
+                return text;
+            }
+        }
+        return text;
+    }
+
+    /**
+     * Zero-based column of a cell reference such as "AB12"
+     */
+    private static int columnIndex(String reference) {
+        int column = 0;
+        for (int i = 0; i < reference.length(); i++) {
+            char c = reference.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    private List<String> readSharedStrings() throws IOException, XMLStreamException {
+        List<String> strings = new ArrayList<>();
+        ZipEntry entry = zip.getEntry("xl/sharedStrings.xml");
+        if (entry == null) {
+            return strings;
+        }
+
+        try (InputStream in = zip.getInputStream(entry)) {
+            XMLStreamReader xml = XML_INPUT.createXMLStreamReader(in);
+            StringBuilder text = new StringBuilder();
+            boolean phonetic = false;
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = xml.getLocalName();
+                    if ("si".equals(name)) {
+                        text.setLength(0);
+                    } else if ("rPh".equals(name)) {
+                        phonetic = true;
+                    } else if ("t".equals(name) && !phonetic) {
+                        text.append(xml.getElementText());
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if ("si".equals(xml.getLocalName())) {
+                        strings.add(text.toString());
+                    } else if ("rPh".equals(xml.getLocalName())) {
+                        phonetic = false;
+                    }
+                }
+            }
+            xml.close();
+        }
+        return strings;
+    }
+
+    /**
+     * Zip entry of the first sheet listed in the workbook
+     */
+    private ZipEntry findFirstSheet() throws IOException, XMLStreamException {
+        String relationshipId = null;
+        ZipEntry workbook = zip.getEntry("xl/workbook.xml");
+        if (workbook != null) {
+            try (InputStream in = zip.getInputStream(workbook)) {
+                XMLStreamReader xml = XML_INPUT.createXMLStreamReader(in);
+                while (xml.hasNext() && relationshipId == null) {
+                    if (xml.next() == XMLStreamConstants.START_ELEMENT && "sheet".equals(xml.getLocalName())) {
+                        relationshipId = xml.getAttributeValue(RELATIONSHIP_NS, "id");
+                    }
+                }
+                xml.close();
+            }
+        }
+
+        ZipEntry relationships = zip.getEntry("xl/_rels/workbook.xml.rels");
+        if (relationshipId != null && relationships != null) {
+            try (InputStream in = zip.getInputStream(relationships)) {
+                XMLStreamReader xml = XML_INPUT.createXMLStreamReader(in);
+                while (xml.hasNext()) {
+                    if (xml.next() == XMLStreamConstants.START_ELEMENT
+                            && "Relationship".equals(xml.getLocalName())
+                            && relationshipId.equals(xml.getAttributeValue(null, "Id"))) {
+                        String target = xml.getAttributeValue(null, "Target");
+                        ZipEntry entry = zip.getEntry(target.startsWith("/") ? target.substring(1) : "xl/" + target);
+                        if (entry != null) {
+                            return entry;
+                        }
+                    }
+                }
+                xml.close();
+            }
+        }
+
+        ZipEntry entry = zip.getEntry("xl/worksheets/sheet1.xml");
+        if (entry == null) {
+            throw new IOException("Workbook has no worksheet");
+        }
+        return entry;
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        // Uploaded files are untrusted: no DTDs or external entities
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.examseating.listener;
+
+import com.examseating.util.DatabaseUtil;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+import java.util.logging.Logger;
+
+/**
+ * Closes the database connection pool when the application is undeployed
+ * or the container stops. The container destroys every servlet before
+ * calling this, so servlets can still use the database in their own
+ * destroy(), e.g. for a final attendance flush.
+ */
+public class DatabaseShutdownListener implements ServletContextListener {
+    private static final Logger logger = Logger.getLogger(DatabaseShutdownListener.class.getName());
+
+    @Override
+    public void contextDestroyed(ServletContextEvent event) {
+        DatabaseUtil.shutdown();
+        logger.info("Database connection pool shut down");
+    }
+}
\ No newline at end of file
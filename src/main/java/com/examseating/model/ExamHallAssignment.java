@@ -0,0 +1,114 @@
+package com.examseating.model;
+
+import java.sql.Timestamp;
+
+/**
+ * ExamHallAssignment model class (exam_hall_assignments row)
+ */
+public class ExamHallAssignment {
+    private int id;
+    private int examId;
+    private int hallId;
+    private int assignedCapacity;
+    private Integer supervisorId;
+    private Timestamp createdAt;
+
+    // Related entity information (for joins)
+    private ExamHall hall;
+
+    // Constructors
+    public ExamHallAssignment() {
+    }
+
+    public ExamHallAssignment(int examId, int hallId, int assignedCapacity) {
+        this.examId = examId;
+        this.hallId = hallId;
+        this.assignedCapacity = assignedCapacity;
+    }
+
+    public ExamHallAssignment(int examId, ExamHall hall, int assignedCapacity) {
+        this(examId, hall.getId(), assignedCapacity);
+        this.hall = hall;
+    }
+
+    // Getters and Setters
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public int getExamId() {
+        return examId;
+    }
+
+    public void setExamId(int examId) {
+        this.examId = examId;
+    }
+
+    public int getHallId() {
+        return hallId;
+    }
+
+    public void setHallId(int hallId) {
+        this.hallId = hallId;
+    }
+
+    public int getAssignedCapacity() {
+        return assignedCapacity;
+    }
+
+    public void setAssignedCapacity(int assignedCapacity) {
+        this.assignedCapacity = assignedCapacity;
+    }
+
+    public Integer getSupervisorId() {
+        return supervisorId;
+    }
+
+    public void setSupervisorId(Integer supervisorId) {
+        this.supervisorId = supervisorId;
+    }
+
+    public Timestamp getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Timestamp createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public ExamHall getHall() {
+        return hall;
+    }
+
+    public void setHall(ExamHall hall) {
+        this.hall = hall;
+    }
+
+    @Override
+    public String toString() {
+        return "ExamHallAssignment{" +
+                "id=" + id +
+                ", examId=" + examId +
+                ", hallId=" + hallId +
+                ", assignedCapacity=" + assignedCapacity +
+                ", supervisorId=" + supervisorId +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        ExamHallAssignment that = (ExamHallAssignment) obj;
+        return id == that.id;
+    }
+
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(id);
+    }
+}
\ No newline at end of file
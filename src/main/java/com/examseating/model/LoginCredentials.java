@@ -0,0 +1,69 @@
+package com.examseating.model;
+
+/**
+ * The columns a login needs: who the account is, its password hash and
+ * whether it may sign in. Teachers are always active; students are never
+ * admins.
+ */
+public class LoginCredentials {
+    private final int id;
+    private final String name;
+    private final String email;
+    private final String password;
+    private final boolean active;
+    private final boolean admin;
+
+    public LoginCredentials(int id, String name, String email, String password, boolean active, boolean admin) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.password = password;
+        this.active = active;
+        this.admin = admin;
+    }
+
+    public static LoginCredentials of(Student student) {
+        return new LoginCredentials(student.getId(), student.getName(), student.getEmail(),
+                student.getPassword(), student.isActive(), false);
+    }
+
+    public static LoginCredentials of(Teacher teacher) {
+        return new LoginCredentials(teacher.getId(), teacher.getName(), teacher.getEmail(),
+                teacher.getPassword(), true, teacher.isAdmin());
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public boolean isAdmin() {
+        return admin;
+    }
+
+    @Override
+    public String toString() {
+        // Never include the password hash
+        return "LoginCredentials{" +
+                "id=" + id +
+                ", email='" + email + '\'' +
+                ", active=" + active +
+                ", admin=" + admin +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.examseating.model;
+
+/**
+ * One seat of a hall roster: the seating row joined with the student's
+ * roll number, name and department
+ */
+public class RosterEntry {
+    private final int seatingId;
+    private final int seatNumber;
+    private final int seatRow;
+    private final int seatColumn;
+    private final SeatingArrangement.SeatingStatus status;
+    private final StudentSummary student;
+
+    public RosterEntry(int seatingId, int seatNumber, int seatRow, int seatColumn,
+                       SeatingArrangement.SeatingStatus status, StudentSummary student) {
+        this.seatingId = seatingId;
+        this.seatNumber = seatNumber;
+        this.seatRow = seatRow;
+        this.seatColumn = seatColumn;
+        this.status = status;
+        this.student = student;
+    }
+
+    public int getSeatingId() {
+        return seatingId;
+    }
+
+    public int getSeatNumber() {
+        return seatNumber;
+    }
+
+    public int getSeatRow() {
+        return seatRow;
+    }
+
+    public int getSeatColumn() {
+        return seatColumn;
+    }
+
+    public SeatingArrangement.SeatingStatus getStatus() {
+        return status;
+    }
+
+    public StudentSummary getStudent() {
+        return student;
+    }
+
+    public String getSeatPosition() {
+        return "Row " + seatRow + ", Seat " + seatColumn;
+    }
+
+    @Override
+    public String toString() {
+        return "RosterEntry{" +
+                "seatingId=" + seatingId +
+                ", seatNumber=" + seatNumber +
+                ", status=" + status +
+                ", student=" + student +
+                '}';
+    }
+}
\ No newline at end of file
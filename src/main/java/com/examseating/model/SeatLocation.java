@@ -0,0 +1,109 @@
+package com.examseating.model;
+
+import java.sql.Date;
+import java.sql.Time;
+
+/**
+ * Where a student sits for one exam: the seating row joined with the
+ * student's roll number, the exam's subject and schedule and the hall name.
+ * This is what a hall ticket shows.
+ */
+public class SeatLocation {
+    private final int seatingId;
+    private final int examId;
+    private final int studentId;
+    private final String rollNo;
+    private final String examSubject;
+    private final String examCode;
+    private final Date examDate;
+    private final Time startTime;
+    private final int hallId;
+    private final String hallName;
+    private final int seatNumber;
+    private final int seatRow;
+    private final int seatColumn;
+
+    public SeatLocation(int seatingId, int examId, int studentId, String rollNo, String examSubject,
+                        String examCode, Date examDate, Time startTime, int hallId, String hallName,
+                        int seatNumber, int seatRow, int seatColumn) {
+        this.seatingId = seatingId;
+        this.examId = examId;
+        this.studentId = studentId;
+        this.rollNo = rollNo;
+        this.examSubject = examSubject;
+        this.examCode = examCode;
+        this.examDate = examDate;
+        this.startTime = startTime;
+        this.hallId = hallId;
+        this.hallName = hallName;
+        this.seatNumber = seatNumber;
+        this.seatRow = seatRow;
+        this.seatColumn = seatColumn;
+    }
+
+    public int getSeatingId() {
+        return seatingId;
+    }
+
+    public int getExamId() {
+        return examId;
+    }
+
+    public int getStudentId() {
+        return studentId;
+    }
+
+    public String getRollNo() {
+        return rollNo;
+    }
+
+    public String getExamSubject() {
+        return examSubject;
+    }
+
+    public String getExamCode() {
+        return examCode;
+    }
+
+    public Date getExamDate() {
+        return examDate;
+    }
+
+    public Time getStartTime() {
+        return startTime;
+    }
+
+    public int getHallId() {
+        return hallId;
+    }
+
+    public String getHallName() {
+        return hallName;
+    }
+
+    public int getSeatNumber() {
+        return seatNumber;
+    }
+
+    public int getSeatRow() {
+        return seatRow;
+    }
+
+    public int getSeatColumn() {
+        return seatColumn;
+    }
+
+    public String getSeatPosition() {
+        return "Row " + seatRow + ", Seat " + seatColumn;
+    }
+
+    @Override
+    public String toString() {
+        return "SeatLocation{" +
+                "examId=" + examId +
+                ", rollNo='" + rollNo + '\'' +
+                ", hallName='" + hallName + '\'' +
+                ", seatNumber=" + seatNumber +
+                '}';
+    }
+}
\ No newline at end of file
@@ -23,6 +23,7 @@ public class SeatingArrangement {
     private String hallName;
     private String examSubject;
     private String examCode;
+    private Exam exam;
     
     // Enum for seating status
     public enum SeatingStatus {
@@ -150,6 +151,14 @@ public class SeatingArrangement {
         this.examCode = examCode;
     }
     
+    public Exam getExam() {
+        return exam;
+    }
+    
+    public void setExam(Exam exam) {
+        this.exam = exam;
+    }
+    
     public Timestamp getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,45 @@
+package com.examseating.model;
+
+/**
+ * Read-only student projection (id, roll number, name, department) for
+ * lists and rosters that do not need the full students row
+ */
+public class StudentSummary {
+    private final int id;
+    private final String rollNo;
+    private final String name;
+    private final String department;
+
+    public StudentSummary(int id, String rollNo, String name, String department) {
+        this.id = id;
+        this.rollNo = rollNo;
+        this.name = name;
+        this.department = department;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getRollNo() {
+        return rollNo;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    @Override
+    public String toString() {
+        return "StudentSummary{" +
+                "id=" + id +
+                ", rollNo='" + rollNo + '\'' +
+                ", name='" + name + '\'' +
+                ", department='" + department + '\'' +
+                '}';
+    }
+}
\ No newline at end of file
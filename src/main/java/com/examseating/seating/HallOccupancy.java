@@ -0,0 +1,328 @@
+package com.examseating.seating;
+
+import com.examseating.model.ExamHall;
+import com.examseating.model.SeatingArrangement;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Compact seat occupancy map for one (exam, hall) pair. Bit {@code n - 1}
+ * is set when seat number {@code n} (as given by
+ * {@link ExamHall#calculateSeatNumber}) is taken, so a 1000-seat hall needs
+ * 16 longs. Not thread-safe; use {@link #copy()} for what-if planning.
+ */
+public class HallOccupancy {
+    private final int examId;
+    private final int hallId;
+    private final int rows;
+    private final int columns;
+    private final int capacity;
+    private final long[] words;
+    private int occupiedCount;
+
+    public HallOccupancy(int examId, ExamHall hall) {
+        this(examId, hall.getId(), hall.getRows(), hall.getColumns(), hall.getCapacity());
+    }
+
+    public HallOccupancy(int examId, int hallId, int rows, int columns, int capacity) {
+        if (rows < 1 || columns < 1) {
+            throw new IllegalArgumentException("Invalid hall dimensions: " + rows + "x" + columns);
+        }
+        this.examId = examId;
+        this.hallId = hallId;
+        this.rows = rows;
+        this.columns = columns;
+        this.capacity = Math.max(0, Math.min(capacity, rows * columns));
+        this.words = new long[wordCount(this.capacity)];
+    }
+
+    private HallOccupancy(HallOccupancy source) {
+        this.examId = source.examId;
+        this.hallId = source.hallId;
+        this.rows = source.rows;
+        this.columns = source.columns;
+        this.capacity = source.capacity;
+        this.words = source.words.clone();
+        this.occupiedCount = source.occupiedCount;
+    }
+
+    /**
+     * Build from existing seating rows for the given hall
+     */
+    public static HallOccupancy fromArrangements(int examId, ExamHall hall,
+                                                 Collection<SeatingArrangement> arrangements) {
+        HallOccupancy occupancy = new HallOccupancy(examId, hall);
+        for (SeatingArrangement arrangement : arrangements) {
+            if (arrangement.getExamId() == examId && arrangement.getHallId() == hall.getId()) {
+                occupancy.occupy(arrangement.getSeatNumber());
+            }
+        }
+        return occupancy;
+    }
+
+    public int getExamId() {
+        return examId;
+    }
+
+    public int getHallId() {
+        return hallId;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getOccupiedCount() {
+        return occupiedCount;
+    }
+
+    public int getFreeCount() {
+        return capacity - occupiedCount;
+    }
+
+    public boolean isFull() {
+        return occupiedCount >= capacity;
+    }
+
+    public boolean isOccupied(int seatNumber) {
+        checkSeat(seatNumber);
+        int index = seatNumber - 1;
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public boolean isOccupied(int row, int column) {
+        return isOccupied(seatNumber(row, column));
+    }
+
+    /**
+     * Mark a seat taken. Returns false if it already was.
+     */
+    public boolean occupy(int seatNumber) {
+        checkSeat(seatNumber);
+        int index = seatNumber - 1;
+        long mask = 1L << index;
+        if ((words[index >>> 6] & mask) != 0) {
+            return false;
+        }
+        words[index >>> 6] |= mask;
+        occupiedCount++;
+        return true;
+    }
+
+    /**
+     * Mark a seat free. Returns false if it already was.
+     */
+    public boolean release(int seatNumber) {
+        checkSeat(seatNumber);
+        int index = seatNumber - 1;
+        long mask = 1L << index;
+        if ((words[index >>> 6] & mask) == 0) {
+            return false;
+        }
+        words[index >>> 6] &= ~mask;
+        occupiedCount--;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(words, 0L);
+        occupiedCount = 0;
+    }
+
+    /**
+     * First free seat number at or after {@code fromSeat}, or -1
+     */
+    public int nextFreeSeat(int fromSeat) {
+        return nextClear(words, Math.max(1, fromSeat));
+    }
+
+    /**
+     * First free seat number at or after {@code fromSeat} with no occupied
+     * seat directly to its left, right, front or back, or -1
+     */
+    public int nextFreeSpacedSeat(int fromSeat) {
+        long[] unavailable = getBlockedNeighbourMask();
+        for (int i = 0; i < words.length; i++) {
+            unavailable[i] |= words[i];
+        }
+        return nextClear(unavailable, Math.max(1, fromSeat));
+    }
+
+    /**
+     * Whether a free seat has no occupied orthogonal neighbour
+     */
+    public boolean isSpacedSeatFree(int seatNumber) {
+        if (isOccupied(seatNumber)) {
+            return false;
+        }
+        int row = (seatNumber - 1) / columns + 1;
+        int column = (seatNumber - 1) % columns + 1;
+        return !occupiedAt(row, column - 1) && !occupiedAt(row, column + 1)
+                && !occupiedAt(row - 1, column) && !occupiedAt(row + 1, column);
+    }
+
+    /**
+     * Bit mask (same layout as the occupancy words) of seats that are
+     * horizontally or vertically adjacent to an occupied seat
+     */
+    public long[] getBlockedNeighbourMask() {
+        long[] blocked = new long[words.length];
+        long[] firstColumn = columnMask(1);
+        long[] lastColumn = columnMask(columns);
+
+        long[] right = shiftUp(words, 1);
+        long[] left = shiftDown(words, 1);
+        long[] behind = shiftUp(words, columns);
+        long[] ahead = shiftDown(words, columns);
+        for (int i = 0; i < blocked.length; i++) {
+            blocked[i] = (right[i] & ~firstColumn[i]) | (left[i] & ~lastColumn[i]) | behind[i] | ahead[i];
+        }
+        trim(blocked);
+        return blocked;
+    }
+
+    /**
+     * Copy of the raw occupancy words
+     */
+    public long[] toWords() {
+        return words.clone();
+    }
+
+    /**
+     * Independent copy for what-if planning
+     */
+    public HallOccupancy copy() {
+        return new HallOccupancy(this);
+    }
+
+    /**
+     * Reset this map to the state captured by {@link #copy()}
+     */
+    public void restore(HallOccupancy snapshot) {
+        if (snapshot.hallId != hallId || snapshot.words.length != words.length) {
+            throw new IllegalArgumentException("Snapshot belongs to a different hall");
+        }
+        System.arraycopy(snapshot.words, 0, words, 0, words.length);
+        occupiedCount = snapshot.occupiedCount;
+    }
+
+    /**
+     * Copy the occupied/available counts onto the hall model
+     */
+    public void applyTo(ExamHall hall) {
+        hall.setOccupiedSeats(occupiedCount);
+    }
+
+    public int seatNumber(int row, int column) {
+        if (row < 1 || row > rows || column < 1 || column > columns) {
+            throw new IllegalArgumentException("Invalid seat position: (" + row + ", " + column + ")");
+        }
+        return (row - 1) * columns + column;
+    }
+
+    private boolean occupiedAt(int row, int column) {
+        if (row < 1 || row > rows || column < 1 || column > columns) {
+            return false;
+        }
+        int seat = (row - 1) * columns + column;
+        return seat <= capacity && isOccupied(seat);
+    }
+
+    private int nextClear(long[] bits, int fromSeat) {
+        int index = fromSeat - 1;
+        if (index >= capacity) {
+            return -1;
+        }
+        int w = index >>> 6;
+        long word = ~bits[w] & (-1L << index);
+        while (true) {
+            if (word != 0) {
+                int found = (w << 6) + Long.numberOfTrailingZeros(word);
+                return found < capacity ? found + 1 : -1;
+            }
+            if (++w == bits.length) {
+                return -1;
+            }
+            word = ~bits[w];
+        }
+    }
+
+    private long[] columnMask(int column) {
+        long[] mask = new long[words.length];
+        for (int index = column - 1; index < capacity; index += columns) {
+            mask[index >>> 6] |= 1L << index;
+        }
+        return mask;
+    }
+
+    private void trim(long[] bits) {
+        int tail = capacity & 63;
+        if (tail != 0) {
+            bits[bits.length - 1] &= (1L << tail) - 1;
+        }
+    }
+
+    private void checkSeat(int seatNumber) {
+        if (seatNumber < 1 || seatNumber > capacity) {
+            throw new IllegalArgumentException("Invalid seat number: " + seatNumber);
+        }
+    }
+
+    private static int wordCount(int bits) {
+        return Math.max(1, (bits + 63) >>> 6);
+    }
+
+    /**
+     * Shift towards higher seat numbers
+     */
+    private static long[] shiftUp(long[] src, int n) {
+        long[] dst = new long[src.length];
+        int wordShift = n >>> 6;
+        int bitShift = n & 63;
+        for (int i = src.length - 1; i >= wordShift; i--) {
+            long value = src[i - wordShift] << bitShift;
+            if (bitShift != 0 && i - wordShift - 1 >= 0) {
+                value |= src[i - wordShift - 1] >>> (64 - bitShift);
+            }
+            dst[i] = value;
+        }
+        return dst;
+    }
+
+    /**
+     * Shift towards lower seat numbers
+     */
+    private static long[] shiftDown(long[] src, int n) {
+        long[] dst = new long[src.length];
+        int wordShift = n >>> 6;
+        int bitShift = n & 63;
+        for (int i = 0; i + wordShift < src.length; i++) {
+            long value = src[i + wordShift] >>> bitShift;
+            if (bitShift != 0 && i + wordShift + 1 < src.length) {
+                value |= src[i + wordShift + 1] << (64 - bitShift);
+            }
+            dst[i] = value;
+        }
+        return dst;
+    }
+
+    @Override
+    public String toString() {
+        return "HallOccupancy{" +
+                "examId=" + examId +
+                ", hallId=" + hallId +
+                ", rows=" + rows +
+                ", columns=" + columns +
+                ", occupied=" + occupiedCount +
+                "/" + capacity +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,115 @@
+package com.examseating.seating;
+
+import com.examseating.model.ExamHall;
+import com.examseating.model.ExamHallAssignment;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Halls picked by {@link HallSelector} for an exam's headcount, with the
+ * number of students each can take
+ */
+public class HallSelection {
+
+    /**
+     * How far apart the selected halls are
+     */
+    public enum Scope {
+        FLOOR, BUILDING, CAMPUS
+    }
+
+    private final int headcount;
+    private final List<ExamHall> halls;
+    private final int[] seatLimits;
+    private final Scope scope;
+    private final long elapsedNanos;
+
+    HallSelection(int headcount, List<ExamHall> halls, int[] seatLimits, Scope scope, long elapsedNanos) {
+        this.headcount = headcount;
+        this.halls = Collections.unmodifiableList(halls);
+        this.seatLimits = seatLimits;
+        this.scope = scope;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getHeadcount() {
+        return headcount;
+    }
+
+    /**
+     * Selected halls, largest first
+     */
+    public List<ExamHall> getHalls() {
+        return halls;
+    }
+
+    /**
+     * Students the i-th hall can take: usable seats under the spacing
+     * setting, capped at seating.max.students.per.hall
+     */
+    public int getSeatLimit(int index) {
+        return seatLimits[index];
+    }
+
+    public int getTotalSeats() {
+        int total = 0;
+        for (int limit : seatLimits) {
+            total += limit;
+        }
+        return total;
+    }
+
+    public int getEmptySeats() {
+        return Math.max(0, getTotalSeats() - headcount);
+    }
+
+    /**
+     * Students left without a seat because the active halls are too small
+     * together; 0 for a complete selection
+     */
+    public int getShortfall() {
+        return Math.max(0, headcount - getTotalSeats());
+    }
+
+    public boolean isComplete() {
+        return getShortfall() == 0;
+    }
+
+    public Scope getScope() {
+        return scope;
+    }
+
+    public double getElapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    /**
+     * exam_hall_assignments rows for the selection. Halls are filled in
+     * order, so every hall but the last is assigned its full limit and the
+     * last takes the remainder.
+     */
+    public List<ExamHallAssignment> toAssignments(int examId) {
+        List<ExamHallAssignment> assignments = new ArrayList<>(halls.size());
+        int remaining = headcount;
+        for (int i = 0; i < halls.size() && remaining > 0; i++) {
+            int assigned = Math.min(seatLimits[i], remaining);
+            assignments.add(new ExamHallAssignment(examId, halls.get(i), assigned));
+            remaining -= assigned;
+        }
+        return assignments;
+    }
+
+    @Override
+    public String toString() {
+        return "HallSelection{" +
+                "headcount=" + headcount +
+                ", halls=" + halls.size() +
+                ", seats=" + getTotalSeats() +
+                ", empty=" + getEmptySeats() +
+                (isComplete() ? "" : ", shortfall=" + getShortfall()) +
+                ", scope=" + scope +
+                ", elapsedMs=" + String.format("%.2f", getElapsedMillis()) +
+                '}';
+    }
+}
\ No newline at end of file
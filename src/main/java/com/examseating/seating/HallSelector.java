@@ -0,0 +1,259 @@
+package com.examseating.seating;
+
+import com.examseating.model.ExamHall;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Picks the halls for an exam from the active halls, given its headcount.
+ * A hall takes as many students as it has usable seats under the spacing
+ * setting, capped at seating.max.students.per.hall. Selections are ranked:
+ * <ol>
+ *   <li>fewest halls - always the minimum number that can seat everyone</li>
+ *   <li>closest together - one floor, else one building, else anywhere</li>
+ *   <li>fewest empty seats</li>
+ * </ol>
+ * For a hall count k the least-empty set of k halls is found exactly with a
+ * subset-sum over (halls used, seats) kept as bitsets, about n * k *
+ * (headcount / 64) word operations for n halls, so a thousand halls are
+ * searched in a few milliseconds.
+ */
+public class HallSelector {
+    private static final Logger logger = LoggerFactory.getLogger(HallSelector.class);
+
+    // Largest first; the rest only makes the choice among equal halls repeatable
+    private static final Comparator<Candidate> LARGEST_FIRST = Comparator
+            .comparingInt((Candidate candidate) -> candidate.seats).reversed()
+            .thenComparing(candidate -> candidate.hall.getBuilding(), Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(candidate -> candidate.hall.getFloor(), Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparingInt(candidate -> candidate.hall.getId());
+
+    private final SeatingGenerator seatMath;
+
+    public HallSelector() {
+        this(SeatingConfig.fromProperties());
+    }
+
+    public HallSelector(SeatingConfig config) {
+        this.seatMath = new SeatingGenerator(config);
+    }
+
+    /**
+     * Students a hall can take for an exam
+     */
+    public int getSeatLimit(ExamHall hall) {
+        int limit = seatMath.countUsableSeats(hall);
+        int maxStudentsPerHall = seatMath.getConfig().getMaxStudentsPerHall();
+        return maxStudentsPerHall > 0 ? Math.min(limit, maxStudentsPerHall) : limit;
+    }
+
+    /**
+     * Choose halls for {@code headcount} students among {@code halls};
+     * inactive halls are ignored. If the active halls cannot seat everyone,
+     * all of them are returned and the selection reports the shortfall.
+     *
+     * @throws IllegalArgumentException for more than 65534 halls
+     */
+    public HallSelection select(List<ExamHall> halls, int headcount) {
+        long start = System.nanoTime();
+
+        List<Candidate> candidates = new ArrayList<>(halls.size());
+        long totalSeats = 0;
+        for (ExamHall hall : halls) {
+            int seats = hall.isActive() ? getSeatLimit(hall) : 0;
+            if (seats > 0) {
+                candidates.add(new Candidate(hall, seats));
+                totalSeats += seats;
+            }
+        }
+        candidates.sort(LARGEST_FIRST);
+        if (candidates.size() >= Character.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many halls to select from: " + candidates.size());
+        }
+
+        if (headcount <= 0) {
+            return toSelection(headcount, Collections.emptyList(), HallSelection.Scope.FLOOR, start);
+        }
+        if (totalSeats < headcount) {
+            logger.warn("Active halls seat {} of {} students", totalSeats, headcount);
+            return toSelection(headcount, candidates, HallSelection.Scope.CAMPUS, start);
+        }
+
+        int hallCount = minimumHalls(candidates, headcount);
+        if (hallCount == 1) {
+            return toSelection(headcount, leastEmpty(candidates, 1, headcount), HallSelection.Scope.FLOOR, start);
+        }
+
+        List<Candidate> best = bestInGroups(candidates, hallCount, headcount,
+                candidate -> Arrays.asList(candidate.hall.getBuilding(), candidate.hall.getFloor()));
+        if (best != null) {
+            return toSelection(headcount, best, HallSelection.Scope.FLOOR, start);
+        }
+        best = bestInGroups(candidates, hallCount, headcount, candidate -> candidate.hall.getBuilding());
+        if (best != null) {
+            return toSelection(headcount, best, HallSelection.Scope.BUILDING, start);
+        }
+        return toSelection(headcount, leastEmpty(candidates, hallCount, headcount), HallSelection.Scope.CAMPUS, start);
+    }
+
+    /**
+     * Least-empty selection of {@code hallCount} halls within any single
+     * group, or null if no group can seat everyone with that many halls.
+     * Each group is a slice of the largest-first list, so it stays sorted.
+     */
+    private List<Candidate> bestInGroups(List<Candidate> candidates, int hallCount, int headcount,
+                                         Function<Candidate, Object> groupKey) {
+        Map<Object, List<Candidate>> groups = new LinkedHashMap<>();
+        for (Candidate candidate : candidates) {
+            // A hall without a building is not known to be near any other
+            if (candidate.hall.getBuilding() != null) {
+                groups.computeIfAbsent(groupKey.apply(candidate), key -> new ArrayList<>()).add(candidate);
+            }
+        }
+
+        List<Candidate> best = null;
+        int bestSeats = Integer.MAX_VALUE;
+        for (List<Candidate> group : groups.values()) {
+            if (group.size() < hallCount || minimumHalls(group, headcount) != hallCount) {
+                continue;
+            }
+            List<Candidate> selection = leastEmpty(group, hallCount, headcount);
+            int seats = sumSeats(selection);
+            if (seats < bestSeats) {
+                best = selection;
+                bestSeats = seats;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Fewest halls that can seat everyone: the largest ones first. Returns
+     * Integer.MAX_VALUE if even all of them are too small.
+     */
+    static int minimumHalls(List<Candidate> largestFirst, int headcount) {
+        long seats = 0;
+        for (int i = 0; i < largestFirst.size(); i++) {
+            seats += largestFirst.get(i).seats;
+            if (seats >= headcount) {
+                return i + 1;
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * The set of exactly {@code hallCount} halls with the fewest seats that
+     * still holds {@code headcount}. reach[c] has bit s set when some c of
+     * the halls seen so far hold exactly s seats; via[c][s] is the hall that
+     * first reached it, and following via back from the best total gives
+     * the halls. Only the band of sums that can still end at or above the
+     * headcount, and at or below the c largest halls, is updated.
+     */
+    static List<Candidate> leastEmpty(List<Candidate> largestFirst, int hallCount, int headcount) {
+        int n = largestFirst.size();
+        // largestSum[j]: seats in the j largest halls
+        int[] largestSum = new int[n + 1];
+        for (int j = 0; j < n; j++) {
+            largestSum[j + 1] = largestSum[j] + largestFirst.get(j).seats;
+        }
+        int maxSeats = largestSum[hallCount];
+        int words = (maxSeats >>> 6) + 1;
+        long[][] reach = new long[hallCount + 1][words];
+        char[][] via = new char[hallCount + 1][words << 6];
+        reach[0][0] = 1L;
+
+        for (int i = 0; i < n; i++) {
+            int seats = largestFirst.get(i).seats;
+            int wordShift = seats >>> 6;
+            int bitShift = seats & 63;
+            // Hall i can only be the c-th pick if enough halls remain to make up the rest
+            int lowest = Math.max(1, hallCount - (n - 1 - i));
+            for (int c = Math.min(hallCount, i + 1); c >= lowest; c--) {
+                long[] from = reach[c - 1];
+                long[] to = reach[c];
+                // The other hallCount - c picks come from the halls after i, at most the largest of them
+                int rest = largestSum[Math.min(n, i + 1 + hallCount - c)] - largestSum[i + 1];
+                int low = Math.max(wordShift, (headcount - rest) >> 6);
+                int high = Math.min(words - 1, largestSum[c] >>> 6);
+                for (int word = high; word >= low; word--) {
+                    int source = word - wordShift;
+                    long shifted = from[source] << bitShift;
+                    if (bitShift != 0 && source > 0) {
+                        shifted |= from[source - 1] >>> (64 - bitShift);
+                    }
+                    long fresh = shifted & ~to[word];
+                    if (fresh == 0) {
+                        continue;
+                    }
+                    to[word] |= fresh;
+                    while (fresh != 0) {
+                        via[c][(word << 6) + Long.numberOfTrailingZeros(fresh)] = (char) (i + 1);
+                        fresh &= fresh - 1;
+                    }
+                }
+            }
+        }
+
+        int total = nextSetBit(reach[hallCount], headcount);
+        List<Candidate> selection = new ArrayList<>(hallCount);
+        for (int c = hallCount; c > 0; c--) {
+            Candidate candidate = largestFirst.get(via[c][total] - 1);
+            selection.add(candidate);
+            total -= candidate.seats;
+        }
+        selection.sort(LARGEST_FIRST);
+        return selection;
+    }
+
+    private static int nextSetBit(long[] bits, int from) {
+        int word = from >>> 6;
+        long current = bits[word] & (-1L << (from & 63));
+        while (current == 0) {
+            current = bits[++word];
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(current);
+    }
+
+    private static int sumSeats(List<Candidate> candidates) {
+        int seats = 0;
+        for (Candidate candidate : candidates) {
+            seats += candidate.seats;
+        }
+        return seats;
+    }
+
+    private HallSelection toSelection(int headcount, List<Candidate> candidates, HallSelection.Scope scope,
+                                      long start) {
+        List<ExamHall> halls = new ArrayList<>(candidates.size());
+        int[] seatLimits = new int[candidates.size()];
+        for (int i = 0; i < candidates.size(); i++) {
+            halls.add(candidates.get(i).hall);
+            seatLimits[i] = candidates.get(i).seats;
+        }
+        HallSelection selection = new HallSelection(headcount, halls, seatLimits, scope, System.nanoTime() - start);
+        logger.debug("Selected halls: {}", selection);
+        return selection;
+    }
+
+    /**
+     * An active hall and the number of students it can take
+     */
+    static final class Candidate {
+        final ExamHall hall;
+        final int seats;
+
+        Candidate(ExamHall hall, int seats) {
+            this.hall = hall;
+            this.seats = seats;
+        }
+    }
+}
\ No newline at end of file
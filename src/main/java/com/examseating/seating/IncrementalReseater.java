@@ -0,0 +1,258 @@
+package com.examseating.seating;
+
+import com.examseating.model.Exam;
+import com.examseating.model.ExamHall;
+import com.examseating.model.ExamHallAssignment;
+import com.examseating.model.SeatingArrangement;
+import com.examseating.model.Student;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Changes an existing exam seating plan without regenerating it. Only the
+ * affected students are placed, into free seats of the exam's other
+ * assigned halls, under the same spacing, alternate and per-hall limit
+ * rules as {@link SeatingGenerator}. The result is a {@link ReseatPlan}
+ * holding just the rows to update or insert.
+ */
+public class IncrementalReseater {
+    private static final Logger logger = LoggerFactory.getLogger(IncrementalReseater.class);
+
+    private final SeatingGenerator generator;
+
+    public IncrementalReseater() {
+        this(new SeatingGenerator());
+    }
+
+    public IncrementalReseater(SeatingGenerator generator) {
+        this.generator = generator;
+    }
+
+    /**
+     * Move every student seated in {@code closedHallId} to free seats in the
+     * exam's other halls.
+     *
+     * @param current  the exam's current seating rows
+     * @param students seated students by id, used for alternate-seating groups
+     */
+    public ReseatPlan closeHall(Exam exam, List<ExamHallAssignment> assignments,
+                                List<SeatingArrangement> current, Map<Integer, Student> students,
+                                int closedHallId) {
+        ExamState state = new ExamState(exam, assignments, current, students, closedHallId);
+
+        List<SeatingArrangement> displaced = new ArrayList<>();
+        for (SeatingArrangement arrangement : current) {
+            if (arrangement.getExamId() == exam.getId() && arrangement.getHallId() == closedHallId) {
+                displaced.add(arrangement);
+            }
+        }
+        displaced.sort(Comparator.comparingInt(SeatingArrangement::getSeatNumber));
+
+        List<SeatingArrangement> moved = new ArrayList<>(displaced.size());
+        List<Student> unplaced = new ArrayList<>();
+        int conflicts = 0;
+
+        for (SeatingArrangement old : displaced) {
+            Student student = students.get(old.getStudentId());
+            if (student == null) {
+                student = new Student();
+                student.setId(old.getStudentId());
+            }
+            SeatChoice choice = state.place(student);
+            if (choice == null) {
+                unplaced.add(student);
+                continue;
+            }
+            SeatingArrangement updated = generator.createArrangement(exam, choice.hall.hall, student,
+                    choice.seatNumber, choice.row, choice.column);
+            updated.setId(old.getId());
+            updated.setStatus(old.getStatus());
+            moved.add(updated);
+            conflicts += choice.conflicts;
+        }
+
+        ReseatPlan plan = new ReseatPlan(exam.getId(), moved, new ArrayList<>(), unplaced, conflicts);
+        logger.info("Reseat after closing hall {} for exam {}: {}", closedHallId, exam.getId(), plan);
+        return plan;
+    }
+
+    /**
+     * Seat late registrations in free seats of the exam's halls. Students
+     * that already have a seat are ignored.
+     *
+     * @param current  the exam's current seating rows
+     * @param students seated students by id, used for alternate-seating groups
+     */
+    public ReseatPlan seatStudents(Exam exam, List<ExamHallAssignment> assignments,
+                                   List<SeatingArrangement> current, Map<Integer, Student> students,
+                                   List<Student> newStudents) {
+        ExamState state = new ExamState(exam, assignments, current, students, -1);
+
+        List<SeatingArrangement> added = new ArrayList<>(newStudents.size());
+        List<Student> unplaced = new ArrayList<>();
+        int conflicts = 0;
+
+        for (Student student : newStudents) {
+            if (!student.isEligibleForExam() || !state.seatedStudents.add(student.getId())) {
+                continue;
+            }
+            SeatChoice choice = state.place(student);
+            if (choice == null) {
+                unplaced.add(student);
+                continue;
+            }
+            added.add(generator.createArrangement(exam, choice.hall.hall, student,
+                    choice.seatNumber, choice.row, choice.column));
+            conflicts += choice.conflicts;
+        }
+
+        ReseatPlan plan = new ReseatPlan(exam.getId(), new ArrayList<>(), added, unplaced, conflicts);
+        logger.info("Seated late registrations for exam {}: {}", exam.getId(), plan);
+        return plan;
+    }
+
+    /**
+     * Free seats and seat groups of every usable hall of one exam
+     */
+    private final class ExamState {
+        private final Map<Integer, HallState> halls = new LinkedHashMap<>();
+        private final Set<Integer> seatedStudents = new HashSet<>();
+        private final Function<Student, Object> groupKey = generator.getConfig().getGroupKey();
+
+        ExamState(Exam exam, List<ExamHallAssignment> assignments, List<SeatingArrangement> current,
+                  Map<Integer, Student> students, int excludedHallId) {
+            for (ExamHallAssignment assignment : assignments) {
+                ExamHall hall = assignment.getHall();
+                if (hall == null) {
+                    throw new IllegalArgumentException("Hall not loaded for assignment: " + assignment);
+                }
+                if (hall.getId() != excludedHallId && hall.isActive()) {
+                    halls.put(hall.getId(), new HallState(exam.getId(), hall, generator.getHallLimit(assignment)));
+                }
+            }
+
+            for (SeatingArrangement arrangement : current) {
+                if (arrangement.getExamId() != exam.getId()) {
+                    continue;
+                }
+                seatedStudents.add(arrangement.getStudentId());
+                HallState hallState = halls.get(arrangement.getHallId());
+                if (hallState != null) {
+                    Student student = students.get(arrangement.getStudentId());
+                    hallState.take(arrangement.getSeatNumber(), student != null ? groupKey.apply(student) : null);
+                }
+            }
+        }
+
+        /**
+         * Reserve the best seat for a student: the first conflict-free seat
+         * in hall order, else the seat with the fewest same-group neighbours
+         */
+        SeatChoice place(Student student) {
+            Object group = student.getDepartment() != null ? groupKey.apply(student) : null;
+            boolean alternate = generator.getConfig().isAlternateEnabled() && group != null;
+            SeatChoice best = null;
+
+            search:
+            for (HallState hallState : halls.values()) {
+                if (hallState.occupancy.getOccupiedCount() >= hallState.limit) {
+                    continue;
+                }
+                for (int seat = hallState.occupancy.nextFreeSeat(1); seat > 0;
+                     seat = hallState.occupancy.nextFreeSeat(seat + 1)) {
+                    int row = (seat - 1) / hallState.hall.getColumns() + 1;
+                    int column = (seat - 1) % hallState.hall.getColumns() + 1;
+                    if (!generator.isUsableSeat(row, column)) {
+                        continue;
+                    }
+                    if (generator.getConfig().isSpacingEnabled() && !hallState.occupancy.isSpacedSeatFree(seat)) {
+                        continue;
+                    }
+                    int conflicts = alternate ? hallState.sameGroupNeighbours(seat, row, column, group) : 0;
+                    if (best == null || conflicts < best.conflicts) {
+                        best = new SeatChoice(hallState, seat, row, column, conflicts);
+                        if (conflicts == 0) {
+                            break search;
+                        }
+                    }
+                }
+            }
+
+            if (best != null) {
+                best.hall.take(best.seatNumber, group);
+            }
+            return best;
+        }
+    }
+
+    /**
+     * One hall's occupancy plus the group sitting on each seat
+     */
+    private static final class HallState {
+        private final ExamHall hall;
+        private final int limit;
+        private final HallOccupancy occupancy;
+        private final Object[] seatGroups;
+
+        HallState(int examId, ExamHall hall, int limit) {
+            this.hall = hall;
+            this.limit = limit;
+            this.occupancy = new HallOccupancy(examId, hall);
+            this.seatGroups = new Object[occupancy.getCapacity()];
+        }
+
+        void take(int seatNumber, Object group) {
+            if (seatNumber >= 1 && seatNumber <= occupancy.getCapacity()) {
+                occupancy.occupy(seatNumber);
+                seatGroups[seatNumber - 1] = group;
+            }
+        }
+
+        int sameGroupNeighbours(int seat, int row, int column, Object group) {
+            int columns = hall.getColumns();
+            int conflicts = 0;
+            if (column > 1 && Objects.equals(groupAt(seat - 1), group)) {
+                conflicts++;
+            }
+            if (column < columns && Objects.equals(groupAt(seat + 1), group)) {
+                conflicts++;
+            }
+            if (row > 1 && Objects.equals(groupAt(seat - columns), group)) {
+                conflicts++;
+            }
+            if (Objects.equals(groupAt(seat + columns), group)) {
+                conflicts++;
+            }
+            return conflicts;
+        }
+
+        private Object groupAt(int seatNumber) {
+            return seatNumber >= 1 && seatNumber <= seatGroups.length ? seatGroups[seatNumber - 1] : null;
+        }
+    }
+
+    private static final class SeatChoice {
+        private final HallState hall;
+        private final int seatNumber;
+        private final int row;
+        private final int column;
+        private final int conflicts;
+
+        SeatChoice(HallState hall, int seatNumber, int row, int column, int conflicts) {
+            this.hall = hall;
+            this.seatNumber = seatNumber;
+            this.row = row;
+            this.column = column;
+            this.conflicts = conflicts;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,433 @@
+package com.examseating.seating;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Places students on a set of hall seats so that no two horizontally or
+ * vertically adjacent seats hold students of the same group (department,
+ * department + year, or exam).
+ * <p>
+ * The seat grid is bipartite: seats with even (row + column) are only
+ * adjacent to seats with odd (row + column), so a layout in which every
+ * group keeps to one colour class has no conflicts at all. When the group
+ * sizes allow it - some of the groups exactly fill the even seats - that
+ * layout is found by a subset-sum over the group sizes and returned.
+ * <p>
+ * Otherwise the result is best effort, not a minimum: groups are laid out
+ * largest first over the larger colour class and then the smaller one, so
+ * every group except those crossing between the two classes is
+ * conflict-free by construction. Bounded swap passes then repair what is
+ * left, and a couple of alternative initial layouts are tried if conflicts
+ * remain. A conflict-free layout may exist that these passes miss; when
+ * none exists (one group is larger than the biggest independent seat set)
+ * they leave as few conflicts as they can find. Runs in O(n * g) for the
+ * exact split and O(n log g + n * k) for the fallback, for n students, g
+ * groups and k repair probes.
+ */
+public class InterleavingSolver {
+
+    // Swap candidates probed per conflicted seat
+    private static final int REPAIR_PROBES = 64;
+
+    // Repair passes while conflicts keep dropping
+    private static final int REPAIR_PASSES = 4;
+
+    // Initial layouts tried when the first one leaves conflicts
+    private static final int LAYOUT_VARIANTS = 3;
+
+    // Largest groups x students table the exact colour split may fill
+    private static final long MAX_SPLIT_CELLS = 1L << 22;
+
+    /**
+     * Result of a placement: {@code order[i]} is the index of the student
+     * that sits on seat {@code i}
+     */
+    public static class Placement {
+        private final int[] order;
+        private final int conflicts;
+
+        Placement(int[] order, int conflicts) {
+            this.order = order;
+            this.conflicts = conflicts;
+        }
+
+        public int[] getOrder() {
+            return order;
+        }
+
+        /**
+         * Number of adjacent same-group seat pairs left
+         */
+        public int getConflicts() {
+            return conflicts;
+        }
+
+        public <T> List<T> apply(List<T> students) {
+            List<T> arranged = new ArrayList<>(order.length);
+            for (int index : order) {
+                arranged.add(students.get(index));
+            }
+            return arranged;
+        }
+    }
+
+    /**
+     * Assign {@code students} to the seats at ({@code seatRows[i]},
+     * {@code seatColumns[i]}). Both arrays must have one entry per student.
+     * The placement has no conflicts whenever some groups exactly fill one
+     * colour class; otherwise its conflict count is best effort.
+     */
+    public <T> Placement solve(int[] seatRows, int[] seatColumns, List<T> students,
+                               Function<? super T, ?> groupKey) {
+        int n = students.size();
+        if (seatRows.length != n || seatColumns.length != n) {
+            throw new IllegalArgumentException("Need exactly one seat per student: "
+                    + seatRows.length + " seats for " + n + " students");
+        }
+        if (n == 0) {
+            return new Placement(new int[0], 0);
+        }
+
+        int[][] neighbours = buildNeighbours(seatRows, seatColumns);
+        int[] studentGroup = new int[n];
+        int groupCount = assignGroupIds(students, groupKey, studentGroup);
+
+        int[] groupsBySize = groupsBySize(studentGroup, groupCount);
+        int[][] members = membersByGroup(studentGroup, groupCount);
+
+        int[] exact = splitLayout(seatRows, seatColumns, members);
+        if (exact != null) {
+            return new Placement(exact, 0);
+        }
+
+        // Try the larger colour class first, then the smaller, then the
+        // larger again with the non-dominant groups reversed so a different
+        // group straddles the two classes; keep the best layout
+        int[] best = null;
+        int bestConflicts = Integer.MAX_VALUE;
+        for (int variant = 0; variant < LAYOUT_VARIANTS && bestConflicts > 0; variant++) {
+            int[] seatOrder = colourClassOrder(seatRows, seatColumns, variant != 1);
+            int[] groupOrder = variant == 2 ? reverseTail(groupsBySize) : groupsBySize;
+            int[] seatStudent = new int[n];
+            int[] seatGroup = new int[n];
+
+            // Lay groups out contiguously, keeping students' relative order
+            int cursor = 0;
+            for (int group : groupOrder) {
+                for (int student : members[group]) {
+                    int seat = seatOrder[cursor++];
+                    seatStudent[seat] = student;
+                    seatGroup[seat] = group;
+                }
+            }
+
+            int conflicts = countConflicts(neighbours, seatGroup);
+            for (int pass = 0; pass < REPAIR_PASSES && conflicts > 0; pass++) {
+                repair(neighbours, seatStudent, seatGroup);
+                int remaining = countConflicts(neighbours, seatGroup);
+                if (remaining >= conflicts) {
+                    break;
+                }
+                conflicts = remaining;
+            }
+
+            if (conflicts < bestConflicts) {
+                best = seatStudent;
+                bestConflicts = conflicts;
+            }
+        }
+
+        return new Placement(best, bestConflicts);
+    }
+
+    /**
+     * Count adjacent same-group pairs in an existing layout
+     */
+    public static <T> int countConflicts(int[] seatRows, int[] seatColumns, List<T> seated,
+                                         Function<? super T, ?> groupKey) {
+        int[] group = new int[seated.size()];
+        assignGroupIds(seated, groupKey, group);
+        return countConflicts(buildNeighbours(seatRows, seatColumns), group);
+    }
+
+    /**
+     * Seat each group on one colour class, or null if the group sizes do
+     * not split exactly into the two classes
+     */
+    private static int[] splitLayout(int[] seatRows, int[] seatColumns, int[][] members) {
+        int n = seatRows.length;
+        if ((long) members.length * (n + 1) > MAX_SPLIT_CELLS) {
+            return null;
+        }
+        int[] evenSeats = new int[n];
+        int[] oddSeats = new int[n];
+        int evenCount = 0;
+        int oddCount = 0;
+        for (int i = 0; i < n; i++) {
+            if (((seatRows[i] + seatColumns[i]) & 1) == 0) {
+                evenSeats[evenCount++] = i;
+            } else {
+                oddSeats[oddCount++] = i;
+            }
+        }
+
+        int[] sizes = new int[members.length];
+        for (int group = 0; group < members.length; group++) {
+            sizes[group] = members[group].length;
+        }
+        boolean[] onEven = splitByColour(sizes, evenCount, oddCount);
+        if (onEven == null) {
+            return null;
+        }
+
+        int[] seatStudent = new int[n];
+        int nextEven = 0;
+        int nextOdd = 0;
+        for (int group = 0; group < members.length; group++) {
+            for (int student : members[group]) {
+                int seat = onEven[group] ? evenSeats[nextEven++] : oddSeats[nextOdd++];
+                seatStudent[seat] = student;
+            }
+        }
+        return seatStudent;
+    }
+
+    /**
+     * Which groups go on the even colour so that each group keeps to one
+     * colour, or null if no such split fits. Of the splits that fit, the
+     * one filling both colours most evenly is chosen. {@code quota[g]} is
+     * the number of students in group g.
+     */
+    static boolean[] splitByColour(int[] quota, int evenSeats, int oddSeats) {
+        int total = 0;
+        for (int q : quota) {
+            total += q;
+        }
+        int low = Math.max(0, total - oddSeats);
+        int high = Math.min(total, evenSeats);
+        if (low > high) {
+            return null;
+        }
+
+        // reach[e][s]: some subset of the first e groups sums to s
+        boolean[][] reach = new boolean[quota.length + 1][total + 1];
+        reach[0][0] = true;
+        for (int e = 0; e < quota.length; e++) {
+            for (int s = 0; s <= total; s++) {
+                if (reach[e][s]) {
+                    reach[e + 1][s] = true;
+                    reach[e + 1][s + quota[e]] = true;
+                }
+            }
+        }
+
+        double target = evenSeats + oddSeats == 0 ? 0 : (double) total * evenSeats / (evenSeats + oddSeats);
+        int best = -1;
+        for (int s = low; s <= high; s++) {
+            if (reach[quota.length][s] && (best < 0 || Math.abs(s - target) < Math.abs(best - target))) {
+                best = s;
+            }
+        }
+        if (best < 0) {
+            return null;
+        }
+
+        boolean[] onEven = new boolean[quota.length];
+        for (int e = quota.length - 1, s = best; e >= 0; e--) {
+            if (!reach[e][s]) {
+                onEven[e] = true;
+                s -= quota[e];
+            }
+        }
+        return onEven;
+    }
+
+    private void repair(int[][] neighbours, int[] seatStudent, int[] seatGroup) {
+        int n = seatStudent.length;
+        int probe = 0;
+
+        for (int seat = 0; seat < n; seat++) {
+            if (conflictsAt(neighbours, seatGroup, seat, seatGroup[seat]) == 0) {
+                continue;
+            }
+            for (int attempt = 0; attempt < REPAIR_PROBES && attempt < n; attempt++) {
+                probe = (probe + 1) % n;
+                int other = probe;
+                if (other == seat || seatGroup[other] == seatGroup[seat]) {
+                    continue;
+                }
+                int before = conflictsAt(neighbours, seatGroup, seat, seatGroup[seat])
+                        + conflictsAt(neighbours, seatGroup, other, seatGroup[other]);
+                swap(seatStudent, seatGroup, seat, other);
+                int after = conflictsAt(neighbours, seatGroup, seat, seatGroup[seat])
+                        + conflictsAt(neighbours, seatGroup, other, seatGroup[other]);
+                if (after < before) {
+                    if (conflictsAt(neighbours, seatGroup, seat, seatGroup[seat]) == 0) {
+                        break;
+                    }
+                } else {
+                    swap(seatStudent, seatGroup, seat, other);
+                }
+            }
+        }
+    }
+
+    private static void swap(int[] seatStudent, int[] seatGroup, int a, int b) {
+        int student = seatStudent[a];
+        seatStudent[a] = seatStudent[b];
+        seatStudent[b] = student;
+        int group = seatGroup[a];
+        seatGroup[a] = seatGroup[b];
+        seatGroup[b] = group;
+    }
+
+    private static int conflictsAt(int[][] neighbours, int[] seatGroup, int seat, int group) {
+        int conflicts = 0;
+        for (int neighbour : neighbours[seat]) {
+            if (seatGroup[neighbour] == group) {
+                conflicts++;
+            }
+        }
+        return conflicts;
+    }
+
+    private static int countConflicts(int[][] neighbours, int[] seatGroup) {
+        int conflicts = 0;
+        for (int seat = 0; seat < neighbours.length; seat++) {
+            for (int neighbour : neighbours[seat]) {
+                if (neighbour > seat && seatGroup[neighbour] == seatGroup[seat]) {
+                    conflicts++;
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * Orthogonal neighbours of each seat among the given seats
+     */
+    private static int[][] buildNeighbours(int[] seatRows, int[] seatColumns) {
+        int n = seatRows.length;
+        int maxRow = 0;
+        int maxColumn = 0;
+        for (int i = 0; i < n; i++) {
+            maxRow = Math.max(maxRow, seatRows[i]);
+            maxColumn = Math.max(maxColumn, seatColumns[i]);
+        }
+
+        int width = maxColumn + 2;
+        int[] grid = new int[(maxRow + 2) * width];
+        Arrays.fill(grid, -1);
+        for (int i = 0; i < n; i++) {
+            grid[seatRows[i] * width + seatColumns[i]] = i;
+        }
+
+        int[][] neighbours = new int[n][];
+        int[] buffer = new int[4];
+        for (int i = 0; i < n; i++) {
+            int cell = seatRows[i] * width + seatColumns[i];
+            int count = 0;
+            for (int adjacent : new int[]{cell - 1, cell + 1, cell - width, cell + width}) {
+                if (adjacent >= 0 && adjacent < grid.length && grid[adjacent] >= 0) {
+                    buffer[count++] = grid[adjacent];
+                }
+            }
+            neighbours[i] = Arrays.copyOf(buffer, count);
+        }
+        return neighbours;
+    }
+
+    /**
+     * Seat indexes of one colour class followed by the other, each in the
+     * given (row-major) order
+     */
+    private static int[] colourClassOrder(int[] seatRows, int[] seatColumns, boolean largerFirst) {
+        int n = seatRows.length;
+        int even = 0;
+        for (int i = 0; i < n; i++) {
+            if (((seatRows[i] + seatColumns[i]) & 1) == 0) {
+                even++;
+            }
+        }
+        int firstParity = (even >= n - even) == largerFirst ? 0 : 1;
+
+        int[] order = new int[n];
+        int cursor = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            int parity = pass == 0 ? firstParity : 1 - firstParity;
+            for (int i = 0; i < n; i++) {
+                if (((seatRows[i] + seatColumns[i]) & 1) == parity) {
+                    order[cursor++] = i;
+                }
+            }
+        }
+        return order;
+    }
+
+    private static <T> int assignGroupIds(List<T> students, Function<? super T, ?> groupKey, int[] out) {
+        Map<Object, Integer> ids = new HashMap<>();
+        for (int i = 0; i < students.size(); i++) {
+            Object key = groupKey.apply(students.get(i));
+            Integer id = ids.get(key);
+            if (id == null) {
+                id = ids.size();
+                ids.put(key, id);
+            }
+            out[i] = id;
+        }
+        return ids.size();
+    }
+
+    /**
+     * Group ids ordered by size descending, ties by first appearance
+     */
+    private static int[] groupsBySize(int[] studentGroup, int groupCount) {
+        int[] sizes = new int[groupCount];
+        for (int group : studentGroup) {
+            sizes[group]++;
+        }
+        Integer[] order = new Integer[groupCount];
+        for (int i = 0; i < groupCount; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> sizes[a] != sizes[b] ? Integer.compare(sizes[b], sizes[a]) : Integer.compare(a, b));
+
+        int[] result = new int[groupCount];
+        for (int i = 0; i < groupCount; i++) {
+            result[i] = order[i];
+        }
+        return result;
+    }
+
+    private static int[] reverseTail(int[] groups) {
+        int[] result = groups.clone();
+        for (int i = 1, j = result.length - 1; i < j; i++, j--) {
+            int group = result[i];
+            result[i] = result[j];
+            result[j] = group;
+        }
+        return result;
+    }
+
+    private static int[][] membersByGroup(int[] studentGroup, int groupCount) {
+        int[] sizes = new int[groupCount];
+        for (int group : studentGroup) {
+            sizes[group]++;
+        }
+        int[][] members = new int[groupCount][];
+        for (int group = 0; group < groupCount; group++) {
+            members[group] = new int[sizes[group]];
+        }
+        int[] fill = new int[groupCount];
+        for (int student = 0; student < studentGroup.length; student++) {
+            int group = studentGroup[student];
+            members[group][fill[group]++] = student;
+        }
+        return members;
+    }
+}
\ No newline at end of file
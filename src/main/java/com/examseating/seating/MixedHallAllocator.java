@@ -0,0 +1,279 @@
+package com.examseating.seating;
+
+import com.examseating.model.Exam;
+import com.examseating.model.ExamHall;
+import com.examseating.model.SeatingArrangement;
+import com.examseating.model.Student;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Seats all the exams that share a hall in one sitting on a single physical
+ * grid, so no seat is handed to two exams and students of the same exam are
+ * kept apart by students sitting a different paper.
+ * <p>
+ * The hall is a checkerboard: seats with even (row + column) only touch
+ * seats with odd (row + column). When the exams can be split between the
+ * two colours - a subset of them fits the free even seats and the rest the
+ * odd ones - each exam keeps to one colour and no two students of the same
+ * exam sit side by side or directly behind each other. When the hall is too
+ * full for that, the seats are taken in row order and
+ * {@link InterleavingSolver} separates the exams as far as it can; what is
+ * left is reported as adjacency conflicts.
+ * <p>
+ * With two or more exams every free seat may be used, as the checkerboard
+ * does the job of the spacing setting. A hall with a single exam is laid out
+ * exactly as {@link SeatingGenerator} would, spacing and alternate seating
+ * included. Seats held by other exams in the same sitting are never reused,
+ * and seating.max.students.per.hall caps the hall as a whole.
+ */
+public class MixedHallAllocator {
+    private static final Logger logger = LoggerFactory.getLogger(MixedHallAllocator.class);
+
+    private final SeatingGenerator generator;
+    private final InterleavingSolver solver = new InterleavingSolver();
+
+    public MixedHallAllocator() {
+        this(new SeatingGenerator());
+    }
+
+    public MixedHallAllocator(SeatingConfig config) {
+        this(new SeatingGenerator(config));
+    }
+
+    public MixedHallAllocator(SeatingGenerator generator) {
+        this.generator = generator;
+    }
+
+    /**
+     * Seat the students of {@code exams}, which run in {@code hall} at the
+     * same time. Exams that are given no students get no seats.
+     *
+     * @param studentsByExam students to seat, by exam id
+     * @param taken          seating rows already in this hall for other
+     *                       exams of the same sitting; their seats stay
+     *                       theirs. Rows of the exams being seated are
+     *                       ignored, as those are being replaced.
+     */
+    public MixedHallPlan allocate(ExamHall hall, List<Exam> exams, Map<Integer, List<Student>> studentsByExam,
+                                  Collection<SeatingArrangement> taken) {
+        long start = System.nanoTime();
+        if (!hall.isActive()) {
+            throw new IllegalArgumentException("Hall is not active: " + hall.getHallName());
+        }
+
+        Set<Integer> examIds = new HashSet<>();
+        for (Exam exam : exams) {
+            if (!examIds.add(exam.getId())) {
+                throw new IllegalArgumentException("Exam listed twice: " + exam.getId());
+            }
+        }
+
+        // Physical seats, whichever exam holds them
+        HallOccupancy grid = new HallOccupancy(0, hall);
+        for (SeatingArrangement arrangement : taken) {
+            int seatNumber = arrangement.getSeatNumber();
+            if (arrangement.getHallId() == hall.getId() && !examIds.contains(arrangement.getExamId())
+                    && seatNumber >= 1 && seatNumber <= grid.getCapacity()) {
+                grid.occupy(seatNumber);
+            }
+        }
+
+        // Each exam's students in seating order; a student has one seat
+        List<List<Student>> queues = new ArrayList<>(exams.size());
+        Map<Integer, List<Student>> unseated = new LinkedHashMap<>();
+        Set<Integer> seen = new HashSet<>();
+        int[] demand = new int[exams.size()];
+        int seatedExams = 0;
+        for (int e = 0; e < exams.size(); e++) {
+            Exam exam = exams.get(e);
+            List<Student> queue = new ArrayList<>();
+            List<Student> clashing = new ArrayList<>();
+            for (Student student : generator.orderStudents(exam,
+                    studentsByExam.getOrDefault(exam.getId(), Collections.emptyList()))) {
+                (seen.add(student.getId()) ? queue : clashing).add(student);
+            }
+            if (!clashing.isEmpty()) {
+                logger.warn("Hall {}: {} students of exam {} also sit another exam in this sitting",
+                        hall.getHallName(), clashing.size(), exam.getId());
+            }
+            queues.add(queue);
+            unseated.put(exam.getId(), clashing);
+            demand[e] = queue.size();
+            if (!queue.isEmpty()) {
+                seatedExams++;
+            }
+        }
+
+        boolean mixed = seatedExams > 1;
+        int[] evenSeats = new int[grid.getFreeCount()];
+        int[] oddSeats = new int[grid.getFreeCount()];
+        int[] rowOrder = new int[grid.getFreeCount()];
+        int evenCount = 0;
+        int oddCount = 0;
+        int free = 0;
+        for (int row = 1; row <= hall.getRows(); row++) {
+            for (int column = 1; column <= hall.getColumns(); column++) {
+                int seatNumber = hall.calculateSeatNumber(row, column);
+                if (seatNumber > grid.getCapacity()) {
+                    break;
+                }
+                if (grid.isOccupied(seatNumber) || (!mixed && !generator.isUsableSeat(row, column))) {
+                    continue;
+                }
+                if (((row + column) & 1) == 0) {
+                    evenSeats[evenCount++] = seatNumber;
+                } else {
+                    oddSeats[oddCount++] = seatNumber;
+                }
+                rowOrder[free++] = seatNumber;
+            }
+        }
+
+        int maxPerHall = generator.getConfig().getMaxStudentsPerHall();
+        int limit = maxPerHall > 0 ? Math.max(0, maxPerHall - grid.getOccupiedCount()) : free;
+        int[] quota = shareSeats(demand, Math.min(free, limit));
+        int toSeat = 0;
+        for (int e = 0; e < exams.size(); e++) {
+            List<Student> queue = queues.get(e);
+            unseated.get(exams.get(e).getId()).addAll(queue.subList(quota[e], queue.size()));
+            queues.set(e, queue.subList(0, quota[e]));
+            toSeat += quota[e];
+        }
+
+        Map<Integer, List<SeatingArrangement>> arrangements = new LinkedHashMap<>();
+        for (int e = 0; e < exams.size(); e++) {
+            arrangements.put(exams.get(e).getId(), new ArrayList<>(quota[e]));
+        }
+
+        if (!mixed) {
+            for (int e = 0; e < exams.size(); e++) {
+                if (quota[e] > 0) {
+                    Exam exam = exams.get(e);
+                    List<Student> queue = queues.get(e);
+                    SeatingGenerator.HallLayout layout = generator.layoutHall(exam, hall, grid,
+                            grid.getOccupiedCount() + quota[e], queue, arrangements.get(exam.getId()));
+                    unseated.get(exam.getId()).addAll(queue.subList(layout.seated, queue.size()));
+                }
+            }
+        } else {
+            boolean[] onEven = InterleavingSolver.splitByColour(quota, evenCount, oddCount);
+            if (onEven != null) {
+                int nextEven = 0;
+                int nextOdd = 0;
+                for (int e = 0; e < exams.size(); e++) {
+                    for (Student student : queues.get(e)) {
+                        int seatNumber = onEven[e] ? evenSeats[nextEven++] : oddSeats[nextOdd++];
+                        seat(exams.get(e), hall, grid, student, seatNumber, arrangements);
+                    }
+                }
+            } else {
+                interleave(exams, hall, grid, queues, Arrays.copyOf(rowOrder, toSeat), arrangements);
+            }
+            grid.applyTo(hall);
+        }
+
+        int conflicts = countConflicts(hall, arrangements);
+        MixedHallPlan plan = new MixedHallPlan(hall.getId(), arrangements, unseated, grid, conflicts,
+                System.nanoTime() - start);
+        if (!plan.isComplete()) {
+            logger.warn("Hall {}: {} students could not be seated", hall.getHallName(), plan.getUnseatedCount());
+        }
+        logger.info("Generated mixed seating for hall {}: {}", hall.getId(), plan);
+        return plan;
+    }
+
+    /**
+     * Seat the exams on {@code seats} in row order, with the solver keeping
+     * students of the same exam apart
+     */
+    private void interleave(List<Exam> exams, ExamHall hall, HallOccupancy grid, List<List<Student>> queues,
+                            int[] seats, Map<Integer, List<SeatingArrangement>> arrangements) {
+        List<int[]> entries = new ArrayList<>(seats.length);
+        for (int e = 0; e < exams.size(); e++) {
+            for (int i = 0; i < queues.get(e).size(); i++) {
+                entries.add(new int[] {e, i});
+            }
+        }
+        int[] rows = new int[seats.length];
+        int[] columns = new int[seats.length];
+        for (int i = 0; i < seats.length; i++) {
+            rows[i] = (seats[i] - 1) / hall.getColumns() + 1;
+            columns[i] = (seats[i] - 1) % hall.getColumns() + 1;
+        }
+
+        List<int[]> placed = solver.solve(rows, columns, entries, entry -> entry[0]).apply(entries);
+        for (int i = 0; i < seats.length; i++) {
+            int[] entry = placed.get(i);
+            seat(exams.get(entry[0]), hall, grid, queues.get(entry[0]).get(entry[1]), seats[i], arrangements);
+        }
+    }
+
+    private void seat(Exam exam, ExamHall hall, HallOccupancy grid, Student student, int seatNumber,
+                      Map<Integer, List<SeatingArrangement>> arrangements) {
+        grid.occupy(seatNumber);
+        int row = (seatNumber - 1) / hall.getColumns() + 1;
+        int column = (seatNumber - 1) % hall.getColumns() + 1;
+        arrangements.get(exam.getId()).add(generator.createArrangement(exam, hall, student, seatNumber, row, column));
+    }
+
+    private static int countConflicts(ExamHall hall, Map<Integer, List<SeatingArrangement>> arrangements) {
+        List<SeatingArrangement> all = new ArrayList<>();
+        for (List<SeatingArrangement> examArrangements : arrangements.values()) {
+            all.addAll(examArrangements);
+        }
+        int[] rows = new int[all.size()];
+        int[] columns = new int[all.size()];
+        for (int i = 0; i < all.size(); i++) {
+            rows[i] = all.get(i).getSeatRow();
+            columns[i] = all.get(i).getSeatColumn();
+        }
+        return InterleavingSolver.countConflicts(rows, columns, all, SeatingArrangement::getExamId);
+    }
+
+    /**
+     * Seats per exam when {@code seats} cannot hold every student: shares
+     * proportional to demand, rounded by largest remainder (earlier exams
+     * first on ties)
+     */
+    static int[] shareSeats(int[] demand, int seats) {
+        long total = 0;
+        for (int d : demand) {
+            total += d;
+        }
+        if (total <= seats) {
+            return demand.clone();
+        }
+
+        int[] quota = new int[demand.length];
+        long[] remainder = new long[demand.length];
+        int given = 0;
+        for (int e = 0; e < demand.length; e++) {
+            long share = (long) demand[e] * seats;
+            quota[e] = (int) (share / total);
+            remainder[e] = share % total;
+            given += quota[e];
+        }
+        while (given < seats) {
+            int next = -1;
+            for (int e = 0; e < demand.length; e++) {
+                if (quota[e] < demand[e] && (next < 0 || remainder[e] > remainder[next])) {
+                    next = e;
+                }
+            }
+            quota[next]++;
+            remainder[next] = -1;
+            given++;
+        }
+        return quota;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.examseating.seating;
+
+import com.examseating.model.SeatingArrangement;
+import com.examseating.model.Student;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of seating several concurrent exams in one hall
+ */
+public class MixedHallPlan {
+    private final int hallId;
+    private final Map<Integer, List<SeatingArrangement>> arrangementsByExam;
+    private final Map<Integer, List<Student>> unseatedByExam;
+    private final HallOccupancy occupancy;
+    private final int adjacencyConflicts;
+    private final long elapsedNanos;
+
+    public MixedHallPlan(int hallId, Map<Integer, List<SeatingArrangement>> arrangementsByExam,
+                         Map<Integer, List<Student>> unseatedByExam, HallOccupancy occupancy,
+                         int adjacencyConflicts, long elapsedNanos) {
+        this.hallId = hallId;
+        this.arrangementsByExam = Collections.unmodifiableMap(arrangementsByExam);
+        this.unseatedByExam = Collections.unmodifiableMap(unseatedByExam);
+        this.occupancy = occupancy;
+        this.adjacencyConflicts = adjacencyConflicts;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getHallId() {
+        return hallId;
+    }
+
+    /**
+     * Seating rows per exam id, in exam order
+     */
+    public Map<Integer, List<SeatingArrangement>> getArrangementsByExam() {
+        return arrangementsByExam;
+    }
+
+    public List<SeatingArrangement> getArrangements(int examId) {
+        return arrangementsByExam.getOrDefault(examId, Collections.emptyList());
+    }
+
+    public List<SeatingArrangement> getArrangements() {
+        List<SeatingArrangement> all = new ArrayList<>(getSeatedCount());
+        for (List<SeatingArrangement> arrangements : arrangementsByExam.values()) {
+            all.addAll(arrangements);
+        }
+        return all;
+    }
+
+    /**
+     * Students left without a seat per exam id
+     */
+    public Map<Integer, List<Student>> getUnseatedByExam() {
+        return unseatedByExam;
+    }
+
+    public List<Student> getUnseatedStudents(int examId) {
+        return unseatedByExam.getOrDefault(examId, Collections.emptyList());
+    }
+
+    /**
+     * Physical seats taken in the hall for the sitting, whichever exam holds
+     * them, including seats held by other exams before allocation
+     */
+    public HallOccupancy getOccupancy() {
+        return occupancy;
+    }
+
+    public int getSeatedCount() {
+        int seated = 0;
+        for (List<SeatingArrangement> arrangements : arrangementsByExam.values()) {
+            seated += arrangements.size();
+        }
+        return seated;
+    }
+
+    public int getUnseatedCount() {
+        int unseated = 0;
+        for (List<Student> students : unseatedByExam.values()) {
+            unseated += students.size();
+        }
+        return unseated;
+    }
+
+    /**
+     * Adjacent seat pairs holding students of the same exam
+     */
+    public int getAdjacencyConflicts() {
+        return adjacencyConflicts;
+    }
+
+    public boolean isComplete() {
+        return getUnseatedCount() == 0;
+    }
+
+    public double getElapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return "MixedHallPlan{" +
+                "hallId=" + hallId +
+                ", exams=" + arrangementsByExam.size() +
+                ", seated=" + getSeatedCount() +
+                ", unseated=" + getUnseatedCount() +
+                ", conflicts=" + adjacencyConflicts +
+                ", elapsedMs=" + String.format("%.3f", getElapsedMillis()) +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,299 @@
+package com.examseating.seating;
+
+import com.examseating.model.ExamHall;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Seats taken per (exam, hall), kept in memory so occupancy reads never run
+ * the GROUP BY behind hall_occupancy_view. A read is a single hash get and
+ * never blocks.
+ * <p>
+ * The registry is seeded once from the database and then kept current by
+ * the seating writes in SeatingArrangementDAO after they commit: a
+ * published plan replaces its exam's counts, inserts and moves adjust the
+ * halls they touch, and a deleted plan drops its exam. Writes are
+ * serialized, so each count moves from one committed state to the next.
+ * Like {@link SeatLookupIndex} it is process-local and only sees writes
+ * made through this instance, so a periodic reconciliation compares it with
+ * the database and repairs any drift. Exams with a write in progress
+ * ({@link #beginWrite} to {@link #endWrite}), or written while the
+ * database was being read, are skipped by that pass and checked on the
+ * next one.
+ */
+public class OccupancyRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(OccupancyRegistry.class);
+
+    private static final OccupancyRegistry INSTANCE = new OccupancyRegistry();
+
+    // Read without locking; written only under this. Keyed by (exam id << 32 | hall id)
+    private final Map<Long, Integer> byExamHall = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> byExam = new ConcurrentHashMap<>();
+
+    // Guarded by this
+    private final Map<Integer, Set<Integer>> hallsByExam = new HashMap<>();
+    private final Map<Integer, Long> lastWrite = new HashMap<>();
+    private final Map<Integer, Integer> openWrites = new HashMap<>();
+    private long generation;
+    private ScheduledExecutorService reconciler;
+
+    private volatile boolean loaded;
+
+    public static OccupancyRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Seats taken by an exam in a hall
+     */
+    public int getOccupied(int examId, int hallId) {
+        return byExamHall.getOrDefault(key(examId, hallId), 0);
+    }
+
+    /**
+     * Seats taken by an exam across all its halls
+     */
+    public int getOccupied(int examId) {
+        return byExam.getOrDefault(examId, 0);
+    }
+
+    /**
+     * Copy an exam's occupancy of a hall onto the hall model, so that
+     * {@link ExamHall#getOccupancyPercentage()} and
+     * {@link ExamHall#getOccupancyStatus()} describe that exam
+     */
+    public ExamHall applyTo(int examId, ExamHall hall) {
+        hall.setOccupiedSeats(getOccupied(examId, hall.getId()));
+        return hall;
+    }
+
+    /**
+     * Halls an exam has seats in, by hall id
+     */
+    public synchronized Map<Integer, Integer> getByHall(int examId) {
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (int hallId : hallsByExam.getOrDefault(examId, new HashSet<>())) {
+            counts.put(hallId, getOccupied(examId, hallId));
+        }
+        return counts;
+    }
+
+    /**
+     * Replace every count with a fresh load: seats taken per hall id, per
+     * exam id
+     */
+    public synchronized void replaceAll(Map<Integer, Map<Integer, Integer>> counts) {
+        byExamHall.clear();
+        byExam.clear();
+        hallsByExam.clear();
+        for (Map.Entry<Integer, Map<Integer, Integer>> exam : counts.entrySet()) {
+            put(exam.getKey(), exam.getValue());
+        }
+        loaded = true;
+        logger.info("Occupancy registry loaded: {} exams, {} exam halls", byExam.size(), byExamHall.size());
+    }
+
+    /**
+     * Replace one exam's counts after its whole plan was rewritten
+     */
+    public synchronized void replaceExam(int examId, Map<Integer, Integer> byHall) {
+        remove(examId);
+        put(examId, byHall);
+        touch(examId);
+    }
+
+    /**
+     * Add {@code delta} seats per hall id to an exam, negative for seats
+     * freed
+     */
+    public synchronized void adjust(int examId, Map<Integer, Integer> deltaByHall) {
+        for (Map.Entry<Integer, Integer> delta : deltaByHall.entrySet()) {
+            if (delta.getValue() != 0) {
+                set(examId, delta.getKey(), getOccupied(examId, delta.getKey()) + delta.getValue());
+            }
+        }
+        touch(examId);
+    }
+
+    /**
+     * Drop an exam after its seating was deleted
+     */
+    public synchronized void removeExam(int examId) {
+        remove(examId);
+        touch(examId);
+    }
+
+    /**
+     * Mark an exam's seating as being written, before its transaction
+     * commits, so {@link #reconcile} cannot read the committed rows and then
+     * have the registry update applied on top of them. Every call must be
+     * matched by {@link #endWrite}, whether or not the write committed.
+     */
+    public synchronized void beginWrite(int examId) {
+        openWrites.merge(examId, 1, Integer::sum);
+    }
+
+    /**
+     * End a write started by {@link #beginWrite}, after the registry was
+     * updated (or the transaction rolled back)
+     */
+    public synchronized void endWrite(int examId) {
+        openWrites.computeIfPresent(examId, (k, open) -> open > 1 ? open - 1 : null);
+        touch(examId);
+    }
+
+    /**
+     * Write counter for {@link #reconcile}: take it before reading the
+     * database
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Compare with counts freshly read from the database and correct any
+     * that differ. Exams with a write in progress or written since
+     * {@code since} (from {@link #getGeneration()}) are left alone, as the
+     * read may not match what the registry holds for them.
+     *
+     * @return number of (exam, hall) counts corrected
+     */
+    public synchronized int reconcile(Map<Integer, Map<Integer, Integer>> actual, long since) {
+        Set<Integer> examIds = new HashSet<>(hallsByExam.keySet());
+        examIds.addAll(actual.keySet());
+
+        int corrected = 0;
+        for (int examId : examIds) {
+            if (openWrites.containsKey(examId) || lastWrite.getOrDefault(examId, -1L) > since) {
+                continue;
+            }
+            Map<Integer, Integer> expected = actual.getOrDefault(examId, new HashMap<>());
+            Set<Integer> hallIds = new HashSet<>(expected.keySet());
+            hallIds.addAll(hallsByExam.getOrDefault(examId, new HashSet<>()));
+            for (int hallId : hallIds) {
+                int count = expected.getOrDefault(hallId, 0);
+                int held = getOccupied(examId, hallId);
+                if (held != count) {
+                    logger.warn("Occupancy drift for exam {} hall {}: registry {}, database {}",
+                            examId, hallId, held, count);
+                    set(examId, hallId, count);
+                    corrected++;
+                }
+            }
+        }
+        // Writes up to since are now confirmed by the database
+        lastWrite.values().removeIf(written -> written <= since);
+        loaded = true;
+        return corrected;
+    }
+
+    /**
+     * Reconcile every {@code intervalSeconds} with counts from
+     * {@code loader}, which returns null when the database cannot be read
+     */
+    public synchronized void startReconciliation(Supplier<Map<Integer, Map<Integer, Integer>>> loader,
+                                                 long intervalSeconds) {
+        if (reconciler != null || intervalSeconds <= 0) {
+            return;
+        }
+        reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "occupancy-reconcile");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reconciler.scheduleWithFixedDelay(() -> {
+            try {
+                long since = getGeneration();
+                Map<Integer, Map<Integer, Integer>> actual = loader.get();
+                if (actual == null) {
+                    logger.warn("Skipping occupancy reconciliation, counts could not be read");
+                    return;
+                }
+                int corrected = reconcile(actual, since);
+                if (corrected > 0) {
+                    logger.warn("Occupancy reconciliation corrected {} counts", corrected);
+                }
+            } catch (RuntimeException e) {
+                logger.error("Occupancy reconciliation failed", e);
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        logger.info("Occupancy reconciliation every {}s", intervalSeconds);
+    }
+
+    public synchronized void stopReconciliation() {
+        if (reconciler != null) {
+            reconciler.shutdownNow();
+            reconciler = null;
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int getExamCount() {
+        return byExam.size();
+    }
+
+    private void put(int examId, Map<Integer, Integer> byHall) {
+        for (Map.Entry<Integer, Integer> hall : byHall.entrySet()) {
+            set(examId, hall.getKey(), hall.getValue());
+        }
+    }
+
+    private void remove(int examId) {
+        Set<Integer> hallIds = hallsByExam.remove(examId);
+        if (hallIds != null) {
+            for (int hallId : hallIds) {
+                byExamHall.remove(key(examId, hallId));
+            }
+        }
+        byExam.remove(examId);
+    }
+
+    private void set(int examId, int hallId, int count) {
+        count = Math.max(0, count);
+        Integer previous = count > 0 ? byExamHall.put(key(examId, hallId), count)
+                                     : byExamHall.remove(key(examId, hallId));
+        int total = getOccupied(examId) + count - (previous != null ? previous : 0);
+
+        Set<Integer> hallIds = hallsByExam.computeIfAbsent(examId, k -> new HashSet<>());
+        if (count > 0) {
+            hallIds.add(hallId);
+        } else {
+            hallIds.remove(hallId);
+        }
+        if (hallIds.isEmpty()) {
+            hallsByExam.remove(examId);
+            byExam.remove(examId);
+        } else {
+            byExam.put(examId, total);
+        }
+    }
+
+    private void touch(int examId) {
+        lastWrite.put(examId, ++generation);
+    }
+
+    private static long key(int examId, int hallId) {
+        return ((long) examId << 32) | (hallId & 0xFFFFFFFFL);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "OccupancyRegistry{" +
+                "exams=" + byExam.size() +
+                ", examHalls=" + byExamHall.size() +
+                ", generation=" + generation +
+                '}';
+    }
+}
\ No newline at end of file
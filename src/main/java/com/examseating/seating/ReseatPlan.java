@@ -0,0 +1,76 @@
+package com.examseating.seating;
+
+import com.examseating.model.SeatingArrangement;
+import com.examseating.model.Student;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Delta produced by an incremental reseat: existing rows that moved to a
+ * new hall/seat, new rows for newly seated students, and students that
+ * could not be placed
+ */
+public class ReseatPlan {
+    private final int examId;
+    private final List<SeatingArrangement> moved;
+    private final List<SeatingArrangement> added;
+    private final List<Student> unplaced;
+    private final int adjacencyConflicts;
+
+    public ReseatPlan(int examId, List<SeatingArrangement> moved, List<SeatingArrangement> added,
+                      List<Student> unplaced, int adjacencyConflicts) {
+        this.examId = examId;
+        this.moved = Collections.unmodifiableList(moved);
+        this.added = Collections.unmodifiableList(added);
+        this.unplaced = Collections.unmodifiableList(unplaced);
+        this.adjacencyConflicts = adjacencyConflicts;
+    }
+
+    public int getExamId() {
+        return examId;
+    }
+
+    /**
+     * Existing rows (with their ids) updated to their new hall and seat
+     */
+    public List<SeatingArrangement> getMoved() {
+        return moved;
+    }
+
+    /**
+     * New rows to insert
+     */
+    public List<SeatingArrangement> getAdded() {
+        return added;
+    }
+
+    public List<Student> getUnplaced() {
+        return unplaced;
+    }
+
+    /**
+     * Placements that had to sit next to a student of the same group
+     */
+    public int getAdjacencyConflicts() {
+        return adjacencyConflicts;
+    }
+
+    public int getDeltaSize() {
+        return moved.size() + added.size();
+    }
+
+    public boolean isComplete() {
+        return unplaced.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "ReseatPlan{" +
+                "examId=" + examId +
+                ", moved=" + moved.size() +
+                ", added=" + added.size() +
+                ", unplaced=" + unplaced.size() +
+                ", conflicts=" + adjacencyConflicts +
+                '}';
+    }
+}
\ No newline at end of file
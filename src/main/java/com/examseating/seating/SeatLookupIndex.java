@@ -0,0 +1,223 @@
+package com.examseating.seating;
+
+import com.examseating.model.SeatLocation;
+import com.examseating.util.ValidationUtil;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-memory index answering "where do I sit" by student id or roll number
+ * without touching the database. Each student maps to an immutable list of
+ * their seats, one per exam in exam order, so a lookup is a single hash get
+ * and never blocks.
+ * <p>
+ * The index is filled with every upcoming seat at startup and kept current
+ * by the seating writes in SeatingArrangementDAO: a published plan replaces
+ * its exam, a reseat or an insert only updates the rows it wrote, and a
+ * deleted plan drops its exam. Like {@link SeatStatusFeed} it is
+ * process-local, so it only sees plans written through this instance.
+ */
+public class SeatLookupIndex {
+    private static final Logger logger = LoggerFactory.getLogger(SeatLookupIndex.class);
+
+    private static final SeatLookupIndex INSTANCE = new SeatLookupIndex();
+
+    private static final Comparator<SeatLocation> EXAM_ORDER = Comparator
+            .comparing(SeatLocation::getExamDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(SeatLocation::getStartTime, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparingInt(SeatLocation::getExamId);
+
+    // Read without locking; written only under this
+    private final Map<Integer, List<SeatLocation>> byStudent = new ConcurrentHashMap<>();
+    private final Map<String, Integer> studentByRollNo = new ConcurrentHashMap<>();
+
+    // Guarded by this; student id to seat for each indexed exam
+    private final Map<Integer, Map<Integer, SeatLocation>> byExam = new HashMap<>();
+    private volatile boolean loaded;
+
+    public static SeatLookupIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Seats of a student in every indexed exam, in exam order; empty if
+     * none
+     */
+    public List<SeatLocation> getByStudent(int studentId) {
+        return byStudent.getOrDefault(studentId, Collections.emptyList());
+    }
+
+    /**
+     * Seats of the student with a roll number, in exam order; empty if none.
+     * Roll numbers are matched as {@link ValidationUtil#formatRollNo}
+     * formats them, ignoring case and surrounding spaces.
+     */
+    public List<SeatLocation> getByRollNo(String rollNo) {
+        if (rollNo == null) {
+            return Collections.emptyList();
+        }
+        Integer studentId = studentByRollNo.get(ValidationUtil.formatRollNo(rollNo));
+        return studentId != null ? getByStudent(studentId) : Collections.emptyList();
+    }
+
+    /**
+     * A student's seat for one exam, or null if the exam has none indexed
+     */
+    public SeatLocation get(int studentId, int examId) {
+        for (SeatLocation location : getByStudent(studentId)) {
+            if (location.getExamId() == examId) {
+                return location;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Replace the whole index, e.g. with every upcoming seat at startup
+     */
+    public synchronized void replaceAll(Collection<SeatLocation> locations) {
+        Map<Integer, Map<Integer, SeatLocation>> exams = new HashMap<>();
+        for (SeatLocation location : locations) {
+            exams.computeIfAbsent(location.getExamId(), id -> new HashMap<>())
+                    .put(location.getStudentId(), location);
+        }
+
+        Map<Integer, List<SeatLocation>> students = new HashMap<>();
+        Map<String, Integer> rollNos = new HashMap<>();
+        for (Map<Integer, SeatLocation> seats : exams.values()) {
+            for (SeatLocation location : seats.values()) {
+                students.computeIfAbsent(location.getStudentId(), id -> new ArrayList<>()).add(location);
+                if (location.getRollNo() != null) {
+                    rollNos.put(ValidationUtil.formatRollNo(location.getRollNo()), location.getStudentId());
+                }
+            }
+        }
+        for (Map.Entry<Integer, List<SeatLocation>> entry : students.entrySet()) {
+            entry.getValue().sort(EXAM_ORDER);
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+
+        byExam.clear();
+        byExam.putAll(exams);
+        // Put before removing so a student present in both never reads as missing
+        byStudent.putAll(students);
+        byStudent.keySet().retainAll(students.keySet());
+        studentByRollNo.putAll(rollNos);
+        studentByRollNo.keySet().retainAll(rollNos.keySet());
+        loaded = true;
+
+        logger.info("Seat lookup index loaded: {} seats in {} exams for {} students",
+                locations.size(), exams.size(), students.size());
+    }
+
+    /**
+     * Replace every seat of one exam, e.g. after its plan is published
+     */
+    public synchronized void replaceExam(int examId, Collection<SeatLocation> locations) {
+        Map<Integer, SeatLocation> previous = byExam.remove(examId);
+        Map<Integer, SeatLocation> seats = new HashMap<>();
+        for (SeatLocation location : locations) {
+            if (location.getExamId() == examId) {
+                seats.put(location.getStudentId(), location);
+            }
+        }
+
+        Set<Integer> affected = new HashSet<>(seats.keySet());
+        if (previous != null) {
+            affected.addAll(previous.keySet());
+        }
+        if (!seats.isEmpty()) {
+            byExam.put(examId, seats);
+        }
+        for (Integer studentId : affected) {
+            setSeat(studentId, examId, seats.get(studentId));
+        }
+        logger.debug("Seat lookup index: exam {} now has {} seats", examId, seats.size());
+    }
+
+    /**
+     * Add or move individual seats, e.g. after an incremental reseat
+     */
+    public synchronized void update(Collection<SeatLocation> locations) {
+        for (SeatLocation location : locations) {
+            byExam.computeIfAbsent(location.getExamId(), id -> new HashMap<>())
+                    .put(location.getStudentId(), location);
+            setSeat(location.getStudentId(), location.getExamId(), location);
+        }
+    }
+
+    /**
+     * Drop every seat of an exam, e.g. after its plan is deleted
+     */
+    public synchronized void removeExam(int examId) {
+        Map<Integer, SeatLocation> previous = byExam.remove(examId);
+        if (previous != null) {
+            for (Integer studentId : previous.keySet()) {
+                setSeat(studentId, examId, null);
+            }
+        }
+    }
+
+    /**
+     * Whether {@link #replaceAll} has run; until then lookups only see
+     * plans written since startup
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public synchronized int getExamCount() {
+        return byExam.size();
+    }
+
+    public int getStudentCount() {
+        return byStudent.size();
+    }
+
+    /**
+     * Swap in a new seat list for one student with the seat for one exam
+     * replaced, added or (with null) removed
+     */
+    private void setSeat(int studentId, int examId, SeatLocation location) {
+        List<SeatLocation> current = byStudent.getOrDefault(studentId, Collections.emptyList());
+        List<SeatLocation> seats = new ArrayList<>(current.size() + 1);
+        String previousRollNo = null;
+        for (SeatLocation seat : current) {
+            previousRollNo = ValidationUtil.formatRollNo(seat.getRollNo());
+            if (seat.getExamId() != examId) {
+                seats.add(seat);
+            }
+        }
+        if (location != null) {
+            seats.add(location);
+            seats.sort(EXAM_ORDER);
+        }
+
+        if (seats.isEmpty()) {
+            byStudent.remove(studentId);
+            if (previousRollNo != null) {
+                studentByRollNo.remove(previousRollNo, studentId);
+            }
+            return;
+        }
+        byStudent.put(studentId, Collections.unmodifiableList(seats));
+
+        String rollNo = location != null ? ValidationUtil.formatRollNo(location.getRollNo()) : previousRollNo;
+        if (previousRollNo != null && !previousRollNo.equals(rollNo)) {
+            studentByRollNo.remove(previousRollNo, studentId);
+        }
+        if (rollNo != null) {
+            studentByRollNo.put(rollNo, studentId);
+        }
+    }
+}
\ No newline at end of file
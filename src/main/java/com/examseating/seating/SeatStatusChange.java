@@ -0,0 +1,96 @@
+package com.examseating.seating;
+
+import com.examseating.model.SeatingArrangement;
+import com.google.gson.Gson;
+
+/**
+ * One attendance/seat status change published on the {@link SeatStatusFeed}.
+ * Sequence numbers increase by one per change across all exams, so a client
+ * can resume after the last one it saw.
+ */
+public class SeatStatusChange {
+    private static final Gson GSON = new Gson();
+
+    private final long sequence;
+    private final int examId;
+    private final int hallId;
+    private final int seatingId;
+    private final int studentId;
+    private final int seatNumber;
+    private final SeatingArrangement.SeatingStatus status;
+    private final long changedAt;
+
+    // Built by the first subscriber and shared by the rest; racing builds are identical
+    private transient volatile String eventFrame;
+
+    SeatStatusChange(long sequence, SeatingArrangement arrangement, long changedAt) {
+        this.sequence = sequence;
+        this.examId = arrangement.getExamId();
+        this.hallId = arrangement.getHallId();
+        this.seatingId = arrangement.getId();
+        this.studentId = arrangement.getStudentId();
+        this.seatNumber = arrangement.getSeatNumber();
+        this.status = arrangement.getStatus();
+        this.changedAt = changedAt;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public int getExamId() {
+        return examId;
+    }
+
+    public int getHallId() {
+        return hallId;
+    }
+
+    public int getSeatingId() {
+        return seatingId;
+    }
+
+    public int getStudentId() {
+        return studentId;
+    }
+
+    public int getSeatNumber() {
+        return seatNumber;
+    }
+
+    public SeatingArrangement.SeatingStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Epoch milliseconds at which the change was published
+     */
+    public long getChangedAt() {
+        return changedAt;
+    }
+
+    /**
+     * This change as a server-sent 'status' event, serialized once however
+     * many subscribers receive it
+     */
+    public String getEventFrame() {
+        String frame = eventFrame;
+        if (frame == null) {
+            frame = "id: " + sequence + "\nevent: status\ndata: " + GSON.toJson(this) + "\n\n";
+            eventFrame = frame;
+        }
+        return frame;
+    }
+
+    @Override
+    public String toString() {
+        return "SeatStatusChange{" +
+                "sequence=" + sequence +
+                ", examId=" + examId +
+                ", hallId=" + hallId +
+                ", seatingId=" + seatingId +
+                ", seatNumber=" + seatNumber +
+                ", status=" + status +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,164 @@
+package com.examseating.seating;
+
+import com.examseating.model.SeatingArrangement;
+import com.examseating.util.DatabaseUtil;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-memory stream of seat status changes (attendance marks) that live
+ * views subscribe to per exam and hall. Every change is published once and
+ * fanned out to the matching subscribers, so any number of open dashboards
+ * cost nothing on the database.
+ * <p>
+ * The most recent changes ({@code seating.live.replay.size}, default 1024)
+ * are kept so a reconnecting client can catch up from the last sequence it
+ * received. Changes are process-local: with several application instances
+ * each one only sees the changes made through it.
+ */
+public class SeatStatusFeed {
+    private static final Logger logger = LoggerFactory.getLogger(SeatStatusFeed.class);
+
+    private static final SeatStatusFeed INSTANCE =
+            new SeatStatusFeed(DatabaseUtil.getIntProperty("seating.live.replay.size", 1024));
+
+    /**
+     * Receives changes. Called with the feed locked, in sequence order, so
+     * implementations must only hand the change off (e.g. queue it) and
+     * return. They may close their own subscription, e.g. to drop a client
+     * that fell behind; the other subscribers still get the change.
+     */
+    public interface Listener {
+        void onChange(SeatStatusChange change);
+
+        /**
+         * Called on subscribe, instead of a replay, when changes after the
+         * requested sequence are no longer held; the subscriber should reload
+         * the full state
+         */
+        default void onReset() {
+        }
+    }
+
+    private final int replaySize;
+
+    // Guarded by this. Subscriber lists are copy-on-write because a listener
+    // may close its own subscription from onChange, while publish iterates
+    private final ArrayDeque<SeatStatusChange> recent;
+    private final Map<Integer, List<Subscription>> subscriptionsByExam = new HashMap<>();
+    private long sequence;
+    private int subscriberCount;
+
+    public SeatStatusFeed(int replaySize) {
+        this.replaySize = Math.max(0, replaySize);
+        this.recent = new ArrayDeque<>(this.replaySize);
+    }
+
+    public static SeatStatusFeed getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Publish the current status of a seating row to its exam and hall
+     * subscribers
+     */
+    public synchronized SeatStatusChange publish(SeatingArrangement arrangement) {
+        SeatStatusChange change = new SeatStatusChange(++sequence, arrangement, System.currentTimeMillis());
+        if (replaySize > 0) {
+            if (recent.size() == replaySize) {
+                recent.removeFirst();
+            }
+            recent.addLast(change);
+        }
+
+        List<Subscription> subscriptions = subscriptionsByExam.get(change.getExamId());
+        if (subscriptions != null) {
+            for (Subscription subscription : subscriptions) {
+                subscription.deliver(change);
+            }
+        }
+        return change;
+    }
+
+    /**
+     * Subscribe to one hall of an exam, or to all of its halls with
+     * {@code hallId} 0. Changes after {@code lastSequence} that are still
+     * held are replayed first (pass 0 for none); if some are gone the
+     * listener's {@link Listener#onReset()} is called instead.
+     */
+    public synchronized Subscription subscribe(int examId, int hallId, long lastSequence, Listener listener) {
+        Subscription subscription = new Subscription(examId, hallId, listener);
+
+        if (lastSequence > 0) {
+            long oldestHeld = recent.isEmpty() ? sequence + 1 : recent.peekFirst().getSequence();
+            if (lastSequence > sequence || lastSequence + 1 < oldestHeld) {
+                listener.onReset();
+            } else {
+                for (SeatStatusChange change : recent) {
+                    if (change.getSequence() > lastSequence) {
+                        subscription.deliver(change);
+                    }
+                }
+            }
+        }
+
+        subscriptionsByExam.computeIfAbsent(examId, id -> new CopyOnWriteArrayList<>()).add(subscription);
+        subscriberCount++;
+        logger.debug("Seat status subscriber added for exam {} hall {} ({} total)", examId, hallId, subscriberCount);
+        return subscription;
+    }
+
+    public synchronized long getLastSequence() {
+        return sequence;
+    }
+
+    public synchronized int getSubscriberCount() {
+        return subscriberCount;
+    }
+
+    private synchronized void unsubscribe(Subscription subscription) {
+        List<Subscription> subscriptions = subscriptionsByExam.get(subscription.examId);
+        if (subscriptions != null && subscriptions.remove(subscription)) {
+            subscriberCount--;
+            if (subscriptions.isEmpty()) {
+                subscriptionsByExam.remove(subscription.examId);
+            }
+        }
+    }
+
+    /**
+     * Handle for one subscriber; close it to stop receiving changes
+     */
+    public final class Subscription implements AutoCloseable {
+        private final int examId;
+        private final int hallId;
+        private final Listener listener;
+
+        private Subscription(int examId, int hallId, Listener listener) {
+            this.examId = examId;
+            this.hallId = hallId;
+            this.listener = listener;
+        }
+
+        private void deliver(SeatStatusChange change) {
+            if (change.getExamId() != examId || (hallId != 0 && change.getHallId() != hallId)) {
+                return;
+            }
+            try {
+                listener.onChange(change);
+            } catch (RuntimeException e) {
+                logger.warn("Seat status listener failed for exam {} hall {}", examId, hallId, e);
+            }
+        }
+
+        @Override
+        public void close() {
+            unsubscribe(this);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,152 @@
+package com.examseating.seating;
+
+import com.examseating.model.Student;
+import com.examseating.util.DatabaseUtil;
+import java.util.function.Function;
+
+/**
+ * Seating algorithm settings (seating.* properties)
+ */
+public class SeatingConfig {
+
+    // What counts as "the same group" for alternate seating
+    public enum GroupBy {
+        DEPARTMENT, DEPARTMENT_YEAR
+    }
+
+    private boolean spacingEnabled;
+    private boolean alternateEnabled;
+    private boolean randomSeedEnabled;
+    private int maxStudentsPerHall;
+    private GroupBy groupBy;
+    private boolean parallelEnabled;
+    private Long seed;
+
+    // Constructors
+    public SeatingConfig() {
+        this.spacingEnabled = true;
+        this.alternateEnabled = true;
+        this.randomSeedEnabled = true;
+        this.maxStudentsPerHall = 80;
+        this.groupBy = GroupBy.DEPARTMENT_YEAR;
+    }
+
+    public SeatingConfig(boolean spacingEnabled, boolean alternateEnabled,
+                         boolean randomSeedEnabled, int maxStudentsPerHall) {
+        this.spacingEnabled = spacingEnabled;
+        this.alternateEnabled = alternateEnabled;
+        this.randomSeedEnabled = randomSeedEnabled;
+        this.maxStudentsPerHall = maxStudentsPerHall;
+        this.groupBy = GroupBy.DEPARTMENT_YEAR;
+    }
+
+    /**
+     * Load settings from db.properties
+     */
+    public static SeatingConfig fromProperties() {
+        SeatingConfig config = new SeatingConfig(
+                DatabaseUtil.getBooleanProperty("seating.spacing.enabled", true),
+                DatabaseUtil.getBooleanProperty("seating.alternate.enabled", true),
+                DatabaseUtil.getBooleanProperty("seating.random.seed.enabled", true),
+                DatabaseUtil.getIntProperty("seating.max.students.per.hall", 80));
+        config.setParallelEnabled(DatabaseUtil.getBooleanProperty("seating.parallel.enabled", true));
+        String groupBy = DatabaseUtil.getProperty("seating.alternate.group.by", GroupBy.DEPARTMENT_YEAR.name());
+        try {
+            config.setGroupBy(GroupBy.valueOf(groupBy.trim().toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            config.setGroupBy(GroupBy.DEPARTMENT_YEAR);
+        }
+        return config;
+    }
+
+    // Getters and Setters
+    public boolean isSpacingEnabled() {
+        return spacingEnabled;
+    }
+
+    public void setSpacingEnabled(boolean spacingEnabled) {
+        this.spacingEnabled = spacingEnabled;
+    }
+
+    public boolean isAlternateEnabled() {
+        return alternateEnabled;
+    }
+
+    public void setAlternateEnabled(boolean alternateEnabled) {
+        this.alternateEnabled = alternateEnabled;
+    }
+
+    public boolean isRandomSeedEnabled() {
+        return randomSeedEnabled;
+    }
+
+    public void setRandomSeedEnabled(boolean randomSeedEnabled) {
+        this.randomSeedEnabled = randomSeedEnabled;
+    }
+
+    public int getMaxStudentsPerHall() {
+        return maxStudentsPerHall;
+    }
+
+    public void setMaxStudentsPerHall(int maxStudentsPerHall) {
+        this.maxStudentsPerHall = maxStudentsPerHall;
+    }
+
+    public GroupBy getGroupBy() {
+        return groupBy;
+    }
+
+    public void setGroupBy(GroupBy groupBy) {
+        this.groupBy = groupBy;
+    }
+
+    /**
+     * Key that alternate seating keeps apart on adjacent seats
+     */
+    public Function<Student, Object> getGroupKey() {
+        if (groupBy == GroupBy.DEPARTMENT) {
+            return Student::getDepartment;
+        }
+        return student -> student.getDepartment() + "/" + student.getYear();
+    }
+
+    public boolean isParallelEnabled() {
+        return parallelEnabled;
+    }
+
+    /**
+     * Lay halls out concurrently; the plan is identical to a sequential run
+     */
+    public void setParallelEnabled(boolean parallelEnabled) {
+        this.parallelEnabled = parallelEnabled;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Fix the shuffle seed; when unset the exam id is used so that
+     * regenerating the same exam yields the same plan
+     */
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
+    public long resolveSeed(int examId) {
+        return seed != null ? seed : examId;
+    }
+
+    @Override
+    public String toString() {
+        return "SeatingConfig{" +
+                "spacingEnabled=" + spacingEnabled +
+                ", alternateEnabled=" + alternateEnabled +
+                ", randomSeedEnabled=" + randomSeedEnabled +
+                ", maxStudentsPerHall=" + maxStudentsPerHall +
+                ", groupBy=" + groupBy +
+                ", parallelEnabled=" + parallelEnabled +
+                ", seed=" + seed +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,383 @@
+package com.examseating.seating;
+
+import com.examseating.model.Exam;
+import com.examseating.model.ExamHall;
+import com.examseating.model.ExamHallAssignment;
+import com.examseating.model.SeatingArrangement;
+import com.examseating.model.Student;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-memory seating allocation engine. Fills the halls assigned to an exam
+ * (exam_hall_assignments) with the eligible students, honouring the
+ * seating.* settings:
+ * <ul>
+ *   <li>spacing - only seats where (row + column) is even are used, so no two
+ *       students sit side by side or directly behind each other</li>
+ *   <li>alternate - halls get a mix of departments, and without spacing no
+ *       two adjacent seats hold the same department (or department and
+ *       year, per seating.alternate.group.by) wherever that is feasible</li>
+ *   <li>random seed - students are shuffled with a seed derived from the exam
+ *       id, so regenerating a plan is reproducible</li>
+ *   <li>max students per hall - caps each hall below its assigned capacity</li>
+ *   <li>parallel - halls are laid out concurrently (seating.parallel.enabled)</li>
+ * </ul>
+ */
+public class SeatingGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(SeatingGenerator.class);
+
+    private static final Comparator<Student> BY_ROLL_NO =
+            Comparator.comparing(Student::getRollNo, Comparator.nullsLast(Comparator.naturalOrder()))
+                      .thenComparingInt(Student::getId);
+
+    // Below this many students the fork/join overhead is not worth it
+    private static final int PARALLEL_THRESHOLD = 2000;
+
+    private final SeatingConfig config;
+    private final ForkJoinPool pool;
+    private final InterleavingSolver solver = new InterleavingSolver();
+
+    public SeatingGenerator() {
+        this(SeatingConfig.fromProperties());
+    }
+
+    public SeatingGenerator(SeatingConfig config) {
+        this(config, ForkJoinPool.commonPool());
+    }
+
+    public SeatingGenerator(SeatingConfig config, ForkJoinPool pool) {
+        this.config = config;
+        this.pool = pool;
+    }
+
+    public SeatingConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Generate a seating plan for an exam. Students are split across the
+     * halls in assignment order up to each hall's limit; students that do
+     * not fit are reported in the plan as unseated. When parallel seating
+     * is enabled the halls are then laid out concurrently on a fork/join
+     * pool. The split is done up front, so the plan is the same either way
+     * for a given seed.
+     */
+    public SeatingPlan generate(Exam exam, List<ExamHallAssignment> assignments, List<Student> students) {
+        long start = System.nanoTime();
+
+        List<Student> queue = orderStudents(exam, students);
+        List<HallSlice> slices = partition(exam, assignments, queue);
+
+        if (config.isParallelEnabled() && slices.size() > 1 && queue.size() >= PARALLEL_THRESHOLD) {
+            pool.invoke(new LayoutTask(exam, queue, slices, 0, slices.size()));
+        } else {
+            for (HallSlice slice : slices) {
+                slice.layout(exam, queue);
+            }
+        }
+
+        List<SeatingArrangement> arrangements = new ArrayList<>(queue.size());
+        Map<Integer, HallOccupancy> occupancy = new LinkedHashMap<>();
+        int seated = 0;
+        int conflicts = 0;
+        for (HallSlice slice : slices) {
+            arrangements.addAll(slice.arrangements);
+            occupancy.put(slice.hall.getId(), slice.occupancy);
+            seated += slice.result.seated;
+            conflicts += slice.result.conflicts;
+        }
+
+        List<Student> unseated = new ArrayList<>(queue.subList(seated, queue.size()));
+        SeatingPlan plan = new SeatingPlan(exam.getId(), arrangements, unseated, occupancy,
+                conflicts, System.nanoTime() - start);
+
+        if (!unseated.isEmpty()) {
+            logger.warn("Exam {}: {} students could not be seated in the assigned halls",
+                    exam.getId(), unseated.size());
+        }
+        logger.info("Generated seating for exam {}: {}", exam.getId(), plan);
+        return plan;
+    }
+
+    /**
+     * Split the ordered students into contiguous per-hall ranges
+     */
+    private List<HallSlice> partition(Exam exam, List<ExamHallAssignment> assignments, List<Student> queue) {
+        List<HallSlice> slices = new ArrayList<>(assignments.size());
+        int next = 0;
+
+        for (ExamHallAssignment assignment : assignments) {
+            if (next >= queue.size()) {
+                break;
+            }
+            ExamHall hall = requireHall(assignment);
+            if (!hall.isActive()) {
+                logger.warn("Skipping inactive hall {} for exam {}", hall.getHallName(), exam.getId());
+                continue;
+            }
+
+            int take = Math.min(Math.min(getHallLimit(assignment), countUsableSeats(hall)), queue.size() - next);
+            slices.add(new HallSlice(hall, new HallOccupancy(exam.getId(), hall), next, next + take));
+            next += take;
+        }
+        return slices;
+    }
+
+    /**
+     * Seats in a hall that may be used under the spacing setting
+     */
+    public int countUsableSeats(ExamHall hall) {
+        int usable = 0;
+        for (int row = 1; row <= hall.getRows(); row++) {
+            for (int column = 1; column <= hall.getColumns(); column++) {
+                if ((row - 1) * hall.getColumns() + column > hall.getCapacity()) {
+                    return usable;
+                }
+                if (isUsableSeat(row, column)) {
+                    usable++;
+                }
+            }
+        }
+        return usable;
+    }
+
+    /**
+     * Number of students a hall may take for this exam
+     */
+    public int getHallLimit(ExamHallAssignment assignment) {
+        ExamHall hall = requireHall(assignment);
+        int limit = Math.min(assignment.getAssignedCapacity(), hall.getCapacity());
+        if (config.getMaxStudentsPerHall() > 0) {
+            limit = Math.min(limit, config.getMaxStudentsPerHall());
+        }
+        return Math.max(0, limit);
+    }
+
+    /**
+     * Whether a seat position may be used under the spacing setting
+     */
+    public boolean isUsableSeat(int row, int column) {
+        return !config.isSpacingEnabled() || ((row + column) & 1) == 0;
+    }
+
+    /**
+     * Seat up to {@code limit} students from the head of {@code students} in
+     * one hall, row by row, skipping seats already taken in {@code occupancy}.
+     * With alternate seating and no spacing, the students are placed on the
+     * chosen seats by {@link InterleavingSolver} so that adjacent seats hold
+     * different groups.
+     */
+    HallLayout layoutHall(Exam exam, ExamHall hall, HallOccupancy occupancy, int limit,
+                          List<Student> students, List<SeatingArrangement> out) {
+        int toSeat = Math.max(0, Math.min(limit - occupancy.getOccupiedCount(), students.size()));
+        int[] seatRows = new int[toSeat];
+        int[] seatColumns = new int[toSeat];
+        int[] seatNumbers = new int[toSeat];
+        int seated = 0;
+
+        for (int row = 1; row <= hall.getRows() && seated < toSeat; row++) {
+            for (int column = 1; column <= hall.getColumns() && seated < toSeat; column++) {
+                if (!isUsableSeat(row, column)) {
+                    continue;
+                }
+                int seatNumber = hall.calculateSeatNumber(row, column);
+                if (seatNumber > occupancy.getCapacity()) {
+                    break;
+                }
+                if (!occupancy.occupy(seatNumber)) {
+                    continue;
+                }
+                seatRows[seated] = row;
+                seatColumns[seated] = column;
+                seatNumbers[seated] = seatNumber;
+                seated++;
+            }
+        }
+
+        List<Student> hallStudents = students.subList(0, seated);
+        int conflicts = 0;
+        if (config.isAlternateEnabled() && !config.isSpacingEnabled() && seated > 1) {
+            if (seated < toSeat) {
+                seatRows = Arrays.copyOf(seatRows, seated);
+                seatColumns = Arrays.copyOf(seatColumns, seated);
+            }
+            InterleavingSolver.Placement placement =
+                    solver.solve(seatRows, seatColumns, hallStudents, config.getGroupKey());
+            hallStudents = placement.apply(hallStudents);
+            conflicts = placement.getConflicts();
+            if (conflicts > 0) {
+                logger.warn("Hall {}: {} adjacent same-group pairs could not be avoided",
+                        hall.getHallName(), conflicts);
+            }
+        }
+
+        for (int i = 0; i < seated; i++) {
+            out.add(createArrangement(exam, hall, hallStudents.get(i), seatNumbers[i], seatRows[i], seatColumns[i]));
+        }
+
+        occupancy.applyTo(hall);
+        return new HallLayout(seated, conflicts);
+    }
+
+    SeatingArrangement createArrangement(Exam exam, ExamHall hall, Student student,
+                                         int seatNumber, int row, int column) {
+        SeatingArrangement arrangement =
+                new SeatingArrangement(exam.getId(), student.getId(), hall.getId(), seatNumber, row, column);
+        arrangement.setStudentName(student.getName());
+        arrangement.setStudentRollNo(student.getRollNo());
+        arrangement.setHallName(hall.getHallName());
+        arrangement.setExamCode(exam.getExamCode());
+        arrangement.setExamSubject(exam.getSubject());
+        return arrangement;
+    }
+
+    /**
+     * Eligible, de-duplicated students in seating order
+     */
+    List<Student> orderStudents(Exam exam, List<Student> students) {
+        List<Student> eligible = new ArrayList<>(students.size());
+        Set<Integer> seen = new HashSet<>(students.size() * 2);
+        for (Student student : students) {
+            if (student != null && student.isEligibleForExam() && seen.add(student.getId())) {
+                eligible.add(student);
+            }
+        }
+
+        eligible.sort(BY_ROLL_NO);
+        if (config.isRandomSeedEnabled()) {
+            Collections.shuffle(eligible, new Random(config.resolveSeed(exam.getId())));
+        }
+        if (config.isAlternateEnabled()) {
+            eligible = interleaveByGroup(eligible, config.getGroupKey());
+        }
+        return eligible;
+    }
+
+    /**
+     * Reorder so that consecutive students come from different groups where
+     * possible, always drawing from the largest remaining group
+     */
+    static List<Student> interleaveByGroup(List<Student> students, Function<Student, Object> groupKey) {
+        Map<Object, ArrayDeque<Student>> groups = new LinkedHashMap<>();
+        for (Student student : students) {
+            groups.computeIfAbsent(groupKey.apply(student), k -> new ArrayDeque<>()).add(student);
+        }
+        if (groups.size() < 2) {
+            return students;
+        }
+
+        // Ties broken by first appearance so the result is deterministic
+        List<ArrayDeque<Student>> order = new ArrayList<>(groups.values());
+        PriorityQueue<Integer> largest = new PriorityQueue<>(
+                Comparator.comparingInt((Integer i) -> -order.get(i).size()).thenComparingInt(i -> i));
+        for (int i = 0; i < order.size(); i++) {
+            largest.add(i);
+        }
+
+        List<Student> result = new ArrayList<>(students.size());
+        Integer previous = null;
+        while (!largest.isEmpty()) {
+            Integer current = largest.poll();
+            result.add(order.get(current).poll());
+            if (previous != null && !order.get(previous).isEmpty()) {
+                largest.add(previous);
+            }
+            previous = current;
+        }
+        if (previous != null && !order.get(previous).isEmpty()) {
+            // Only one group left; append the remainder
+            result.addAll(order.get(previous));
+        }
+        return result;
+    }
+
+    /**
+     * One hall's share of the ordered students, [from, to), and its layout
+     */
+    final class HallSlice {
+        final ExamHall hall;
+        final HallOccupancy occupancy;
+        final int from;
+        final int to;
+        final List<SeatingArrangement> arrangements;
+        HallLayout result;
+
+        HallSlice(ExamHall hall, HallOccupancy occupancy, int from, int to) {
+            this.hall = hall;
+            this.occupancy = occupancy;
+            this.from = from;
+            this.to = to;
+            this.arrangements = new ArrayList<>(to - from);
+        }
+
+        void layout(Exam exam, List<Student> queue) {
+            result = layoutHall(exam, hall, occupancy, to - from, queue.subList(from, to), arrangements);
+        }
+    }
+
+    /**
+     * Lays out a range of hall slices, splitting in halves down to one hall
+     */
+    final class LayoutTask extends RecursiveAction {
+        private final Exam exam;
+        private final List<Student> queue;
+        private final List<HallSlice> slices;
+        private final int lo;
+        private final int hi;
+
+        LayoutTask(Exam exam, List<Student> queue, List<HallSlice> slices, int lo, int hi) {
+            this.exam = exam;
+            this.queue = queue;
+            this.slices = slices;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo == 1) {
+                slices.get(lo).layout(exam, queue);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new LayoutTask(exam, queue, slices, lo, mid),
+                      new LayoutTask(exam, queue, slices, mid, hi));
+        }
+    }
+
+    /**
+     * Students seated in one hall and adjacent same-group pairs left
+     */
+    static final class HallLayout {
+        final int seated;
+        final int conflicts;
+
+        HallLayout(int seated, int conflicts) {
+            this.seated = seated;
+            this.conflicts = conflicts;
+        }
+    }
+
+    private static ExamHall requireHall(ExamHallAssignment assignment) {
+        if (assignment.getHall() == null) {
+            throw new IllegalArgumentException("Hall not loaded for assignment: " + assignment);
+        }
+        return assignment.getHall();
+    }
+}
\ No newline at end of file
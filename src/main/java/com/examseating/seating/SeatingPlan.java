@@ -0,0 +1,100 @@
+package com.examseating.seating;
+
+import com.examseating.model.SeatingArrangement;
+import com.examseating.model.Student;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a seating generation run for one exam
+ */
+public class SeatingPlan {
+    private final int examId;
+    private final List<SeatingArrangement> arrangements;
+    private final List<Student> unseatedStudents;
+    private final Map<Integer, HallOccupancy> hallOccupancy;
+    private final int adjacencyConflicts;
+    private final long elapsedNanos;
+
+    public SeatingPlan(int examId, List<SeatingArrangement> arrangements,
+                       List<Student> unseatedStudents, Map<Integer, HallOccupancy> hallOccupancy,
+                       int adjacencyConflicts, long elapsedNanos) {
+        this.examId = examId;
+        this.arrangements = Collections.unmodifiableList(arrangements);
+        this.unseatedStudents = Collections.unmodifiableList(unseatedStudents);
+        this.hallOccupancy = Collections.unmodifiableMap(hallOccupancy);
+        this.adjacencyConflicts = adjacencyConflicts;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getExamId() {
+        return examId;
+    }
+
+    public List<SeatingArrangement> getArrangements() {
+        return arrangements;
+    }
+
+    public List<Student> getUnseatedStudents() {
+        return unseatedStudents;
+    }
+
+    /**
+     * Seat occupancy per hall id for the halls used by this plan
+     */
+    public Map<Integer, HallOccupancy> getHallOccupancy() {
+        return hallOccupancy;
+    }
+
+    public HallOccupancy getHallOccupancy(int hallId) {
+        return hallOccupancy.get(hallId);
+    }
+
+    public int getSeatedCount() {
+        return arrangements.size();
+    }
+
+    /**
+     * Adjacent seat pairs holding students of the same group
+     */
+    public int getAdjacencyConflicts() {
+        return adjacencyConflicts;
+    }
+
+    public boolean isComplete() {
+        return unseatedStudents.isEmpty();
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getElapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    /**
+     * Arrangements grouped by hall id, in plan order
+     */
+    public Map<Integer, List<SeatingArrangement>> getArrangementsByHall() {
+        Map<Integer, List<SeatingArrangement>> byHall = new LinkedHashMap<>();
+        for (SeatingArrangement arrangement : arrangements) {
+            byHall.computeIfAbsent(arrangement.getHallId(), k -> new ArrayList<>()).add(arrangement);
+        }
+        return byHall;
+    }
+
+    @Override
+    public String toString() {
+        return "SeatingPlan{" +
+                "examId=" + examId +
+                ", seated=" + arrangements.size() +
+                ", unseated=" + unseatedStudents.size() +
+                ", conflicts=" + adjacencyConflicts +
+                ", elapsedMs=" + String.format("%.3f", getElapsedMillis()) +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,121 @@
+package com.examseating.servlet;
+
+import com.examseating.attendance.AttendanceService;
+import com.examseating.model.SeatingArrangement;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Servlet for invigilators marking attendance.
+ * <p>
+ * POST /attendance/mark with {"examId", "seatingId", "status"} (PRESENT or
+ * ABSENT). Marks are acknowledged as soon as the {@link AttendanceService}
+ * has journaled them; the database is updated in batches shortly after.
+ */
+public class AttendanceServlet extends HttpServlet {
+    private static final Logger logger = Logger.getLogger(AttendanceServlet.class.getName());
+    private AttendanceService attendanceService;
+    private Gson gson;
+
+    @Override
+    public void init() throws ServletException {
+        super.init();
+        try {
+            attendanceService = AttendanceService.fromProperties();
+        } catch (IOException e) {
+            throw new ServletException("Could not open attendance journal", e);
+        }
+        gson = new Gson();
+        logger.info("AttendanceServlet initialized");
+    }
+
+    @Override
+    public void destroy() {
+        attendanceService.shutdown();
+        super.destroy();
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+
+        if (!isStaff(request)) {
+            sendResult(response, HttpServletResponse.SC_FORBIDDEN, false, "Teacher or admin access required");
+            return;
+        }
+        if (!"/mark".equals(request.getPathInfo())) {
+            sendResult(response, HttpServletResponse.SC_NOT_FOUND, false, "Unknown attendance action");
+            return;
+        }
+
+        int examId;
+        int seatingId;
+        SeatingArrangement.SeatingStatus status;
+        try {
+            JsonObject requestData = gson.fromJson(request.getReader(), JsonObject.class);
+            examId = requestData.get("examId").getAsInt();
+            seatingId = requestData.get("seatingId").getAsInt();
+            status = SeatingArrangement.SeatingStatus.valueOf(requestData.get("status").getAsString().trim().toUpperCase());
+        } catch (RuntimeException e) {
+            sendResult(response, HttpServletResponse.SC_BAD_REQUEST, false,
+                       "examId, seatingId and status (PRESENT or ABSENT) are required");
+            return;
+        }
+
+        try {
+            AttendanceService.MarkResult result = attendanceService.mark(examId, seatingId, status);
+            switch (result) {
+                case ACCEPTED:
+                    sendResult(response, HttpServletResponse.SC_OK, true, "Attendance marked");
+                    break;
+                case NOT_FOUND:
+                    sendResult(response, HttpServletResponse.SC_NOT_FOUND, false, "Seat not found for this exam");
+                    break;
+                case ALREADY_MARKED:
+                    sendResult(response, HttpServletResponse.SC_CONFLICT, false, "Attendance already recorded");
+                    break;
+                case INVALID_STATUS:
+                    sendResult(response, HttpServletResponse.SC_BAD_REQUEST, false, "Status must be PRESENT or ABSENT");
+                    break;
+                default:
+                    response.setHeader("Retry-After", "1");
+                    sendResult(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, false,
+                               "Attendance cannot be recorded right now");
+            }
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error marking attendance for seat " + seatingId + " of exam " + examId, e);
+            sendResult(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, false,
+                       "Attendance marking failed due to server error");
+        }
+    }
+
+    private boolean isStaff(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        return session != null && "teacher".equals(session.getAttribute("userType"));
+    }
+
+    private void sendResult(HttpServletResponse response, int status, boolean success, String message)
+            throws IOException {
+        JsonObject responseData = new JsonObject();
+        responseData.addProperty("success", success);
+        responseData.addProperty("message", message);
+
+        response.setStatus(status);
+        PrintWriter out = response.getWriter();
+        out.print(responseData.toString());
+        out.flush();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,145 @@
+package com.examseating.servlet;
+
+import com.examseating.importer.CsvRowReader;
+import com.examseating.importer.ImportResult;
+import com.examseating.importer.RowReader;
+import com.examseating.importer.StudentImporter;
+import com.examseating.importer.XlsxRowReader;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import javax.servlet.http.Part;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Servlet for bulk uploads (admin only).
+ * <p>
+ * POST /upload/students with a multipart "file" part (.csv or .xlsx)
+ * imports students through {@link StudentImporter}. CSV uploads are parsed
+ * straight from the request stream; XLSX uploads are spooled to a temporary
+ * file because the workbook is a zip archive.
+ */
+public class FileUploadServlet extends HttpServlet {
+    private static final Logger logger = Logger.getLogger(FileUploadServlet.class.getName());
+    private StudentImporter studentImporter;
+    private Gson gson;
+
+    @Override
+    public void init() throws ServletException {
+        super.init();
+        studentImporter = new StudentImporter();
+        gson = new Gson();
+        logger.info("FileUploadServlet initialized");
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+
+        if (!isAdmin(request)) {
+            sendError(response, HttpServletResponse.SC_FORBIDDEN, "Admin access required");
+            return;
+        }
+        if (!"/students".equals(request.getPathInfo())) {
+            sendError(response, HttpServletResponse.SC_NOT_FOUND, "Unknown upload type");
+            return;
+        }
+
+        Part filePart = request.getPart("file");
+        if (filePart == null || filePart.getSize() == 0) {
+            sendError(response, HttpServletResponse.SC_BAD_REQUEST, "No file uploaded");
+            return;
+        }
+
+        String fileName = filePart.getSubmittedFileName();
+        String lowerName = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+        try {
+            ImportResult result;
+            if (lowerName.endsWith(".csv")) {
+                result = importCsv(filePart);
+            } else if (lowerName.endsWith(".xlsx")) {
+                result = importXlsx(filePart);
+            } else {
+                sendError(response, HttpServletResponse.SC_BAD_REQUEST, "Only .csv and .xlsx files are supported");
+                return;
+            }
+
+            logger.info("Student import from " + fileName + ": " + result);
+            if (!result.isSuccess()) {
+                response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            }
+            sendResponse(response, gson.toJsonTree(result).getAsJsonObject());
+
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Could not read uploaded file " + fileName, e);
+            sendError(response, HttpServletResponse.SC_BAD_REQUEST, "Could not read file: " + e.getMessage());
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error importing students from " + fileName, e);
+            sendError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Import failed due to server error");
+        } finally {
+            filePart.delete();
+        }
+    }
+
+    private ImportResult importCsv(Part filePart) throws IOException {
+        try (RowReader reader = new CsvRowReader(
+                new InputStreamReader(filePart.getInputStream(), StandardCharsets.UTF_8))) {
+            return studentImporter.importRows(reader);
+        }
+    }
+
+    private ImportResult importXlsx(Part filePart) throws IOException {
+        File temp = File.createTempFile("student-import-", ".xlsx");
+        try {
+            try (InputStream in = filePart.getInputStream()) {
+                Files.copy(in, temp.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            try (RowReader reader = new XlsxRowReader(temp)) {
+                return studentImporter.importRows(reader);
+            }
+        } finally {
+            if (!temp.delete()) {
+                temp.deleteOnExit();
+            }
+        }
+    }
+
+    private boolean isAdmin(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        return session != null && Boolean.TRUE.equals(session.getAttribute("isAdmin"));
+    }
+
+    private void sendError(HttpServletResponse response, int status, String message) throws IOException {
+        JsonObject errorResponse = new JsonObject();
+        errorResponse.addProperty("success", false);
+        errorResponse.addProperty("message", message);
+
+        response.setStatus(status);
+        sendResponse(response, errorResponse);
+    }
+
+    private void sendResponse(HttpServletResponse response, JsonObject data)
+            throws IOException {
+        PrintWriter out = response.getWriter();
+        out.print(data.toString());
+        out.flush();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,163 @@
+package com.examseating.servlet;
+
+import com.examseating.dao.ExamHallDAO;
+import com.examseating.dao.SeatingArrangementDAO;
+import com.examseating.model.ExamHall;
+import com.examseating.seating.OccupancyRegistry;
+import com.examseating.util.DatabaseUtil;
+import com.examseating.util.LookupCache;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Servlet for hall occupancy on the admin dashboard.
+ * <p>
+ * GET /hall/occupancy?examId= returns seats taken, seats free and the
+ * occupancy status of every hall the exam has seats in. Counts come from
+ * the {@link OccupancyRegistry} and hall details from the hall lookup
+ * cache, so polling it does not query seating_arrangements. The registry is
+ * seeded when the servlet starts and reconciled with the database every
+ * {@code seating.occupancy.reconcile.interval} seconds.
+ */
+public class HallOccupancyServlet extends HttpServlet {
+    private static final Logger logger = Logger.getLogger(HallOccupancyServlet.class.getName());
+    private OccupancyRegistry registry;
+    private SeatingArrangementDAO seatingDAO;
+    private ExamHallDAO hallDAO;
+    private LookupCache<ExamHall> halls;
+
+    @Override
+    public void init() throws ServletException {
+        super.init();
+        registry = OccupancyRegistry.getInstance();
+        seatingDAO = new SeatingArrangementDAO();
+        hallDAO = new ExamHallDAO();
+        halls = LookupCache.fromProperties("halls");
+        loadRegistry();
+        registry.startReconciliation(seatingDAO::getOccupancyCounts,
+                DatabaseUtil.getIntProperty("seating.occupancy.reconcile.interval", 300));
+        logger.info("HallOccupancyServlet initialized");
+    }
+
+    @Override
+    public void destroy() {
+        registry.stopReconciliation();
+        super.destroy();
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+
+        HttpSession session = request.getSession(false);
+        if (session == null || !"teacher".equals(session.getAttribute("userType"))) {
+            sendResult(response, HttpServletResponse.SC_UNAUTHORIZED, "Please login as a teacher");
+            return;
+        }
+
+        try {
+            String examParameter = request.getParameter("examId");
+            if (examParameter == null) {
+                sendResult(response, HttpServletResponse.SC_BAD_REQUEST, "examId is required");
+                return;
+            }
+            int examId = Integer.parseInt(examParameter.trim());
+
+            JsonArray hallsJson = new JsonArray();
+            for (Map.Entry<Integer, Integer> occupied : new TreeMap<>(registry.getByHall(examId)).entrySet()) {
+                ExamHall hall = getHall(occupied.getKey());
+                if (hall != null) {
+                    hallsJson.add(toJson(hall, occupied.getValue()));
+                }
+            }
+
+            JsonObject responseData = new JsonObject();
+            responseData.addProperty("success", true);
+            responseData.addProperty("examId", examId);
+            responseData.addProperty("occupiedSeats", registry.getOccupied(examId));
+            responseData.add("halls", hallsJson);
+            PrintWriter out = response.getWriter();
+            out.print(responseData.toString());
+            out.flush();
+
+        } catch (NumberFormatException e) {
+            sendResult(response, HttpServletResponse.SC_BAD_REQUEST, "examId must be a number");
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error getting hall occupancy", e);
+            sendResult(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                    "Hall occupancy failed due to server error");
+        }
+    }
+
+    /**
+     * Seed the registry unless another instance of this servlet already
+     * has; if the database is down the first reconciliation fills it
+     */
+    private void loadRegistry() {
+        synchronized (registry) {
+            if (registry.isLoaded()) {
+                return;
+            }
+            Map<Integer, Map<Integer, Integer>> counts = seatingDAO.getOccupancyCounts();
+            if (counts != null) {
+                registry.replaceAll(counts);
+            } else {
+                logger.warning("Occupancy registry not loaded; counts will be filled by reconciliation");
+            }
+        }
+    }
+
+    private ExamHall getHall(int hallId) {
+        ExamHall hall = halls.get(hallId);
+        if (hall == null) {
+            hall = hallDAO.getById(hallId);
+            if (hall != null) {
+                halls.put(hallId, hall);
+            }
+        }
+        return hall;
+    }
+
+    private JsonObject toJson(ExamHall hall, int occupied) {
+        // Cached halls are shared; work out the status on a copy
+        ExamHall view = new ExamHall();
+        view.setCapacity(hall.getCapacity());
+        view.setOccupiedSeats(occupied);
+
+        JsonObject json = new JsonObject();
+        json.addProperty("hallId", hall.getId());
+        json.addProperty("hallName", hall.getHallName());
+        json.addProperty("capacity", hall.getCapacity());
+        json.addProperty("occupiedSeats", occupied);
+        json.addProperty("availableSeats", Math.max(0, hall.getCapacity() - occupied));
+        json.addProperty("occupancyPercentage", view.getOccupancyPercentage());
+        json.addProperty("occupancyStatus", view.getOccupancyStatus());
+        return json;
+    }
+
+    private void sendResult(HttpServletResponse response, int status, String message) throws IOException {
+        JsonObject responseData = new JsonObject();
+        responseData.addProperty("success", false);
+        responseData.addProperty("message", message);
+
+        response.setStatus(status);
+        PrintWriter out = response.getWriter();
+        out.print(responseData.toString());
+        out.flush();
+    }
+}
\ No newline at end of file
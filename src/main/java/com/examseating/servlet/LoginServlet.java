@@ -2,13 +2,17 @@ package com.examseating.servlet;
 
 import com.examseating.dao.StudentDAO;
 import com.examseating.dao.TeacherDAO;
-import com.examseating.model.Student;
-import com.examseating.model.Teacher;
+import com.examseating.model.LoginCredentials;
+import com.examseating.util.BoundedExecutor;
+import com.examseating.util.DatabaseUtil;
 import com.examseating.util.PasswordUtil;
 import com.examseating.util.ValidationUtil;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
@@ -16,17 +20,26 @@ import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
- * Servlet for handling user authentication
+ * Servlet for handling user authentication.
+ * <p>
+ * Logins are processed asynchronously: the account lookup and password
+ * verification run on a small bounded executor, so a burst of logins can
+ * only occupy that pool and never the container's request threads. When
+ * the pool and its queue are full the request is answered with 503 at once.
  */
 public class LoginServlet extends HttpServlet {
     private static final Logger logger = Logger.getLogger(LoginServlet.class.getName());
     private StudentDAO studentDAO;
     private TeacherDAO teacherDAO;
     private Gson gson;
+    private BoundedExecutor verifier;
+    private long verifyTimeoutMillis;
 
     @Override
     public void init() throws ServletException {
@@ -34,8 +47,17 @@ public class LoginServlet extends HttpServlet {
         studentDAO = new StudentDAO();
         teacherDAO = new TeacherDAO();
         gson = new Gson();
+        verifier = BoundedExecutor.fromProperties("login-verify", "security.login.verify",
+                Runtime.getRuntime().availableProcessors(), 64);
+        verifyTimeoutMillis = DatabaseUtil.getIntProperty("security.login.verify.timeout", 10000);
         logger.info("LoginServlet initialized");
     }
+    
+    @Override
+    public void destroy() {
+        verifier.shutdown();
+        super.destroy();
+    }
 
     @Override
     protected void doPost(HttpServletRequest request, HttpServletResponse response)
@@ -71,99 +93,162 @@ public class LoginServlet extends HttpServlet {
                 return;
             }
             
-            // Authenticate user based on type
-            boolean loginSuccess = false;
-            String userName = "";
-            String userRole = "";
-            int userId = 0;
+            AsyncContext asyncContext = request.startAsync();
+            asyncContext.setTimeout(verifyTimeoutMillis);
+            AtomicBoolean answered = new AtomicBoolean();
             
-            if ("student".equals(userType)) {
-                Student student = studentDAO.getByEmail(email);
-                if (student != null && student.isActive()) {
-                    if (PasswordUtil.verifyPassword(password, student.getPassword())) {
-                        loginSuccess = true;
-                        userName = student.getName();
-                        userRole = "STUDENT";
-                        userId = student.getId();
-                        
-                        // Create session
-                        HttpSession session = request.getSession(true);
-                        session.setAttribute("userId", userId);
-                        session.setAttribute("userType", "student");
-                        session.setAttribute("userName", userName);
-                        session.setAttribute("userEmail", email);
-                        session.setAttribute("student", student);
-                        
-                        // Set session timeout (30 minutes)
-                        session.setMaxInactiveInterval(30 * 60);
-                        
-                        logger.info("Student login successful: " + email);
+            asyncContext.addListener(new AsyncListener() {
+                @Override
+                public void onTimeout(AsyncEvent event) throws IOException {
+                    if (answered.compareAndSet(false, true)) {
+                        logger.warning("Login timed out for email: " + email);
+                        sendUnavailable(response, "Login is taking too long, please try again");
+                        asyncContext.complete();
                     }
                 }
-            } else if ("teacher".equals(userType)) {
-                Teacher teacher = teacherDAO.getByEmail(email);
-                if (teacher != null) {
-                    if (PasswordUtil.verifyPassword(password, teacher.getPassword())) {
-                        loginSuccess = true;
-                        userName = teacher.getName();
-                        userRole = teacher.isAdmin() ? "ADMIN" : "TEACHER";
-                        userId = teacher.getId();
-                        
-                        // Create session
-                        HttpSession session = request.getSession(true);
-                        session.setAttribute("userId", userId);
-                        session.setAttribute("userType", "teacher");
-                        session.setAttribute("userName", userName);
-                        session.setAttribute("userEmail", email);
-                        session.setAttribute("isAdmin", teacher.isAdmin());
-                        session.setAttribute("teacher", teacher);
-                        
-                        // Set session timeout (30 minutes)
-                        session.setMaxInactiveInterval(30 * 60);
-                        
-                        logger.info("Teacher login successful: " + email);
-                    }
-                }
-            }
-            
-            if (loginSuccess) {
-                responseData.addProperty("success", true);
-                responseData.addProperty("message", "Login successful");
-                responseData.addProperty("userType", userType);
-                responseData.addProperty("userName", userName);
-                responseData.addProperty("userRole", userRole);
                 
-                // Handle remember me functionality
-                if (rememberMe) {
-                    // Set remember me cookie (valid for 7 days)
-                    javax.servlet.http.Cookie rememberCookie = 
-                        new javax.servlet.http.Cookie("rememberedEmail", email);
-                    rememberCookie.setMaxAge(7 * 24 * 60 * 60); // 7 days
-                    rememberCookie.setHttpOnly(true);
-                    rememberCookie.setPath("/");
-                    response.addCookie(rememberCookie);
+                @Override
+                public void onComplete(AsyncEvent event) {
                 }
                 
-            } else {
-                responseData.addProperty("success", false);
-                responseData.addProperty("message", "Invalid email or password");
+                @Override
+                public void onError(AsyncEvent event) {
+                }
                 
-                // Log failed login attempt
-                logger.warning("Login failed for email: " + email + ", userType: " + userType);
-            }
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                }
+            });
             
-            sendResponse(response, responseData);
+            try {
+                verifier.execute(() -> {
+                    // Timed out while queued; the client already has its answer
+                    if (answered.get()) {
+                        return;
+                    }
+                    LoginCredentials account = null;
+                    boolean failed = false;
+                    try {
+                        account = authenticate(email, password, userType);
+                    } catch (Exception e) {
+                        logger.log(Level.SEVERE, "Error during login", e);
+                        failed = true;
+                    }
+                    // Only the winner of this race may touch the request and
+                    // response; after a timeout they may belong to another client
+                    if (answered.compareAndSet(false, true)) {
+                        try {
+                            JsonObject result = null;
+                            if (!failed) {
+                                try {
+                                    result = completeLogin(request, response, account, email, userType, rememberMe);
+                                } catch (RuntimeException e) {
+                                    logger.log(Level.SEVERE, "Error creating login session", e);
+                                }
+                            }
+                            if (result != null) {
+                                sendResponse(response, result);
+                            } else {
+                                sendServerError(response);
+                            }
+                        } catch (IOException e) {
+                            logger.log(Level.SEVERE, "Error sending login response", e);
+                        } finally {
+                            asyncContext.complete();
+                        }
+                    } else if (account != null) {
+                        logger.warning("Login for " + email + " verified after timeout; no session created");
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                logger.warning("Login rejected, verifier busy: " + verifier);
+                answered.set(true);
+                sendUnavailable(response, "Too many logins in progress, please try again");
+                asyncContext.complete();
+            }
             
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Error during login", e);
+            sendServerError(response);
+        }
+    }
+    
+    /**
+     * Look up the account and verify its password; runs on the verifier pool.
+     * Must not touch the request or response, which may be recycled if the
+     * login times out meanwhile.
+     *
+     * @return the verified account, or null if the email or password is wrong
+     */
+    private LoginCredentials authenticate(String email, String password, String userType) {
+        if ("student".equals(userType)) {
+            LoginCredentials student = studentDAO.getLoginCredentials(email);
+            if (student != null && student.isActive()
+                    && PasswordUtil.verifyPassword(password, student.getPassword())) {
+                return student;
+            }
+        } else if ("teacher".equals(userType)) {
+            LoginCredentials teacher = teacherDAO.getLoginCredentials(email);
+            if (teacher != null && PasswordUtil.verifyPassword(password, teacher.getPassword())) {
+                return teacher;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Create the session and remember-me cookie for a verified account and
+     * build the response. Only called while the async context is still open.
+     */
+    private JsonObject completeLogin(HttpServletRequest request, HttpServletResponse response,
+                                     LoginCredentials account, String email, String userType, boolean rememberMe) {
+        JsonObject responseData = new JsonObject();
+        
+        if (account == null) {
+            responseData.addProperty("success", false);
+            responseData.addProperty("message", "Invalid email or password");
             
-            JsonObject errorResponse = new JsonObject();
-            errorResponse.addProperty("success", false);
-            errorResponse.addProperty("message", "Login failed due to server error");
-            
-            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-            sendResponse(response, errorResponse);
+            // Log failed login attempt
+            logger.warning("Login failed for email: " + email + ", userType: " + userType);
+            return responseData;
+        }
+        
+        boolean teacher = "teacher".equals(userType);
+        String userRole = teacher ? (account.isAdmin() ? "ADMIN" : "TEACHER") : "STUDENT";
+        
+        // Create session
+        HttpSession session = request.getSession(true);
+        session.setAttribute("userId", account.getId());
+        session.setAttribute("userType", userType);
+        session.setAttribute("userName", account.getName());
+        session.setAttribute("userEmail", email);
+        if (teacher) {
+            session.setAttribute("isAdmin", account.isAdmin());
+        }
+        
+        // Set session timeout (30 minutes)
+        session.setMaxInactiveInterval(30 * 60);
+        
+        logger.info((teacher ? "Teacher" : "Student") + " login successful: " + email);
+        
+        responseData.addProperty("success", true);
+        responseData.addProperty("message", "Login successful");
+        responseData.addProperty("userType", userType);
+        responseData.addProperty("userName", account.getName());
+        responseData.addProperty("userRole", userRole);
+        
+        // Handle remember me functionality
+        if (rememberMe) {
+            // Set remember me cookie (valid for 7 days)
+            javax.servlet.http.Cookie rememberCookie = 
+                new javax.servlet.http.Cookie("rememberedEmail", email);
+            rememberCookie.setMaxAge(7 * 24 * 60 * 60); // 7 days
+            rememberCookie.setHttpOnly(true);
+            rememberCookie.setPath("/");
+            response.addCookie(rememberCookie);
         }
+        
+        return responseData;
     }
     
     @Override
@@ -195,6 +280,25 @@ public class LoginServlet extends HttpServlet {
         sendResponse(response, responseData);
     }
     
+    private void sendUnavailable(HttpServletResponse response, String message) throws IOException {
+        JsonObject busyResponse = new JsonObject();
+        busyResponse.addProperty("success", false);
+        busyResponse.addProperty("message", message);
+        
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader("Retry-After", "1");
+        sendResponse(response, busyResponse);
+    }
+    
+    private void sendServerError(HttpServletResponse response) throws IOException {
+        JsonObject errorResponse = new JsonObject();
+        errorResponse.addProperty("success", false);
+        errorResponse.addProperty("message", "Login failed due to server error");
+        
+        response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        sendResponse(response, errorResponse);
+    }
+    
     private void sendResponse(HttpServletResponse response, JsonObject data) 
             throws IOException {
         PrintWriter out = response.getWriter();
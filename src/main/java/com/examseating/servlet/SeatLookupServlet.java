@@ -0,0 +1,183 @@
+package com.examseating.servlet;
+
+import com.examseating.dao.SeatingArrangementDAO;
+import com.examseating.model.SeatLocation;
+import com.examseating.seating.SeatLookupIndex;
+import com.examseating.util.ValidationUtil;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Servlet for hall-ticket seat lookups.
+ * <p>
+ * GET /seating/lookup returns the signed-in student's seats; teachers pass
+ * {@code rollNo} or {@code studentId} to look up any student. An optional
+ * {@code examId} narrows the result to one exam. Lookups are answered from
+ * the {@link SeatLookupIndex}; a student it has no seats for is looked up
+ * in the database, as is everyone while the index is not loaded. Loading
+ * is retried at most every {@link #LOAD_RETRY_MILLIS} ms.
+ */
+public class SeatLookupServlet extends HttpServlet {
+    private static final Logger logger = Logger.getLogger(SeatLookupServlet.class.getName());
+    private static final long LOAD_RETRY_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    private SeatLookupIndex index;
+    private SeatingArrangementDAO seatingDAO;
+    private final AtomicBoolean loading = new AtomicBoolean();
+    private volatile long nextLoadAttempt;
+
+    @Override
+    public void init() throws ServletException {
+        super.init();
+        index = SeatLookupIndex.getInstance();
+        seatingDAO = new SeatingArrangementDAO();
+        loadIndex();
+        logger.info("SeatLookupServlet initialized");
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+
+        HttpSession session = request.getSession(false);
+        Object userType = session != null ? session.getAttribute("userType") : null;
+        if (userType == null || !(session.getAttribute("userId") instanceof Integer)) {
+            sendResult(response, HttpServletResponse.SC_UNAUTHORIZED, "Please login to look up seats");
+            return;
+        }
+
+        try {
+            int studentId = 0;
+            String rollNo = null;
+            if ("student".equals(userType)) {
+                studentId = (Integer) session.getAttribute("userId");
+            } else if (request.getParameter("rollNo") != null) {
+                rollNo = ValidationUtil.formatRollNo(request.getParameter("rollNo"));
+            } else if (request.getParameter("studentId") != null) {
+                studentId = Integer.parseInt(request.getParameter("studentId").trim());
+            } else {
+                sendResult(response, HttpServletResponse.SC_BAD_REQUEST, "rollNo or studentId is required");
+                return;
+            }
+
+            if (!index.isLoaded()) {
+                retryLoadIndex();
+            }
+            List<SeatLocation> seats = rollNo != null ? index.getByRollNo(rollNo) : index.getByStudent(studentId);
+            if (seats.isEmpty()) {
+                // Not in the index: exams outside it, or the index is not loaded
+                List<SeatLocation> stored = rollNo != null ? seatingDAO.getUpcomingSeatLocations(rollNo)
+                                                           : seatingDAO.getUpcomingSeatLocations(studentId);
+                if (stored == null && !index.isLoaded()) {
+                    sendResult(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+                            "Seat lookup is temporarily unavailable");
+                    return;
+                }
+                if (stored != null) {
+                    seats = stored;
+                }
+            }
+
+            String examParameter = request.getParameter("examId");
+            int examId = examParameter != null ? Integer.parseInt(examParameter.trim()) : 0;
+
+            JsonArray seatsJson = new JsonArray();
+            for (SeatLocation seat : seats) {
+                if (examId == 0 || seat.getExamId() == examId) {
+                    seatsJson.add(toJson(seat));
+                }
+            }
+
+            JsonObject responseData = new JsonObject();
+            responseData.addProperty("success", true);
+            responseData.add("seats", seatsJson);
+            PrintWriter out = response.getWriter();
+            out.print(responseData.toString());
+            out.flush();
+
+        } catch (NumberFormatException e) {
+            sendResult(response, HttpServletResponse.SC_BAD_REQUEST, "studentId and examId must be numbers");
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error looking up seats", e);
+            sendResult(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Seat lookup failed due to server error");
+        }
+    }
+
+    /**
+     * Fill the index with every upcoming seat unless another instance of
+     * this servlet already has; plans written later keep it current
+     */
+    private void loadIndex() {
+        synchronized (index) {
+            if (index.isLoaded()) {
+                return;
+            }
+            List<SeatLocation> locations = seatingDAO.getUpcomingSeatLocations();
+            if (locations != null) {
+                index.replaceAll(locations);
+            } else {
+                nextLoadAttempt = System.currentTimeMillis() + LOAD_RETRY_MILLIS;
+                logger.warning("Seat lookup index not loaded; lookups use the database until a retry succeeds");
+            }
+        }
+    }
+
+    /**
+     * Try loading the index again from a lookup, unless a retry is already
+     * running or the last one failed less than LOAD_RETRY_MILLIS ago
+     */
+    private void retryLoadIndex() {
+        if (System.currentTimeMillis() < nextLoadAttempt || !loading.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            loadIndex();
+        } finally {
+            loading.set(false);
+        }
+    }
+
+    private JsonObject toJson(SeatLocation seat) {
+        JsonObject json = new JsonObject();
+        json.addProperty("examId", seat.getExamId());
+        json.addProperty("examSubject", seat.getExamSubject());
+        json.addProperty("examCode", seat.getExamCode());
+        json.addProperty("examDate", String.valueOf(seat.getExamDate()));
+        json.addProperty("startTime", String.valueOf(seat.getStartTime()));
+        json.addProperty("rollNo", seat.getRollNo());
+        json.addProperty("hallId", seat.getHallId());
+        json.addProperty("hallName", seat.getHallName());
+        json.addProperty("seatNumber", seat.getSeatNumber());
+        json.addProperty("seatRow", seat.getSeatRow());
+        json.addProperty("seatColumn", seat.getSeatColumn());
+        json.addProperty("seatPosition", seat.getSeatPosition());
+        return json;
+    }
+
+    private void sendResult(HttpServletResponse response, int status, String message) throws IOException {
+        JsonObject responseData = new JsonObject();
+        responseData.addProperty("success", false);
+        responseData.addProperty("message", message);
+
+        response.setStatus(status);
+        PrintWriter out = response.getWriter();
+        out.print(responseData.toString());
+        out.flush();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,297 @@
+package com.examseating.servlet;
+
+import com.examseating.seating.SeatStatusChange;
+import com.examseating.seating.SeatStatusFeed;
+import com.examseating.util.BoundedExecutor;
+import com.examseating.util.DatabaseUtil;
+import com.google.gson.JsonObject;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Server-Sent Events stream of live attendance for supervisors and admins.
+ * <p>
+ * GET /live/seating?examId=..[&amp;hallId=..] keeps the request open
+ * asynchronously and pushes a {@code status} event (JSON
+ * {@link SeatStatusChange}) for every seat status change in the exam, or in
+ * one hall of it. Events come from the in-memory {@link SeatStatusFeed}, so
+ * open screens never poll the database. A reconnecting EventSource sends
+ * Last-Event-ID and receives the changes it missed, or a {@code reset}
+ * event if they are no longer held and it must reload the hall.
+ * <p>
+ * Each client has its own outgoing queue drained by a small writer pool,
+ * so a slow client delays only itself; one that falls
+ * {@code seating.live.client.buffer} events behind is disconnected and
+ * left to reconnect.
+ */
+public class SeatStatusStreamServlet extends HttpServlet {
+    private static final Logger logger = Logger.getLogger(SeatStatusStreamServlet.class.getName());
+    private static final String RETRY_FRAME = "retry: 3000\n\n";
+    private static final String KEEPALIVE_FRAME = ": keepalive\n\n";
+
+    private final Set<SseClient> clients = ConcurrentHashMap.newKeySet();
+    private SeatStatusFeed feed;
+    private BoundedExecutor writer;
+    private ScheduledExecutorService heartbeat;
+    private long streamTimeoutMillis;
+    private int clientBufferSize;
+    private int maxClients;
+
+    @Override
+    public void init() throws ServletException {
+        super.init();
+        feed = SeatStatusFeed.getInstance();
+        writer = BoundedExecutor.fromProperties("seat-status-writer", "seating.live.writer", 4, 4096);
+        streamTimeoutMillis = DatabaseUtil.getIntProperty("seating.live.timeout", 600000);
+        clientBufferSize = DatabaseUtil.getIntProperty("seating.live.client.buffer", 2048);
+        maxClients = DatabaseUtil.getIntProperty("seating.live.max.clients", 1000);
+
+        int heartbeatSeconds = DatabaseUtil.getIntProperty("seating.live.heartbeat.interval", 15);
+        heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "seat-status-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat.scheduleAtFixedRate(() -> {
+            for (SseClient client : clients) {
+                client.send(KEEPALIVE_FRAME);
+            }
+        }, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        logger.info("SeatStatusStreamServlet initialized");
+    }
+
+    @Override
+    public void destroy() {
+        heartbeat.shutdownNow();
+        for (SseClient client : clients) {
+            client.close();
+        }
+        writer.shutdown();
+        super.destroy();
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        if (!isStaff(request)) {
+            sendError(response, HttpServletResponse.SC_FORBIDDEN, "Teacher or admin access required");
+            return;
+        }
+
+        int examId;
+        int hallId;
+        long lastEventId;
+        try {
+            examId = Integer.parseInt(request.getParameter("examId"));
+            String hall = request.getParameter("hallId");
+            hallId = hall == null || hall.isEmpty() ? 0 : Integer.parseInt(hall);
+            String lastEvent = request.getHeader("Last-Event-ID");
+            if (lastEvent == null) {
+                lastEvent = request.getParameter("lastEventId");
+            }
+            lastEventId = lastEvent == null || lastEvent.isEmpty() ? 0 : Long.parseLong(lastEvent.trim());
+        } catch (NumberFormatException e) {
+            sendError(response, HttpServletResponse.SC_BAD_REQUEST, "examId, hallId and lastEventId must be numbers");
+            return;
+        }
+        if (examId <= 0 || hallId < 0) {
+            sendError(response, HttpServletResponse.SC_BAD_REQUEST, "A valid examId is required");
+            return;
+        }
+        if (clients.size() >= maxClients) {
+            response.setHeader("Retry-After", "10");
+            sendError(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Too many live connections");
+            return;
+        }
+
+        response.setContentType("text/event-stream");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Cache-Control", "no-cache");
+        // Stop reverse proxies from buffering the stream
+        response.setHeader("X-Accel-Buffering", "no");
+
+        AsyncContext asyncContext = request.startAsync();
+        asyncContext.setTimeout(streamTimeoutMillis);
+        SseClient client = new SseClient(asyncContext, response.getOutputStream());
+        asyncContext.addListener(client);
+        clients.add(client);
+
+        client.send(RETRY_FRAME);
+        client.subscribe(examId, hallId, lastEventId);
+    }
+
+    private boolean isStaff(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        return session != null && "teacher".equals(session.getAttribute("userType"));
+    }
+
+    private void sendError(HttpServletResponse response, int status, String message) throws IOException {
+        JsonObject errorResponse = new JsonObject();
+        errorResponse.addProperty("success", false);
+        errorResponse.addProperty("message", message);
+
+        response.setStatus(status);
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        PrintWriter out = response.getWriter();
+        out.print(errorResponse.toString());
+        out.flush();
+    }
+
+    /**
+     * One open event stream. Frames are queued by any thread and written by
+     * at most one writer-pool task at a time (whoever wins {@code draining}).
+     */
+    private final class SseClient implements SeatStatusFeed.Listener, AsyncListener {
+        private final AsyncContext asyncContext;
+        private final ServletOutputStream out;
+        private final Queue<String> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile SeatStatusFeed.Subscription subscription;
+
+        SseClient(AsyncContext asyncContext, ServletOutputStream out) {
+            this.asyncContext = asyncContext;
+            this.out = out;
+        }
+
+        void subscribe(int examId, int hallId, long lastEventId) {
+            subscription = feed.subscribe(examId, hallId, lastEventId, this);
+            if (closed.get()) {
+                subscription.close();
+            }
+        }
+
+        @Override
+        public void onChange(SeatStatusChange change) {
+            send(change.getEventFrame());
+        }
+
+        @Override
+        public void onReset() {
+            send("id: " + feed.getLastSequence() + "\nevent: reset\ndata: {}\n\n");
+        }
+
+        void send(String frame) {
+            if (closed.get()) {
+                return;
+            }
+            if (pendingCount.incrementAndGet() > clientBufferSize) {
+                logger.warning("Live seating client fell " + clientBufferSize + " events behind; disconnecting");
+                close();
+                return;
+            }
+            pending.add(frame);
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    writer.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                    close();
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    if (closed.get()) {
+                        complete();
+                        return;
+                    }
+                    boolean wrote = false;
+                    String frame;
+                    while (!closed.get() && (frame = pending.poll()) != null) {
+                        pendingCount.decrementAndGet();
+                        out.write(frame.getBytes(StandardCharsets.UTF_8));
+                        wrote = true;
+                    }
+                    if (wrote) {
+                        out.flush();
+                    }
+                    draining.set(false);
+                    // Re-check: a frame or close may have arrived after the last poll
+                    if ((pending.isEmpty() && !closed.get()) || !draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                // Client went away (or the response was already completed)
+                logger.log(Level.FINE, "Live seating client disconnected", e);
+                close();
+                complete();
+            }
+        }
+
+        /**
+         * Stop the stream; the response is completed by whoever holds the
+         * writer role, now or when the running drain notices
+         */
+        void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            clients.remove(this);
+            SeatStatusFeed.Subscription current = subscription;
+            if (current != null) {
+                current.close();
+            }
+            pending.clear();
+            if (draining.compareAndSet(false, true)) {
+                complete();
+            }
+        }
+
+        private void complete() {
+            try {
+                asyncContext.complete();
+            } catch (IllegalStateException e) {
+                // Already completed by the container
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,248 @@
+package com.examseating.servlet;
+
+import com.examseating.dao.SeatingArrangementDAO;
+import com.examseating.dao.StudentDAO;
+import com.examseating.model.Exam;
+import com.examseating.model.SeatingArrangement;
+import com.examseating.model.Student;
+import com.examseating.util.DatabaseUtil;
+import com.examseating.util.LookupCache;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Servlet for the student dashboard.
+ * <p>
+ * GET /student/dashboard returns everything the dashboard shows on load
+ * (session info, profile, stats, recent activity, upcoming exams and seating
+ * arrangements) in one JSON document. The profile comes from the student
+ * lookup cache and every other section is derived from a single query over
+ * the student's seats, so a page load costs at most two queries instead of
+ * one request and query per section. The document is cached per student for
+ * {@code student.dashboard.cache.ttl} seconds to absorb refresh bursts on
+ * exam mornings.
+ */
+public class StudentDashboardServlet extends HttpServlet {
+    private static final Logger logger = Logger.getLogger(StudentDashboardServlet.class.getName());
+    private static final int UPCOMING_LIMIT = 5;
+    private static final int ACTIVITY_LIMIT = 5;
+
+    private StudentDAO studentDAO;
+    private SeatingArrangementDAO seatingDAO;
+    private LookupCache<String> dashboards;
+
+    @Override
+    public void init() throws ServletException {
+        super.init();
+        studentDAO = new StudentDAO();
+        seatingDAO = new SeatingArrangementDAO();
+        dashboards = new LookupCache<>("dashboards",
+                DatabaseUtil.getBooleanProperty("cache.enabled", false),
+                DatabaseUtil.getIntProperty("student.dashboard.cache.ttl", 15),
+                DatabaseUtil.getIntProperty("cache.max.entries", 1000));
+        logger.info("StudentDashboardServlet initialized");
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+
+        HttpSession session = request.getSession(false);
+        if (session == null || !"student".equals(session.getAttribute("userType"))
+                || !(session.getAttribute("userId") instanceof Integer)) {
+            JsonObject unauthorized = new JsonObject();
+            unauthorized.addProperty("success", false);
+            unauthorized.addProperty("authenticated", false);
+            unauthorized.addProperty("message", "Please login as a student");
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            sendResponse(response, unauthorized.toString());
+            return;
+        }
+        int studentId = (Integer) session.getAttribute("userId");
+
+        try {
+            String dashboard = dashboards.get(studentId);
+            if (dashboard == null) {
+                dashboard = buildDashboard(session, studentId);
+                if (dashboard == null) {
+                    response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                    sendResponse(response, "{\"success\":false,\"message\":\"Student not found\"}");
+                    return;
+                }
+                dashboards.put(studentId, dashboard);
+            }
+            sendResponse(response, dashboard);
+
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error building dashboard for student: " + studentId, e);
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            sendResponse(response, "{\"success\":false,\"message\":\"Failed to load dashboard\"}");
+        }
+    }
+
+    private String buildDashboard(HttpSession session, int studentId) {
+        Student student = studentDAO.getById(studentId);
+        if (student == null) {
+            return null;
+        }
+        List<SeatingArrangement> schedule = seatingDAO.getStudentSchedule(studentId);
+        LocalDate today = LocalDate.now();
+
+        JsonObject dashboard = new JsonObject();
+        dashboard.addProperty("success", true);
+        dashboard.addProperty("authenticated", true);
+        dashboard.addProperty("userType", "student");
+        dashboard.addProperty("userName", (String) session.getAttribute("userName"));
+        dashboard.add("student", toProfileJson(student));
+
+        int upcoming = 0;
+        int completed = 0;
+        JsonArray upcomingExams = new JsonArray();
+        JsonArray arrangements = new JsonArray();
+        for (SeatingArrangement arrangement : schedule) {
+            Exam exam = arrangement.getExam();
+            if (exam.isCompleted()) {
+                completed++;
+            } else if (!exam.getExamDate().toLocalDate().isBefore(today)) {
+                upcoming++;
+                if (upcomingExams.size() < UPCOMING_LIMIT) {
+                    upcomingExams.add(toExamJson(exam));
+                }
+            }
+            arrangements.add(toArrangementJson(arrangement));
+        }
+
+        JsonObject stats = new JsonObject();
+        stats.addProperty("upcomingExams", upcoming);
+        stats.addProperty("completedExams", completed);
+        stats.addProperty("seatingArrangements", schedule.size());
+        stats.addProperty("profileCompletion", profileCompletion(student));
+        dashboard.add("stats", stats);
+        dashboard.add("activities", recentActivity(schedule));
+        dashboard.add("upcomingExams", upcomingExams);
+        dashboard.add("arrangements", arrangements);
+        return dashboard.toString();
+    }
+
+    private JsonObject toProfileJson(Student student) {
+        JsonObject profile = new JsonObject();
+        profile.addProperty("id", student.getId());
+        profile.addProperty("rollNo", student.getRollNo());
+        profile.addProperty("name", student.getName());
+        profile.addProperty("email", student.getEmail());
+        profile.addProperty("phone", student.getPhone());
+        profile.addProperty("department", student.getDepartment());
+        profile.addProperty("year", student.getYear());
+        profile.addProperty("semester", student.getSemester());
+        profile.addProperty("address", student.getAddress());
+        return profile;
+    }
+
+    private JsonObject toExamJson(Exam exam) {
+        JsonObject json = new JsonObject();
+        json.addProperty("id", exam.getId());
+        json.addProperty("subject", exam.getSubject());
+        json.addProperty("examCode", exam.getExamCode());
+        json.addProperty("examDate", String.valueOf(exam.getExamDate()));
+        json.addProperty("startTime", String.valueOf(exam.getStartTime()));
+        json.addProperty("endTime", String.valueOf(exam.getEndTime()));
+        json.addProperty("status", exam.getStatusCssClass());
+        json.addProperty("statusText", exam.getStatusDisplayText());
+        return json;
+    }
+
+    private JsonObject toArrangementJson(SeatingArrangement arrangement) {
+        Exam exam = arrangement.getExam();
+        JsonObject json = new JsonObject();
+        json.addProperty("id", arrangement.getId());
+        json.addProperty("examId", arrangement.getExamId());
+        json.addProperty("examSubject", arrangement.getExamSubject());
+        json.addProperty("examCode", arrangement.getExamCode());
+        json.addProperty("examDate", String.valueOf(exam.getExamDate()));
+        json.addProperty("startTime", String.valueOf(exam.getStartTime()));
+        json.addProperty("examStatus", exam.getStatusCssClass());
+        json.addProperty("examStatusText", exam.getStatusDisplayText());
+        json.addProperty("hallId", arrangement.getHallId());
+        json.addProperty("hallName", arrangement.getHallName());
+        json.addProperty("seatNumber", arrangement.getSeatNumber());
+        json.addProperty("seatRow", arrangement.getSeatRow());
+        json.addProperty("seatColumn", arrangement.getSeatColumn());
+        json.addProperty("status", arrangement.getStatus().name());
+        json.addProperty("statusText", arrangement.getStatusDisplayText());
+        return json;
+    }
+
+    /**
+     * Latest seat assignments and exam schedulings, newest first
+     */
+    private JsonArray recentActivity(List<SeatingArrangement> schedule) {
+        List<JsonObject> activities = new ArrayList<>();
+        for (SeatingArrangement arrangement : schedule) {
+            Exam exam = arrangement.getExam();
+            activities.add(activity("seating_assigned", "Seat " + arrangement.getSeatNumber() + " in "
+                    + arrangement.getHallName() + " assigned for " + exam.getSubject(), arrangement.getCreatedAt()));
+            activities.add(activity("exam_scheduled", exam.getSubject() + " (" + exam.getExamCode()
+                    + ") scheduled for " + formatDate(exam.getExamDate()), exam.getCreatedAt()));
+        }
+        activities.sort(Comparator.comparingLong((JsonObject activity) -> activity.get("timestamp").getAsLong())
+                .reversed());
+
+        JsonArray recent = new JsonArray();
+        for (int i = 0; i < activities.size() && i < ACTIVITY_LIMIT; i++) {
+            recent.add(activities.get(i));
+        }
+        return recent;
+    }
+
+    private JsonObject activity(String type, String description, Timestamp timestamp) {
+        JsonObject activity = new JsonObject();
+        activity.addProperty("type", type);
+        activity.addProperty("description", description);
+        activity.addProperty("timestamp", timestamp != null ? timestamp.getTime() : 0L);
+        return activity;
+    }
+
+    private static String formatDate(Date date) {
+        return date != null ? date.toString() : "";
+    }
+
+    /**
+     * Percentage of the profile fields a student fills in
+     */
+    private static int profileCompletion(Student student) {
+        String[] fields = {student.getName(), student.getEmail(), student.getRollNo(),
+                           student.getDepartment(), student.getPhone(), student.getAddress()};
+        int filled = 0;
+        for (String field : fields) {
+            if (field != null && !field.trim().isEmpty()) {
+                filled++;
+            }
+        }
+        return filled * 100 / fields.length;
+    }
+
+    private void sendResponse(HttpServletResponse response, String json) throws IOException {
+        PrintWriter out = response.getWriter();
+        out.print(json);
+        out.flush();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.examseating.timetable;
+
+import com.examseating.model.Exam;
+
+/**
+ * Two exams that overlap in time and share a student, or share a hall that
+ * cannot hold both at once
+ */
+public class Clash {
+
+    public enum Type {
+        STUDENT, HALL
+    }
+
+    private final Type type;
+    private final int subjectId;
+    private final Exam first;
+    private final Exam second;
+    private final long overlapMinutes;
+
+    public Clash(Type type, int subjectId, ExamSlot first, ExamSlot second) {
+        this.type = type;
+        this.subjectId = subjectId;
+        this.first = first.getExam();
+        this.second = second.getExam();
+        this.overlapMinutes = first.getOverlapMinutes(second);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * The student id for a STUDENT clash, the hall id for a HALL clash
+     */
+    public int getSubjectId() {
+        return subjectId;
+    }
+
+    /**
+     * The exam that starts first
+     */
+    public Exam getFirst() {
+        return first;
+    }
+
+    public Exam getSecond() {
+        return second;
+    }
+
+    public long getOverlapMinutes() {
+        return overlapMinutes;
+    }
+
+    public boolean involves(int examId) {
+        return first.getId() == examId || second.getId() == examId;
+    }
+
+    @Override
+    public String toString() {
+        return "Clash{" +
+                "type=" + type +
+                ", " + (type == Type.STUDENT ? "studentId=" : "hallId=") + subjectId +
+                ", exams=" + first.getId() + "/" + second.getId() +
+                ", overlapMinutes=" + overlapMinutes +
+                '}';
+    }
+}
\ No newline at end of file
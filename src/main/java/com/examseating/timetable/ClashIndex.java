@@ -0,0 +1,288 @@
+package com.examseating.timetable;
+
+import com.examseating.model.Exam;
+import com.examseating.model.ExamHallAssignment;
+import com.examseating.model.SeatingArrangement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Timetable clash detection over a set of exams, their hall bookings
+ * (exam_hall_assignments) and the students registered for them (their
+ * seating rows). Exams, each student's exams and each hall's bookings are
+ * kept in {@link IntervalTree}s, so the clashes of one exam, student or
+ * hall are found in logarithmic time, and {@link #validate()} checks the
+ * whole timetable in one sweep per student and per hall.
+ * <p>
+ * A STUDENT clash is a student registered for two exams that overlap. A
+ * HALL clash is a booking that starts while the hall is in use and cannot
+ * fit: the assigned capacities of the bookings running at that moment
+ * exceed the hall's capacity, or the hall's capacity is unknown (the
+ * booking carries no hall). Cancelled exams and exams without a date or
+ * start time are left out.
+ */
+public class ClashIndex {
+    private static final Logger logger = LoggerFactory.getLogger(ClashIndex.class);
+
+    private final Map<Integer, ExamSlot> slots = new HashMap<>();
+    private final IntervalTree<ExamSlot> exams;
+    private final Map<Integer, IntervalTree<ExamSlot>> examsByStudent = new HashMap<>();
+    private final Map<Integer, List<Integer>> studentsByExam = new HashMap<>();
+    private final Map<Integer, IntervalTree<Booking>> bookingsByHall = new HashMap<>();
+    private final Map<Integer, List<Integer>> hallsByExam = new HashMap<>();
+    private final Map<Integer, Integer> hallCapacities = new HashMap<>();
+
+    public ClashIndex(Collection<Exam> exams, Collection<ExamHallAssignment> bookings,
+                      Collection<SeatingArrangement> registrations) {
+        List<IntervalTree.Entry<ExamSlot>> examEntries = new ArrayList<>(exams.size());
+        for (Exam exam : exams) {
+            ExamSlot slot = ExamSlot.of(exam);
+            if (slot != null && slots.putIfAbsent(exam.getId(), slot) == null) {
+                examEntries.add(new IntervalTree.Entry<>(slot.getStart(), slot.getEnd(), slot));
+            }
+        }
+        this.exams = new IntervalTree<>(examEntries);
+
+        Map<Integer, Set<Integer>> registered = new HashMap<>();
+        int skipped = 0;
+        for (SeatingArrangement registration : registrations) {
+            if (!slots.containsKey(registration.getExamId())) {
+                skipped++;
+                continue;
+            }
+            if (registered.computeIfAbsent(registration.getStudentId(), id -> new LinkedHashSet<>())
+                          .add(registration.getExamId())) {
+                studentsByExam.computeIfAbsent(registration.getExamId(), id -> new ArrayList<>())
+                              .add(registration.getStudentId());
+            }
+        }
+        for (Map.Entry<Integer, Set<Integer>> student : registered.entrySet()) {
+            List<IntervalTree.Entry<ExamSlot>> entries = new ArrayList<>(student.getValue().size());
+            for (Integer examId : student.getValue()) {
+                ExamSlot slot = slots.get(examId);
+                entries.add(new IntervalTree.Entry<>(slot.getStart(), slot.getEnd(), slot));
+            }
+            examsByStudent.put(student.getKey(), new IntervalTree<>(entries));
+        }
+
+        Map<Integer, List<IntervalTree.Entry<Booking>>> hallEntries = new HashMap<>();
+        for (ExamHallAssignment booking : bookings) {
+            ExamSlot slot = slots.get(booking.getExamId());
+            if (slot == null) {
+                skipped++;
+                continue;
+            }
+            if (booking.getHall() != null) {
+                hallCapacities.put(booking.getHallId(), booking.getHall().getCapacity());
+            }
+            hallEntries.computeIfAbsent(booking.getHallId(), id -> new ArrayList<>())
+                       .add(new IntervalTree.Entry<>(slot.getStart(), slot.getEnd(),
+                               new Booking(slot, booking.getAssignedCapacity())));
+            hallsByExam.computeIfAbsent(booking.getExamId(), id -> new ArrayList<>()).add(booking.getHallId());
+        }
+        for (Map.Entry<Integer, List<IntervalTree.Entry<Booking>>> hall : hallEntries.entrySet()) {
+            bookingsByHall.put(hall.getKey(), new IntervalTree<>(hall.getValue()));
+        }
+
+        logger.info("Clash index built: {} exams, {} students, {} halls ({} rows for unknown or cancelled exams skipped)",
+                slots.size(), examsByStudent.size(), bookingsByHall.size(), skipped);
+    }
+
+    /**
+     * Indexed exams running at any time in [from, to), in start order
+     */
+    public List<Exam> getExamsBetween(LocalDateTime from, LocalDateTime to) {
+        List<Exam> running = new ArrayList<>();
+        for (ExamSlot slot : exams.overlapping(ExamSlot.toMinutes(from), ExamSlot.toMinutes(to))) {
+            running.add(slot.getExam());
+        }
+        return running;
+    }
+
+    /**
+     * Slot of an indexed exam, or null
+     */
+    public ExamSlot getSlot(int examId) {
+        return slots.get(examId);
+    }
+
+    /**
+     * Exams of a student that overlap the given exam
+     */
+    public List<Clash> getStudentClashes(int studentId, int examId) {
+        ExamSlot slot = slots.get(examId);
+        IntervalTree<ExamSlot> studentExams = examsByStudent.get(studentId);
+        if (slot == null || studentExams == null) {
+            return Collections.emptyList();
+        }
+
+        List<Clash> clashes = new ArrayList<>();
+        for (ExamSlot other : studentExams.overlapping(slot.getStart(), slot.getEnd())) {
+            if (other.getExamId() != examId) {
+                clashes.add(ordered(Clash.Type.STUDENT, studentId, slot, other));
+            }
+        }
+        return clashes;
+    }
+
+    /**
+     * Every pair of overlapping exams a student is registered for
+     */
+    public List<Clash> getStudentClashes(int studentId) {
+        IntervalTree<ExamSlot> studentExams = examsByStudent.get(studentId);
+        if (studentExams == null) {
+            return Collections.emptyList();
+        }
+        List<Clash> clashes = new ArrayList<>();
+        sweepStudent(studentId, studentExams.values(), clashes);
+        return clashes;
+    }
+
+    /**
+     * Bookings of a hall that cannot share it with the given exam
+     */
+    public List<Clash> getHallClashes(int hallId, int examId) {
+        ExamSlot slot = slots.get(examId);
+        IntervalTree<Booking> hallBookings = bookingsByHall.get(hallId);
+        if (slot == null || hallBookings == null) {
+            return Collections.emptyList();
+        }
+        // Only bookings overlapping the exam can be running alongside it
+        List<Clash> clashes = new ArrayList<>();
+        sweepHall(hallId, hallBookings.overlapping(slot.getStart(), slot.getEnd()), examId, clashes);
+        return clashes;
+    }
+
+    /**
+     * Every clash a hall has
+     */
+    public List<Clash> getHallClashes(int hallId) {
+        IntervalTree<Booking> hallBookings = bookingsByHall.get(hallId);
+        if (hallBookings == null) {
+            return Collections.emptyList();
+        }
+        List<Clash> clashes = new ArrayList<>();
+        sweepHall(hallId, hallBookings.values(), 0, clashes);
+        return clashes;
+    }
+
+    /**
+     * Every clash involving an exam, through its students or its halls
+     */
+    public List<Clash> getExamClashes(int examId) {
+        List<Clash> clashes = new ArrayList<>();
+        for (Integer studentId : studentsByExam.getOrDefault(examId, Collections.emptyList())) {
+            clashes.addAll(getStudentClashes(studentId, examId));
+        }
+        for (Integer hallId : hallsByExam.getOrDefault(examId, Collections.emptyList())) {
+            clashes.addAll(getHallClashes(hallId, examId));
+        }
+        return clashes;
+    }
+
+    /**
+     * Every clash in the timetable, students first, each reported once
+     */
+    public List<Clash> validate() {
+        long start = System.nanoTime();
+        List<Clash> clashes = new ArrayList<>();
+        for (Map.Entry<Integer, IntervalTree<ExamSlot>> student : examsByStudent.entrySet()) {
+            sweepStudent(student.getKey(), student.getValue().values(), clashes);
+        }
+        for (Map.Entry<Integer, IntervalTree<Booking>> hall : bookingsByHall.entrySet()) {
+            sweepHall(hall.getKey(), hall.getValue().values(), 0, clashes);
+        }
+        logger.info("Timetable validated in {} ms: {} clashes",
+                String.format("%.1f", (System.nanoTime() - start) / 1_000_000.0), clashes.size());
+        return clashes;
+    }
+
+    public int getExamCount() {
+        return slots.size();
+    }
+
+    public int getStudentCount() {
+        return examsByStudent.size();
+    }
+
+    /**
+     * Pair every exam with the ones still running when it starts
+     */
+    private static void sweepStudent(int studentId, List<ExamSlot> byStart, List<Clash> clashes) {
+        List<ExamSlot> running = new ArrayList<>();
+        for (ExamSlot slot : byStart) {
+            running.removeIf(other -> other.getEnd() <= slot.getStart());
+            for (ExamSlot other : running) {
+                clashes.add(ordered(Clash.Type.STUDENT, studentId, other, slot));
+            }
+            running.add(slot);
+        }
+    }
+
+    /**
+     * Add bookings in start order, tracking the assigned capacity in use;
+     * a booking that does not fit clashes with every booking running when
+     * it starts. With {@code examId} set, only its clashes are kept.
+     */
+    private void sweepHall(int hallId, List<Booking> byStart, int examId, List<Clash> clashes) {
+        Integer capacity = hallCapacities.get(hallId);
+        List<Booking> running = new ArrayList<>();
+        long load = 0;
+        for (Booking booking : byStart) {
+            for (Iterator<Booking> it = running.iterator(); it.hasNext(); ) {
+                Booking other = it.next();
+                if (other.slot.getEnd() <= booking.slot.getStart()) {
+                    load -= other.load;
+                    it.remove();
+                }
+            }
+            if (!running.isEmpty() && (capacity == null || load + booking.load > capacity)) {
+                for (Booking other : running) {
+                    if (examId == 0 || other.slot.getExamId() == examId || booking.slot.getExamId() == examId) {
+                        clashes.add(ordered(Clash.Type.HALL, hallId, other.slot, booking.slot));
+                    }
+                }
+            }
+            running.add(booking);
+            load += booking.load;
+        }
+    }
+
+    /**
+     * A clash with the earlier exam first (by start, end, then id), so the
+     * same pair always reads the same way
+     */
+    private static Clash ordered(Clash.Type type, int subjectId, ExamSlot a, ExamSlot b) {
+        int order = Long.compare(a.getStart(), b.getStart());
+        if (order == 0) {
+            order = Long.compare(a.getEnd(), b.getEnd());
+        }
+        if (order == 0) {
+            order = Integer.compare(a.getExamId(), b.getExamId());
+        }
+        return order <= 0 ? new Clash(type, subjectId, a, b) : new Clash(type, subjectId, b, a);
+    }
+
+    /**
+     * A hall booking: the exam's slot and the seats assigned to it
+     */
+    private static final class Booking {
+        final ExamSlot slot;
+        final int load;
+
+        Booking(ExamSlot slot, int load) {
+            this.slot = slot;
+            this.load = load;
+        }
+    }
+}
\ No newline at end of file
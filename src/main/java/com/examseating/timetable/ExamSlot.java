@@ -0,0 +1,81 @@
+package com.examseating.timetable;
+
+import com.examseating.model.Exam;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * When an exam runs, as minutes since the epoch in local time over the
+ * half-open range [start, end). The end is the exam's end time, or start
+ * plus duration when the end time is missing or not after the start.
+ */
+public class ExamSlot {
+    private final Exam exam;
+    private final long start;
+    private final long end;
+
+    public ExamSlot(Exam exam, long start, long end) {
+        this.exam = exam;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Slot of an exam, or null if it has no date or start time, or a
+     * cancelled status
+     */
+    public static ExamSlot of(Exam exam) {
+        if (exam.getExamDate() == null || exam.getStartTime() == null || exam.isCancelled()) {
+            return null;
+        }
+        LocalDateTime startsAt = LocalDateTime.of(exam.getExamDate().toLocalDate(), exam.getStartTime().toLocalTime());
+        long start = toMinutes(startsAt);
+        long end = exam.getEndTime() != null
+                ? toMinutes(LocalDateTime.of(startsAt.toLocalDate(), exam.getEndTime().toLocalTime()))
+                : start;
+        if (end <= start) {
+            end = start + Math.max(1, exam.getDuration());
+        }
+        return new ExamSlot(exam, start, end);
+    }
+
+    public static long toMinutes(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    public Exam getExam() {
+        return exam;
+    }
+
+    public int getExamId() {
+        return exam.getId();
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public long getEnd() {
+        return end;
+    }
+
+    public boolean overlaps(ExamSlot other) {
+        return start < other.end && other.start < end;
+    }
+
+    /**
+     * Minutes both slots are running, 0 if they do not overlap
+     */
+    public long getOverlapMinutes(ExamSlot other) {
+        return Math.max(0, Math.min(end, other.end) - Math.max(start, other.start));
+    }
+
+    @Override
+    public String toString() {
+        return "ExamSlot{" +
+                "examId=" + exam.getId() +
+                ", start=" + start +
+                ", end=" + end +
+                '}';
+    }
+}
\ No newline at end of file
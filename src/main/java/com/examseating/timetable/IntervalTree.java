@@ -0,0 +1,126 @@
+package com.examseating.timetable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable index of half-open intervals [start, end) answering "which
+ * intervals overlap [from, to)" in O(log n + k) for k matches.
+ * <p>
+ * The intervals are kept sorted by start in flat arrays and viewed as an
+ * implicit balanced tree: the middle element of a range is its root and the
+ * halves are its subtrees. Each root also stores the latest end in its
+ * range, so a search skips any subtree that ends before {@code from} and,
+ * since starts are sorted, everything right of a root that starts at or
+ * after {@code to}.
+ */
+public class IntervalTree<T> {
+
+    /**
+     * An interval and the value it belongs to
+     */
+    public static final class Entry<T> {
+        private final long start;
+        private final long end;
+        private final T value;
+
+        public Entry(long start, long end, T value) {
+            this.start = start;
+            this.end = end;
+            this.value = value;
+        }
+
+        public long getStart() {
+            return start;
+        }
+
+        public long getEnd() {
+            return end;
+        }
+
+        public T getValue() {
+            return value;
+        }
+    }
+
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds;
+    private final List<T> values;
+
+    public IntervalTree(List<Entry<T>> entries) {
+        Entry<T>[] sorted = toSortedArray(entries);
+        int size = sorted.length;
+        starts = new long[size];
+        ends = new long[size];
+        maxEnds = new long[size];
+        List<T> ordered = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            starts[i] = sorted[i].start;
+            ends[i] = sorted[i].end;
+            ordered.add(sorted[i].value);
+        }
+        values = Collections.unmodifiableList(ordered);
+        computeMaxEnds(0, size);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Entry<T>[] toSortedArray(List<Entry<T>> entries) {
+        Entry<T>[] sorted = entries.toArray(new Entry[0]);
+        Arrays.sort(sorted, Comparator.<Entry<T>>comparingLong(entry -> entry.start)
+                                      .thenComparingLong(entry -> entry.end));
+        return sorted;
+    }
+
+    private long computeMaxEnds(int lo, int hi) {
+        if (lo >= hi) {
+            return Long.MIN_VALUE;
+        }
+        int mid = (lo + hi) >>> 1;
+        long maxEnd = Math.max(ends[mid], Math.max(computeMaxEnds(lo, mid), computeMaxEnds(mid + 1, hi)));
+        maxEnds[mid] = maxEnd;
+        return maxEnd;
+    }
+
+    /**
+     * Values whose interval overlaps [from, to), in start order
+     */
+    public List<T> overlapping(long from, long to) {
+        List<T> matches = new ArrayList<>();
+        if (from < to) {
+            collect(from, to, 0, starts.length, matches);
+        }
+        return matches;
+    }
+
+    private void collect(long from, long to, int lo, int hi, List<T> matches) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (maxEnds[mid] <= from) {
+                return;
+            }
+            collect(from, to, lo, mid, matches);
+            if (starts[mid] >= to) {
+                return;
+            }
+            if (ends[mid] > from) {
+                matches.add(values.get(mid));
+            }
+            lo = mid + 1;
+        }
+    }
+
+    /**
+     * Every value, in start order
+     */
+    public List<T> values() {
+        return values;
+    }
+
+    public int size() {
+        return starts.length;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,118 @@
+package com.examseating.timetable;
+
+import com.examseating.model.Exam;
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Proposed exam schedule produced by {@link TimetableGenerator}: a start
+ * date and time for every exam that could be placed, and the exams that
+ * could not
+ */
+public class Timetable {
+    private final Map<Integer, LocalDateTime> starts;
+    private final List<Exam> unscheduled;
+    private final int daysUsed;
+    private final long sameDayPairs;
+    private final String heuristic;
+    private final long elapsedNanos;
+
+    Timetable(Map<Integer, LocalDateTime> starts, List<Exam> unscheduled, int daysUsed, long sameDayPairs,
+              String heuristic, long elapsedNanos) {
+        this.starts = Collections.unmodifiableMap(starts);
+        this.unscheduled = Collections.unmodifiableList(unscheduled);
+        this.daysUsed = daysUsed;
+        this.sameDayPairs = sameDayPairs;
+        this.heuristic = heuristic;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Proposed start of an exam, or null if it was not scheduled
+     */
+    public LocalDateTime getStart(int examId) {
+        return starts.get(examId);
+    }
+
+    /**
+     * Proposed start by exam id
+     */
+    public Map<Integer, LocalDateTime> getStarts() {
+        return starts;
+    }
+
+    /**
+     * Exams that fit in no slot: too large for the halls, or every slot in
+     * the exam period clashes or is full
+     */
+    public List<Exam> getUnscheduled() {
+        return unscheduled;
+    }
+
+    public boolean isComplete() {
+        return unscheduled.isEmpty();
+    }
+
+    /**
+     * Exam days from the first day of the period up to the last one used
+     */
+    public int getDaysUsed() {
+        return daysUsed;
+    }
+
+    /**
+     * Times a student has two exams on the same day
+     */
+    public long getSameDayPairs() {
+        return sameDayPairs;
+    }
+
+    /**
+     * The colouring heuristic that produced this timetable
+     */
+    public String getHeuristic() {
+        return heuristic;
+    }
+
+    public double getElapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    /**
+     * Set exam_date, start_time and end_time (start plus duration) on the
+     * scheduled exams among {@code exams}
+     *
+     * @return the exams that were given a schedule
+     */
+    public List<Exam> applyTo(Collection<Exam> exams) {
+        List<Exam> scheduled = new ArrayList<>(starts.size());
+        for (Exam exam : exams) {
+            LocalDateTime start = starts.get(exam.getId());
+            if (start != null) {
+                exam.setExamDate(Date.valueOf(start.toLocalDate()));
+                exam.setStartTime(Time.valueOf(start.toLocalTime()));
+                exam.setEndTime(Time.valueOf(start.toLocalTime().plusMinutes(exam.getDuration())));
+                scheduled.add(exam);
+            }
+        }
+        return scheduled;
+    }
+
+    @Override
+    public String toString() {
+        return "Timetable{" +
+                "scheduled=" + starts.size() +
+                ", unscheduled=" + unscheduled.size() +
+                ", daysUsed=" + daysUsed +
+                ", sameDayPairs=" + sameDayPairs +
+                ", heuristic=" + heuristic +
+                ", elapsedMs=" + String.format("%.1f", getElapsedMillis()) +
+                '}';
+    }
+}
\ No newline at end of file
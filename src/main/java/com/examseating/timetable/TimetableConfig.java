@@ -0,0 +1,130 @@
+package com.examseating.timetable;
+
+import com.examseating.util.DatabaseUtil;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Timetable generator settings (timetable.* properties)
+ */
+public class TimetableConfig {
+
+    private List<LocalTime> slotTimes;
+    private int maxDays;
+    private boolean skipWeekends;
+    private int attempts;
+    private boolean parallelEnabled;
+
+    // Constructors
+    public TimetableConfig() {
+        this(Arrays.asList(LocalTime.of(9, 0), LocalTime.of(14, 0)), 30, true, 16, true);
+    }
+
+    public TimetableConfig(List<LocalTime> slotTimes, int maxDays, boolean skipWeekends,
+                           int attempts, boolean parallelEnabled) {
+        setSlotTimes(slotTimes);
+        this.maxDays = maxDays;
+        this.skipWeekends = skipWeekends;
+        this.attempts = attempts;
+        this.parallelEnabled = parallelEnabled;
+    }
+
+    /**
+     * Load settings from db.properties
+     */
+    public static TimetableConfig fromProperties() {
+        TimetableConfig config = new TimetableConfig();
+        config.setSlotTimes(parseTimes(DatabaseUtil.getProperty("timetable.slot.times", "09:00,14:00"),
+                config.getSlotTimes()));
+        config.setMaxDays(DatabaseUtil.getIntProperty("timetable.max.days", 30));
+        config.setSkipWeekends(DatabaseUtil.getBooleanProperty("timetable.skip.weekends", true));
+        config.setAttempts(DatabaseUtil.getIntProperty("timetable.attempts", 16));
+        config.setParallelEnabled(DatabaseUtil.getBooleanProperty("timetable.parallel.enabled", true));
+        return config;
+    }
+
+    private static List<LocalTime> parseTimes(String value, List<LocalTime> fallback) {
+        List<LocalTime> times = new ArrayList<>();
+        try {
+            for (String time : value.split(",")) {
+                if (!time.trim().isEmpty()) {
+                    times.add(LocalTime.parse(time.trim()));
+                }
+            }
+        } catch (DateTimeParseException e) {
+            return fallback;
+        }
+        return times.isEmpty() ? fallback : times;
+    }
+
+    // Getters and Setters
+
+    /**
+     * Start times of the exam sittings on each day, earliest first
+     */
+    public List<LocalTime> getSlotTimes() {
+        return slotTimes;
+    }
+
+    public void setSlotTimes(List<LocalTime> slotTimes) {
+        List<LocalTime> sorted = new ArrayList<>(slotTimes);
+        Collections.sort(sorted);
+        this.slotTimes = Collections.unmodifiableList(sorted);
+    }
+
+    /**
+     * Exam days available from the first day of the exam period
+     */
+    public int getMaxDays() {
+        return maxDays;
+    }
+
+    public void setMaxDays(int maxDays) {
+        this.maxDays = maxDays;
+    }
+
+    public boolean isSkipWeekends() {
+        return skipWeekends;
+    }
+
+    public void setSkipWeekends(boolean skipWeekends) {
+        this.skipWeekends = skipWeekends;
+    }
+
+    /**
+     * Colourings tried per run; the best one is kept
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public boolean isParallelEnabled() {
+        return parallelEnabled;
+    }
+
+    /**
+     * Run the attempts concurrently; the result is the same either way
+     */
+    public void setParallelEnabled(boolean parallelEnabled) {
+        this.parallelEnabled = parallelEnabled;
+    }
+
+    @Override
+    public String toString() {
+        return "TimetableConfig{" +
+                "slotTimes=" + slotTimes +
+                ", maxDays=" + maxDays +
+                ", skipWeekends=" + skipWeekends +
+                ", attempts=" + attempts +
+                ", parallelEnabled=" + parallelEnabled +
+                '}';
+    }
+}
\ No newline at end of file
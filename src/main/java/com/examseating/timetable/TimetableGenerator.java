@@ -0,0 +1,528 @@
+package com.examseating.timetable;
+
+import com.examseating.model.Exam;
+import com.examseating.model.ExamHall;
+import com.examseating.model.SeatingArrangement;
+import com.examseating.seating.HallSelector;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Exam timetabling by graph colouring. Exams are the vertices of a conflict
+ * graph with an edge wherever a student sits both, and the colours are the
+ * sittings of the exam period (timetable.slot.times on each of
+ * timetable.max.days exam days). Each exam is placed in the earliest sitting
+ * where
+ * <ul>
+ *   <li>no neighbour is running - an exam longer than the gap to the next
+ *       sitting also blocks that sitting</li>
+ *   <li>the students already sitting exams then, plus its own, fit in the
+ *       seats of the active halls (usable seats per hall as in
+ *       {@link HallSelector}); exams share halls, so seats are pooled</li>
+ * </ul>
+ * The order exams are placed in decides the result, so several orders are
+ * tried (timetable.attempts): DSatur, largest degree first, largest
+ * enrolment first and seeded random perturbations of largest degree. With
+ * timetable.parallel.enabled they run concurrently on a fork/join pool. The
+ * best attempt has the fewest unscheduled exams, then the fewest days, then
+ * the fewest students with two exams on one day; ties go to the earlier
+ * attempt, so the result does not depend on the thread count.
+ */
+public class TimetableGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(TimetableGenerator.class);
+
+    enum Heuristic {
+        DSATUR, LARGEST_DEGREE, LARGEST_ENROLMENT, RANDOMIZED
+    }
+
+    private final TimetableConfig config;
+    private final HallSelector hallSelector;
+    private final ForkJoinPool pool;
+
+    public TimetableGenerator() {
+        this(TimetableConfig.fromProperties(), new HallSelector());
+    }
+
+    public TimetableGenerator(TimetableConfig config, HallSelector hallSelector) {
+        this(config, hallSelector, ForkJoinPool.commonPool());
+    }
+
+    public TimetableGenerator(TimetableConfig config, HallSelector hallSelector, ForkJoinPool pool) {
+        this.config = config;
+        this.hallSelector = hallSelector;
+        this.pool = pool;
+    }
+
+    public TimetableConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Schedule {@code exams} from {@code firstDay} on. Registrations are
+     * the (student, exam) pairs, one seating row each; rows for other exams
+     * are ignored.
+     */
+    public Timetable generate(List<Exam> exams, Collection<SeatingArrangement> registrations, List<ExamHall> halls,
+                              LocalDate firstDay) {
+        long start = System.nanoTime();
+
+        ConflictGraph graph = ConflictGraph.build(exams, registrations);
+        SlotCalendar calendar = new SlotCalendar(config, firstDay);
+        long seats = 0;
+        for (ExamHall hall : halls) {
+            if (hall.isActive()) {
+                seats += hallSelector.getSeatLimit(hall);
+            }
+        }
+        long built = System.nanoTime();
+
+        int attempts = Math.max(1, config.getAttempts());
+        AttemptTask task = new AttemptTask(graph, calendar, seats, 0, attempts);
+        Attempt best = config.isParallelEnabled() && attempts > 1 ? pool.invoke(task) : task.compute();
+
+        Map<Integer, LocalDateTime> starts = new LinkedHashMap<>();
+        List<Exam> unscheduled = new ArrayList<>();
+        for (int e = 0; e < graph.size(); e++) {
+            if (best.slotOf[e] >= 0) {
+                starts.put(graph.exams.get(e).getId(), calendar.starts[best.slotOf[e]]);
+            } else {
+                unscheduled.add(graph.exams.get(e));
+            }
+        }
+
+        Timetable timetable = new Timetable(starts, unscheduled, best.daysUsed, best.sameDayPairs,
+                best.heuristic + "#" + best.index, System.nanoTime() - start);
+        if (!unscheduled.isEmpty()) {
+            logger.warn("{} of {} exams could not be scheduled in {} days of {} seats",
+                    unscheduled.size(), graph.size(), config.getMaxDays(), seats);
+        }
+        logger.info("Generated timetable for {} exams, {} registrations, {} conflicts (graph {} ms): {}",
+                graph.size(), graph.registrations, graph.edges,
+                String.format("%.1f", (built - start) / 1_000_000.0), timetable);
+        return timetable;
+    }
+
+    /**
+     * Run one colouring; attempt 0 is DSatur, 1 largest degree, 2 largest
+     * enrolment and the rest randomized with the attempt number as seed
+     */
+    static Attempt colour(ConflictGraph graph, SlotCalendar calendar, long seats, int index) {
+        Heuristic heuristic = index < Heuristic.RANDOMIZED.ordinal()
+                ? Heuristic.values()[index] : Heuristic.RANDOMIZED;
+        Placement placement = new Placement(graph, calendar, seats);
+
+        if (heuristic == Heuristic.DSATUR) {
+            boolean[] done = new boolean[graph.size()];
+            for (int step = 0; step < graph.size(); step++) {
+                int next = -1;
+                int nextSaturation = -1;
+                for (int e = 0; e < graph.size(); e++) {
+                    if (done[e]) {
+                        continue;
+                    }
+                    int saturation = placement.busy[e].cardinality();
+                    if (next < 0 || saturation > nextSaturation
+                            || (saturation == nextSaturation && graph.compareByDegree(e, next) < 0)) {
+                        next = e;
+                        nextSaturation = saturation;
+                    }
+                }
+                done[next] = true;
+                placement.place(next);
+            }
+        } else {
+            for (int e : order(graph, heuristic, index)) {
+                placement.place(e);
+            }
+        }
+        return placement.toAttempt(heuristic, index);
+    }
+
+    private static Integer[] order(ConflictGraph graph, Heuristic heuristic, int seed) {
+        Integer[] order = new Integer[graph.size()];
+        double[] priority = new double[graph.size()];
+        Random random = new Random(seed);
+        for (int e = 0; e < order.length; e++) {
+            order[e] = e;
+            switch (heuristic) {
+                case LARGEST_ENROLMENT:
+                    priority[e] = graph.headcount[e];
+                    break;
+                case RANDOMIZED:
+                    priority[e] = graph.adjacency[e].length * (0.75 + random.nextDouble() * 0.5);
+                    break;
+                default:
+                    priority[e] = graph.adjacency[e].length;
+            }
+        }
+        Arrays.sort(order, (a, b) -> {
+            int byPriority = Double.compare(priority[b], priority[a]);
+            return byPriority != 0 ? byPriority : graph.compareByDegree(a, b);
+        });
+        return order;
+    }
+
+    /**
+     * The better of two attempts
+     */
+    static Attempt better(Attempt a, Attempt b) {
+        if (a.unscheduled != b.unscheduled) {
+            return a.unscheduled < b.unscheduled ? a : b;
+        }
+        if (a.daysUsed != b.daysUsed) {
+            return a.daysUsed < b.daysUsed ? a : b;
+        }
+        if (a.sameDayPairs != b.sameDayPairs) {
+            return a.sameDayPairs < b.sameDayPairs ? a : b;
+        }
+        return a.index <= b.index ? a : b;
+    }
+
+    /**
+     * Runs attempts [lo, hi) and returns the best
+     */
+    final class AttemptTask extends RecursiveTask<Attempt> {
+        private final ConflictGraph graph;
+        private final SlotCalendar calendar;
+        private final long seats;
+        private final int lo;
+        private final int hi;
+
+        AttemptTask(ConflictGraph graph, SlotCalendar calendar, long seats, int lo, int hi) {
+            this.graph = graph;
+            this.calendar = calendar;
+            this.seats = seats;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected Attempt compute() {
+            if (hi - lo == 1) {
+                return colour(graph, calendar, seats, lo);
+            }
+            int mid = (lo + hi) >>> 1;
+            if (!config.isParallelEnabled()) {
+                return better(new AttemptTask(graph, calendar, seats, lo, mid).compute(),
+                              new AttemptTask(graph, calendar, seats, mid, hi).compute());
+            }
+            AttemptTask right = new AttemptTask(graph, calendar, seats, mid, hi);
+            right.fork();
+            Attempt left = new AttemptTask(graph, calendar, seats, lo, mid).compute();
+            return better(left, right.join());
+        }
+    }
+
+    /**
+     * Exams, their headcounts and durations, the exams each student sits
+     * and the conflict graph, with exams numbered 0..n-1 in input order
+     */
+    static final class ConflictGraph {
+        final List<Exam> exams;
+        final int[] headcount;
+        final int[] duration;
+        final int[][] adjacency;
+        final int[][] examsByStudent;
+        final int registrations;
+        final int edges;
+
+        private ConflictGraph(List<Exam> exams, int[] headcount, int[][] adjacency, int[][] examsByStudent,
+                              int registrations, int edges) {
+            this.exams = exams;
+            this.headcount = headcount;
+            this.duration = new int[exams.size()];
+            for (int e = 0; e < exams.size(); e++) {
+                duration[e] = Math.max(1, exams.get(e).getDuration());
+            }
+            this.adjacency = adjacency;
+            this.examsByStudent = examsByStudent;
+            this.registrations = registrations;
+            this.edges = edges;
+        }
+
+        static ConflictGraph build(List<Exam> exams, Collection<SeatingArrangement> registrations) {
+            Map<Integer, Integer> indexById = new HashMap<>();
+            for (int e = 0; e < exams.size(); e++) {
+                indexById.putIfAbsent(exams.get(e).getId(), e);
+            }
+
+            // (student, exam) pairs sorted and deduplicated, grouped by student
+            long[] pairs = new long[registrations.size()];
+            int count = 0;
+            for (SeatingArrangement registration : registrations) {
+                Integer exam = indexById.get(registration.getExamId());
+                if (exam != null) {
+                    pairs[count++] = ((long) registration.getStudentId() << 32) | exam;
+                }
+            }
+            Arrays.sort(pairs, 0, count);
+
+            int[] headcount = new int[exams.size()];
+            List<int[]> examsByStudent = new ArrayList<>();
+            LongList edgeKeys = new LongList();
+            int unique = 0;
+            for (int from = 0; from < count; ) {
+                long student = pairs[from] >>> 32;
+                int[] studentExams = new int[count - from];
+                int size = 0;
+                int to = from;
+                for (; to < count && pairs[to] >>> 32 == student; to++) {
+                    if (to == from || pairs[to] != pairs[to - 1]) {
+                        int exam = (int) pairs[to];
+                        studentExams[size++] = exam;
+                        headcount[exam]++;
+                    }
+                }
+                studentExams = Arrays.copyOf(studentExams, size);
+                examsByStudent.add(studentExams);
+                unique += size;
+                // Exam indexes are sorted, so a < b in every key
+                for (int i = 0; i < size; i++) {
+                    for (int j = i + 1; j < size; j++) {
+                        edgeKeys.add(((long) studentExams[i] << 32) | studentExams[j]);
+                    }
+                }
+                from = to;
+            }
+
+            long[] keys = edgeKeys.toSortedUniqueArray();
+            int[] degree = new int[exams.size()];
+            for (long key : keys) {
+                degree[(int) (key >>> 32)]++;
+                degree[(int) key]++;
+            }
+            int[][] adjacency = new int[exams.size()][];
+            for (int e = 0; e < adjacency.length; e++) {
+                adjacency[e] = new int[degree[e]];
+                degree[e] = 0;
+            }
+            for (long key : keys) {
+                int a = (int) (key >>> 32);
+                int b = (int) key;
+                adjacency[a][degree[a]++] = b;
+                adjacency[b][degree[b]++] = a;
+            }
+            return new ConflictGraph(exams, headcount, adjacency, examsByStudent.toArray(new int[0][]),
+                    unique, keys.length);
+        }
+
+        int size() {
+            return exams.size();
+        }
+
+        /**
+         * Higher degree first, then larger enrolment, then input order
+         */
+        int compareByDegree(int a, int b) {
+            if (adjacency[a].length != adjacency[b].length) {
+                return Integer.compare(adjacency[b].length, adjacency[a].length);
+            }
+            if (headcount[a] != headcount[b]) {
+                return Integer.compare(headcount[b], headcount[a]);
+            }
+            return Integer.compare(a, b);
+        }
+    }
+
+    /**
+     * The sittings of the exam period in time order
+     */
+    static final class SlotCalendar {
+        final LocalDateTime[] starts;
+        final int[] day;
+        final int[] minuteOfDay;
+
+        SlotCalendar(TimetableConfig config, LocalDate firstDay) {
+            List<LocalTime> times = config.getSlotTimes();
+            int days = Math.max(0, config.getMaxDays());
+            starts = new LocalDateTime[days * times.size()];
+            day = new int[starts.length];
+            minuteOfDay = new int[starts.length];
+
+            LocalDate date = firstDay;
+            int slot = 0;
+            for (int d = 0; d < days; d++) {
+                while (config.isSkipWeekends()
+                        && (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY)) {
+                    date = date.plusDays(1);
+                }
+                for (LocalTime time : times) {
+                    starts[slot] = LocalDateTime.of(date, time);
+                    day[slot] = d;
+                    minuteOfDay[slot] = time.toSecondOfDay() / 60;
+                    slot++;
+                }
+                date = date.plusDays(1);
+            }
+        }
+
+        int size() {
+            return starts.length;
+        }
+
+        /**
+         * Last sitting an exam starting at {@code slot} is still running
+         * into
+         */
+        int lastBlocked(int slot, int duration) {
+            int end = minuteOfDay[slot] + duration;
+            int last = slot;
+            while (last + 1 < starts.length && day[last + 1] == day[slot] && minuteOfDay[last + 1] < end) {
+                last++;
+            }
+            return last;
+        }
+    }
+
+    /**
+     * Colouring state of one attempt
+     */
+    static final class Placement {
+        final ConflictGraph graph;
+        final SlotCalendar calendar;
+        final long seats;
+        final int[] slotOf;
+        final long[] load;
+        // Sittings each exam cannot run in because a neighbour does
+        final BitSet[] busy;
+
+        Placement(ConflictGraph graph, SlotCalendar calendar, long seats) {
+            this.graph = graph;
+            this.calendar = calendar;
+            this.seats = seats;
+            this.slotOf = new int[graph.size()];
+            Arrays.fill(slotOf, -1);
+            this.load = new long[calendar.size()];
+            this.busy = new BitSet[graph.size()];
+            for (int e = 0; e < busy.length; e++) {
+                busy[e] = new BitSet(calendar.size());
+            }
+        }
+
+        /**
+         * Put an exam in the earliest sitting it fits; false if none
+         */
+        boolean place(int exam) {
+            int headcount = graph.headcount[exam];
+            if (headcount > seats) {
+                return false;
+            }
+            for (int slot = 0; slot < calendar.size(); slot++) {
+                int last = calendar.lastBlocked(slot, graph.duration[exam]);
+                int clash = busy[exam].nextSetBit(slot);
+                if (clash >= 0 && clash <= last) {
+                    continue;
+                }
+                if (!fits(slot, last, headcount)) {
+                    continue;
+                }
+                for (int s = slot; s <= last; s++) {
+                    load[s] += headcount;
+                }
+                slotOf[exam] = slot;
+                for (int neighbour : graph.adjacency[exam]) {
+                    busy[neighbour].set(slot, last + 1);
+                }
+                return true;
+            }
+            return false;
+        }
+
+        private boolean fits(int slot, int last, int headcount) {
+            for (int s = slot; s <= last; s++) {
+                if (load[s] + headcount > seats) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        Attempt toAttempt(Heuristic heuristic, int index) {
+            int unscheduled = 0;
+            int lastDay = -1;
+            for (int slot : slotOf) {
+                if (slot < 0) {
+                    unscheduled++;
+                } else {
+                    lastDay = Math.max(lastDay, calendar.day[slot]);
+                }
+            }
+
+            long sameDayPairs = 0;
+            for (int[] studentExams : graph.examsByStudent) {
+                for (int i = 0; i < studentExams.length; i++) {
+                    int a = slotOf[studentExams[i]];
+                    for (int j = i + 1; j < studentExams.length && a >= 0; j++) {
+                        int b = slotOf[studentExams[j]];
+                        if (b >= 0 && calendar.day[a] == calendar.day[b]) {
+                            sameDayPairs++;
+                        }
+                    }
+                }
+            }
+            return new Attempt(heuristic, index, slotOf, unscheduled, lastDay + 1, sameDayPairs);
+        }
+    }
+
+    /**
+     * Result of one colouring
+     */
+    static final class Attempt {
+        final Heuristic heuristic;
+        final int index;
+        final int[] slotOf;
+        final int unscheduled;
+        final int daysUsed;
+        final long sameDayPairs;
+
+        Attempt(Heuristic heuristic, int index, int[] slotOf, int unscheduled, int daysUsed, long sameDayPairs) {
+            this.heuristic = heuristic;
+            this.index = index;
+            this.slotOf = slotOf;
+            this.unscheduled = unscheduled;
+            this.daysUsed = daysUsed;
+            this.sameDayPairs = sameDayPairs;
+        }
+    }
+
+    /**
+     * Growable array of long keys
+     */
+    static final class LongList {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toSortedUniqueArray() {
+            Arrays.sort(values, 0, size);
+            int unique = 0;
+            for (int i = 0; i < size; i++) {
+                if (i == 0 || values[i] != values[i - 1]) {
+                    values[unique++] = values[i];
+                }
+            }
+            return Arrays.copyOf(values, unique);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,126 @@
+package com.examseating.util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Fixed-size worker pool with a bounded queue that rejects work as soon as
+ * the queue is full instead of blocking the caller. Used to keep CPU-heavy
+ * jobs (password verification, imports) off the servlet container's
+ * request threads without letting a burst of them queue up unbounded.
+ */
+public class BoundedExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(BoundedExecutor.class);
+
+    private final String name;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public BoundedExecutor(String name, int threads, int queueCapacity) {
+        if (threads < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("threads and queueCapacity must be positive: "
+                    + threads + ", " + queueCapacity);
+        }
+        this.name = name;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new NamedThreadFactory(name),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Create an executor sized by {@code <prefix>.threads} and
+     * {@code <prefix>.queue.capacity}
+     */
+    public static BoundedExecutor fromProperties(String name, String prefix, int defaultThreads,
+                                                 int defaultQueueCapacity) {
+        int threads = DatabaseUtil.getIntProperty(prefix + ".threads", defaultThreads);
+        int queueCapacity = DatabaseUtil.getIntProperty(prefix + ".queue.capacity", defaultQueueCapacity);
+        logger.info("Executor '{}': threads={}, queueCapacity={}", name, threads, queueCapacity);
+        return new BoundedExecutor(name, threads, queueCapacity);
+    }
+
+    /**
+     * Run a task on a worker thread
+     *
+     * @throws RejectedExecutionException if every worker is busy and the
+     *                                    queue is full, or after shutdown
+     */
+    public void execute(Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw e;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    public long getCompletedCount() {
+        return executor.getCompletedTaskCount();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    /**
+     * Stop accepting work and wait briefly for running tasks to finish
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Executor '{}' shut down: completed={}, rejected={}", name, getCompletedCount(), getRejectedCount());
+    }
+
+    private static final class NamedThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        NamedThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BoundedExecutor{" +
+                "name=" + name +
+                ", active=" + getActiveCount() +
+                ", queued=" + getQueueSize() +
+                ", completed=" + getCompletedCount() +
+                ", rejected=" + getRejectedCount() +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,506 @@
+package com.examseating.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded JDBC connection pool configured from the db.* pool settings.
+ * Connections handed out are proxies whose close() returns the physical
+ * connection to the pool instead of closing it.
+ */
+public class ConnectionPool {
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPool.class);
+
+    private final String url;
+    private final String username;
+    private final String password;
+
+    private final int maxActive;
+    private final int maxIdle;
+    private final int minIdle;
+    private final long maxWaitMillis;
+    private final String validationQuery;
+    private final boolean testOnBorrow;
+    private final boolean testWhileIdle;
+    private final int numTestsPerEvictionRun;
+    private final long minEvictableIdleTimeMillis;
+
+    // Most recently returned connections sit at the head of the deque
+    private final LinkedBlockingDeque<PooledConnection> idleConnections = new LinkedBlockingDeque<>();
+    private final Semaphore borrowPermits;
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final ScheduledExecutorService evictor;
+    private volatile boolean closed;
+
+    // Statistics
+    private final AtomicLong borrowedCount = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong destroyedCount = new AtomicLong();
+    private final AtomicLong waitTimeoutCount = new AtomicLong();
+    private final AtomicLong validationFailureCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+
+    /**
+     * Create a pool from db.* properties read through DatabaseUtil
+     */
+    public static ConnectionPool fromProperties() throws SQLException {
+        String url = DatabaseUtil.getProperty("db.url");
+        String username = DatabaseUtil.getProperty("db.username");
+        String password = DatabaseUtil.getProperty("db.password");
+
+        if (url == null || username == null) {
+            throw new SQLException("Database connection parameters not configured");
+        }
+
+        return new ConnectionPool(url, username, password,
+                DatabaseUtil.getIntProperty("db.initialSize", 5),
+                DatabaseUtil.getIntProperty("db.maxActive", 20),
+                DatabaseUtil.getIntProperty("db.maxIdle", 10),
+                DatabaseUtil.getIntProperty("db.minIdle", 5),
+                DatabaseUtil.getIntProperty("db.maxWait", 60000),
+                DatabaseUtil.getProperty("db.validationQuery", "SELECT 1"),
+                DatabaseUtil.getBooleanProperty("db.testOnBorrow", true),
+                DatabaseUtil.getBooleanProperty("db.testWhileIdle", true),
+                DatabaseUtil.getIntProperty("db.timeBetweenEvictionRunsMillis", 30000),
+                DatabaseUtil.getIntProperty("db.numTestsPerEvictionRun", 3),
+                DatabaseUtil.getIntProperty("db.minEvictableIdleTimeMillis", 60000));
+    }
+
+    public ConnectionPool(String url, String username, String password,
+                          int initialSize, int maxActive, int maxIdle, int minIdle,
+                          long maxWaitMillis, String validationQuery,
+                          boolean testOnBorrow, boolean testWhileIdle,
+                          long timeBetweenEvictionRunsMillis, int numTestsPerEvictionRun,
+                          long minEvictableIdleTimeMillis) {
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.maxActive = Math.max(1, maxActive);
+        this.maxIdle = Math.max(0, Math.min(maxIdle, this.maxActive));
+        this.minIdle = Math.max(0, Math.min(minIdle, this.maxIdle));
+        this.maxWaitMillis = maxWaitMillis;
+        this.validationQuery = validationQuery;
+        this.testOnBorrow = testOnBorrow;
+        this.testWhileIdle = testWhileIdle;
+        this.numTestsPerEvictionRun = Math.max(1, numTestsPerEvictionRun);
+        this.minEvictableIdleTimeMillis = minEvictableIdleTimeMillis;
+        this.borrowPermits = new Semaphore(this.maxActive, true);
+
+        int initial = Math.min(Math.max(0, initialSize), this.maxIdle);
+        for (int i = 0; i < initial; i++) {
+            try {
+                totalConnections.incrementAndGet();
+                idleConnections.offerLast(createConnection());
+            } catch (SQLException e) {
+                totalConnections.decrementAndGet();
+                logger.warn("Could not pre-fill connection pool ({} of {} created)", i, initial, e);
+                break;
+            }
+        }
+
+        if (timeBetweenEvictionRunsMillis > 0) {
+            evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "db-pool-evictor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            evictor.scheduleWithFixedDelay(this::evict, timeBetweenEvictionRunsMillis,
+                    timeBetweenEvictionRunsMillis, TimeUnit.MILLISECONDS);
+        } else {
+            evictor = null;
+        }
+
+        logger.info("Connection pool started: initial={}, maxActive={}, maxIdle={}, minIdle={}, maxWait={}ms",
+                idleConnections.size(), this.maxActive, this.maxIdle, this.minIdle, maxWaitMillis);
+    }
+
+    /**
+     * Borrow a connection, waiting up to db.maxWait for one to become free
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        long waitStart = System.nanoTime();
+        try {
+            boolean acquired = maxWaitMillis < 0
+                    ? acquireUninterruptibly()
+                    : borrowPermits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+            if (!acquired) {
+                waitTimeoutCount.incrementAndGet();
+                throw new SQLException("Timed out after " + maxWaitMillis
+                        + "ms waiting for a database connection (maxActive=" + maxActive + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        totalWaitNanos.addAndGet(System.nanoTime() - waitStart);
+
+        try {
+            PooledConnection pooled;
+            while ((pooled = idleConnections.pollFirst()) != null) {
+                if (!testOnBorrow || isValid(pooled)) {
+                    break;
+                }
+                validationFailureCount.incrementAndGet();
+                destroy(pooled);
+            }
+
+            if (pooled == null) {
+                totalConnections.incrementAndGet();
+                try {
+                    pooled = createConnection();
+                } catch (SQLException e) {
+                    totalConnections.decrementAndGet();
+                    throw e;
+                }
+            }
+
+            borrowedCount.incrementAndGet();
+            return pooled.lease();
+
+        } catch (SQLException | RuntimeException e) {
+            borrowPermits.release();
+            throw e;
+        }
+    }
+
+    private boolean acquireUninterruptibly() {
+        borrowPermits.acquireUninterruptibly();
+        return true;
+    }
+
+    /**
+     * Return a leased connection to the idle deque or discard it
+     */
+    private void release(PooledConnection pooled) {
+        try {
+            boolean reusable = !closed && !pooled.physical.isClosed() && resetState(pooled);
+            if (reusable && idleConnections.size() < maxIdle) {
+                pooled.lastReturnedAt = System.currentTimeMillis();
+                idleConnections.offerFirst(pooled);
+            } else {
+                destroy(pooled);
+            }
+        } catch (SQLException e) {
+            logger.debug("Discarding connection that failed on return", e);
+            destroy(pooled);
+        } finally {
+            borrowPermits.release();
+        }
+    }
+
+    /**
+     * Undo per-lease state so the next borrower gets a clean connection
+     */
+    private boolean resetState(PooledConnection pooled) throws SQLException {
+        Connection connection = pooled.physical;
+        if (!connection.getAutoCommit()) {
+            connection.rollback();
+            connection.setAutoCommit(true);
+        }
+        if (connection.isReadOnly()) {
+            connection.setReadOnly(false);
+        }
+        if (connection.getTransactionIsolation() != pooled.defaultIsolation) {
+            connection.setTransactionIsolation(pooled.defaultIsolation);
+        }
+        connection.clearWarnings();
+        return true;
+    }
+
+    /**
+     * Evict idle connections past db.minEvictableIdleTimeMillis, validate the
+     * rest when db.testWhileIdle is set and top back up to db.minIdle
+     */
+    void evict() {
+        if (closed) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            List<PooledConnection> candidates = new ArrayList<>(numTestsPerEvictionRun);
+            Iterator<PooledConnection> oldestFirst = idleConnections.descendingIterator();
+            while (oldestFirst.hasNext() && candidates.size() < numTestsPerEvictionRun) {
+                candidates.add(oldestFirst.next());
+            }
+
+            for (PooledConnection pooled : candidates) {
+                boolean expired = idleConnections.size() > minIdle
+                        && now - pooled.lastReturnedAt > minEvictableIdleTimeMillis;
+                if (expired) {
+                    if (idleConnections.remove(pooled)) {
+                        destroy(pooled);
+                    }
+                } else if (testWhileIdle && idleConnections.remove(pooled)) {
+                    if (isValid(pooled)) {
+                        idleConnections.offerLast(pooled);
+                    } else {
+                        validationFailureCount.incrementAndGet();
+                        destroy(pooled);
+                    }
+                }
+            }
+
+            ensureMinIdle();
+        } catch (RuntimeException e) {
+            logger.warn("Connection pool eviction run failed", e);
+        }
+    }
+
+    private void ensureMinIdle() {
+        while (!closed && idleConnections.size() < minIdle) {
+            int total = totalConnections.get();
+            if (total >= maxActive) {
+                return;
+            }
+            if (!totalConnections.compareAndSet(total, total + 1)) {
+                continue;
+            }
+            try {
+                PooledConnection pooled = createConnection();
+                pooled.lastReturnedAt = System.currentTimeMillis();
+                idleConnections.offerLast(pooled);
+            } catch (SQLException e) {
+                totalConnections.decrementAndGet();
+                logger.warn("Could not replenish idle connections", e);
+                return;
+            }
+        }
+    }
+
+    private PooledConnection createConnection() throws SQLException {
+        Connection connection = DriverManager.getConnection(url, username, password);
+        connection.setAutoCommit(true);
+        createdCount.incrementAndGet();
+        logger.debug("Database connection established");
+        return new PooledConnection(connection);
+    }
+
+    private boolean isValid(PooledConnection pooled) {
+        try (Statement statement = pooled.physical.createStatement()) {
+            statement.setQueryTimeout(5);
+            statement.execute(validationQuery);
+            return true;
+        } catch (SQLException e) {
+            logger.debug("Pooled connection failed validation", e);
+            return false;
+        }
+    }
+
+    private void destroy(PooledConnection pooled) {
+        totalConnections.decrementAndGet();
+        destroyedCount.incrementAndGet();
+        try {
+            pooled.physical.close();
+            logger.debug("Database connection closed");
+        } catch (SQLException e) {
+            logger.error("Error closing database connection", e);
+        }
+    }
+
+    /**
+     * Close all idle connections and stop the evictor. Leased connections are
+     * closed as they are returned.
+     */
+    public void close() {
+        closed = true;
+        if (evictor != null) {
+            evictor.shutdownNow();
+        }
+        PooledConnection pooled;
+        while ((pooled = idleConnections.pollFirst()) != null) {
+            destroy(pooled);
+        }
+        logger.info("Connection pool closed: {}", getStats());
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Snapshot of pool statistics
+     */
+    public Stats getStats() {
+        return new Stats(maxActive - borrowPermits.availablePermits(), idleConnections.size(),
+                totalConnections.get(), borrowPermits.getQueueLength(), borrowedCount.get(),
+                createdCount.get(), destroyedCount.get(), waitTimeoutCount.get(),
+                validationFailureCount.get(), totalWaitNanos.get());
+    }
+
+    /**
+     * Physical connection plus its pool bookkeeping
+     */
+    private final class PooledConnection {
+        private final Connection physical;
+        private final int defaultIsolation;
+        private volatile long lastReturnedAt = System.currentTimeMillis();
+
+        PooledConnection(Connection physical) throws SQLException {
+            this.physical = physical;
+            this.defaultIsolation = physical.getTransactionIsolation();
+        }
+
+        Connection lease() {
+            return (Connection) Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new LeaseHandler(this));
+        }
+    }
+
+    /**
+     * Delegates to the physical connection until the lease is closed
+     */
+    private final class LeaseHandler implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean released;
+
+        LeaseHandler(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    synchronized (this) {
+                        if (!released) {
+                            released = true;
+                            release(pooled);
+                        }
+                    }
+                    return null;
+                case "isClosed":
+                    synchronized (this) {
+                        return released || pooled.physical.isClosed();
+                    }
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + "]";
+                default:
+                    break;
+            }
+
+            synchronized (this) {
+                if (released) {
+                    throw new SQLException("Connection has already been returned to the pool");
+                }
+            }
+
+            try {
+                return method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Immutable pool statistics
+     */
+    public static final class Stats {
+        private final int active;
+        private final int idle;
+        private final int total;
+        private final int waiting;
+        private final long borrowed;
+        private final long created;
+        private final long destroyed;
+        private final long waitTimeouts;
+        private final long validationFailures;
+        private final long totalWaitNanos;
+
+        Stats(int active, int idle, int total, int waiting, long borrowed, long created,
+              long destroyed, long waitTimeouts, long validationFailures, long totalWaitNanos) {
+            this.active = active;
+            this.idle = idle;
+            this.total = total;
+            this.waiting = waiting;
+            this.borrowed = borrowed;
+            this.created = created;
+            this.destroyed = destroyed;
+            this.waitTimeouts = waitTimeouts;
+            this.validationFailures = validationFailures;
+            this.totalWaitNanos = totalWaitNanos;
+        }
+
+        public int getActive() {
+            return active;
+        }
+
+        public int getIdle() {
+            return idle;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public int getWaiting() {
+            return waiting;
+        }
+
+        public long getBorrowed() {
+            return borrowed;
+        }
+
+        public long getCreated() {
+            return created;
+        }
+
+        public long getDestroyed() {
+            return destroyed;
+        }
+
+        public long getWaitTimeouts() {
+            return waitTimeouts;
+        }
+
+        public long getValidationFailures() {
+            return validationFailures;
+        }
+
+        public double getAverageWaitMillis() {
+            return borrowed == 0 ? 0.0 : totalWaitNanos / 1_000_000.0 / borrowed;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{" +
+                    "active=" + active +
+                    ", idle=" + idle +
+                    ", total=" + total +
+                    ", waiting=" + waiting +
+                    ", borrowed=" + borrowed +
+                    ", created=" + created +
+                    ", destroyed=" + destroyed +
+                    ", waitTimeouts=" + waitTimeouts +
+                    ", validationFailures=" + validationFailures +
+                    ", avgWaitMs=" + String.format("%.3f", getAverageWaitMillis()) +
+                    '}';
+        }
+    }
+}
\ No newline at end of file
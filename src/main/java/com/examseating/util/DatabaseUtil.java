@@ -3,7 +3,8 @@ package com.examseating.util;
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Properties;
 import org.slf4j.Logger;
@@ -15,6 +16,7 @@ import org.slf4j.LoggerFactory;
 public class DatabaseUtil {
     private static final Logger logger = LoggerFactory.getLogger(DatabaseUtil.class);
     private static Properties dbProperties;
+    private static volatile ConnectionPool connectionPool;
     
     static {
         loadDatabaseProperties();
@@ -55,22 +57,12 @@ public class DatabaseUtil {
     }
     
     /**
-     * Get database connection
+     * Get database connection from the pool
      */
     public static Connection getConnection() throws SQLException {
         try {
-            String url = dbProperties.getProperty("db.url");
-            String username = dbProperties.getProperty("db.username");
-            String password = dbProperties.getProperty("db.password");
-            
-            if (url == null || username == null) {
-                throw new SQLException("Database connection parameters not configured");
-            }
-            
-            Connection connection = DriverManager.getConnection(url, username, password);
-            connection.setAutoCommit(true);
-            
-            logger.debug("Database connection established");
+            Connection connection = getPool().getConnection();
+            logger.debug("Database connection borrowed from pool");
             return connection;
             
         } catch (SQLException e) {
@@ -79,6 +71,57 @@ public class DatabaseUtil {
         }
     }
     
+    /**
+     * Prepare a forward-only, read-only statement whose rows are fetched
+     * while they are read instead of being buffered in memory first. With the
+     * default db.stream.fetch.size (Integer.MIN_VALUE) the MySQL driver
+     * streams row by row; a positive size fetches that many rows at a time
+     * through a server-side cursor and needs useCursorFetch=true in db.url.
+     * The connection cannot run other statements until the result set is
+     * closed.
+     */
+    public static PreparedStatement prepareStreaming(Connection connection, String sql) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        statement.setFetchSize(getIntProperty("db.stream.fetch.size", Integer.MIN_VALUE));
+        return statement;
+    }
+    
+    /**
+     * Get the connection pool, creating it on first use
+     */
+    private static ConnectionPool getPool() throws SQLException {
+        ConnectionPool pool = connectionPool;
+        if (pool == null) {
+            synchronized (DatabaseUtil.class) {
+                pool = connectionPool;
+                if (pool == null) {
+                    pool = ConnectionPool.fromProperties();
+                    connectionPool = pool;
+                }
+            }
+        }
+        return pool;
+    }
+    
+    /**
+     * Get connection pool statistics, or null if the pool has not been started
+     */
+    public static ConnectionPool.Stats getPoolStats() {
+        ConnectionPool pool = connectionPool;
+        return pool != null ? pool.getStats() : null;
+    }
+    
+    /**
+     * Shut down the connection pool (e.g. on application undeploy)
+     */
+    public static synchronized void shutdown() {
+        if (connectionPool != null) {
+            connectionPool.close();
+            connectionPool = null;
+        }
+    }
+    
     /**
      * Close database connection safely
      */
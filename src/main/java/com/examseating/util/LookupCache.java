@@ -0,0 +1,286 @@
+package com.examseating.util;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded, time-limited cache of entities by id, with secondary lookup keys
+ * (email, roll number, ...) that resolve to the same entry. Entries expire
+ * after a fixed time to live and the least recently used entry is evicted
+ * once the cache is full. Removing an entry drops all of its keys.
+ * <p>
+ * Configured from db.properties:
+ * <pre>
+ * cache.enabled=true
+ * cache.expiration.time=3600   (seconds)
+ * cache.max.entries=1000
+ * </pre>
+ * Cached values are shared between callers and must be treated as
+ * read-only. Callers that load from the database take
+ * {@link #getGeneration()} before the query and pass it to
+ * {@link #put(long, int, Object, String...)}, so a row read just before an
+ * update is not cached after the update has invalidated it.
+ */
+public class LookupCache<V> {
+    private static final Logger logger = LoggerFactory.getLogger(LookupCache.class);
+
+    private final String name;
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    // Guarded by this; access order so the eldest entry is the least recently used
+    private final LinkedHashMap<Integer, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Integer> aliases = new HashMap<>();
+
+    // Guarded by this; generation of the latest invalidation per id. Pruned
+    // by raising invalidatedFloor, which refuses every older read.
+    private final Map<Integer, Long> invalidatedAt = new HashMap<>();
+    private long generation;
+    private long invalidatedFloor;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    public LookupCache(String name, boolean enabled, long ttlSeconds, int maxEntries) {
+        this.name = name;
+        this.enabled = enabled && ttlSeconds > 0 && maxEntries > 0;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Create a cache configured by the cache.* properties
+     */
+    public static <V> LookupCache<V> fromProperties(String name) {
+        LookupCache<V> cache = new LookupCache<>(name,
+                DatabaseUtil.getBooleanProperty("cache.enabled", false),
+                DatabaseUtil.getIntProperty("cache.expiration.time", 3600),
+                DatabaseUtil.getIntProperty("cache.max.entries", 1000));
+        logger.info("Lookup cache '{}' {}", name, cache.enabled
+                ? "enabled: ttl=" + TimeUnit.NANOSECONDS.toSeconds(cache.ttlNanos) + "s, maxEntries=" + cache.maxEntries
+                : "disabled");
+        return cache;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Cached value for an id, or null on a miss
+     */
+    public synchronized V get(int id) {
+        if (!enabled) {
+            return null;
+        }
+        return lookup(id);
+    }
+
+    /**
+     * Cached value for a secondary key, or null on a miss
+     */
+    public synchronized V getByKey(String key) {
+        if (!enabled) {
+            return null;
+        }
+        Integer id = aliases.get(key);
+        if (id == null) {
+            misses++;
+            return null;
+        }
+        return lookup(id);
+    }
+
+    /**
+     * Cache a value under its id and secondary keys, replacing any entry
+     * already holding the id or one of the keys. Null keys are skipped.
+     */
+    public synchronized void put(int id, V value, String... keys) {
+        if (!enabled || value == null) {
+            return;
+        }
+
+        remove(id);
+        for (String key : keys) {
+            Integer previous = key != null ? aliases.get(key) : null;
+            if (previous != null) {
+                remove(previous);
+            }
+        }
+
+        long now = System.nanoTime();
+        entries.put(id, new Entry<>(value, now + ttlNanos, keys));
+        for (String key : keys) {
+            if (key != null) {
+                aliases.put(key, id);
+            }
+        }
+
+        Iterator<Map.Entry<Integer, Entry<V>>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && eldest.hasNext()) {
+            Entry<V> evicted = eldest.next().getValue();
+            eldest.remove();
+            removeAliases(evicted);
+            evictions++;
+        }
+    }
+
+    /**
+     * Cache a value read from the source after {@link #getGeneration()}
+     * returned {@code since}. Nothing is cached if the id was invalidated
+     * in between, as the value may predate that change.
+     */
+    public synchronized void put(long since, int id, V value, String... keys) {
+        if (since < invalidatedFloor || invalidatedAt.getOrDefault(id, Long.MIN_VALUE) > since) {
+            return;
+        }
+        put(id, value, keys);
+    }
+
+    /**
+     * Token to take before reading a value that will be cached
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Drop the entry for an id together with all of its keys, and refuse
+     * values for it read before now
+     */
+    public synchronized void invalidate(int id) {
+        if (enabled) {
+            remove(id);
+            invalidatedAt.put(id, ++generation);
+            if (invalidatedAt.size() > maxEntries) {
+                invalidatedAt.clear();
+                invalidatedFloor = generation;
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        aliases.clear();
+        invalidatedAt.clear();
+        invalidatedFloor = ++generation;
+    }
+
+    public synchronized Stats getStats() {
+        return new Stats(name, entries.size(), hits, misses, evictions, expirations);
+    }
+
+    private V lookup(int id) {
+        Entry<V> entry = entries.get(id);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (System.nanoTime() - entry.expiresAt >= 0) {
+            remove(id);
+            expirations++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    private void remove(int id) {
+        Entry<V> entry = entries.remove(id);
+        if (entry != null) {
+            removeAliases(entry);
+        }
+    }
+
+    private void removeAliases(Entry<V> entry) {
+        for (String key : entry.keys) {
+            if (key != null) {
+                aliases.remove(key);
+            }
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+        private final String[] keys;
+
+        Entry(V value, long expiresAt, String[] keys) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.keys = keys;
+        }
+    }
+
+    /**
+     * Point-in-time cache counters
+     */
+    public static class Stats {
+        private final String name;
+        private final int size;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long expirations;
+
+        Stats(String name, int size, long hits, long misses, long evictions, long expirations) {
+            this.name = name;
+            this.size = size;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.expirations = expirations;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public long getExpirations() {
+            return expirations;
+        }
+
+        public double getHitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{" +
+                    "name=" + name +
+                    ", size=" + size +
+                    ", hits=" + hits +
+                    ", misses=" + misses +
+                    ", evictions=" + evictions +
+                    ", expirations=" + expirations +
+                    ", hitRate=" + String.format("%.2f", getHitRate()) +
+                    '}';
+        }
+    }
+}
\ No newline at end of file
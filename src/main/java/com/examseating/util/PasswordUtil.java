@@ -13,6 +13,17 @@ public class PasswordUtil {
     private static final String HASH_ALGORITHM = "SHA-256";
     private static final int SALT_LENGTH = 16;
     
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    
+    // MessageDigest is not thread-safe; one per thread avoids a provider lookup per hash
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Hash algorithm not available", e);
+        }
+    });
+    
     /**
      * Hash a password with salt using SHA-256
      */
@@ -24,60 +35,81 @@ public class PasswordUtil {
      * Hash a password with provided salt
      */
     public static String hashPassword(String password, String salt) {
-        try {
-            MessageDigest md = MessageDigest.getInstance(HASH_ALGORITHM);
-            md.update(salt.getBytes());
-            byte[] hashedPassword = md.digest(password.getBytes());
-            
-            // Combine salt and hash
-            String hash = bytesToHex(hashedPassword);
-            return salt + ":" + hash;
-            
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Hash algorithm not available", e);
-        }
+        MessageDigest md = digest();
+        md.update(salt.getBytes());
+        byte[] hashedPassword = md.digest(password.getBytes());
+        
+        // Combine salt and hash
+        return salt + ":" + bytesToHex(hashedPassword);
     }
     
     /**
-     * Verify password against stored hash
+     * Verify password against stored hash. The digest is compared directly
+     * against the hex digits of the stored hash, in time independent of
+     * where they differ, without building the expected hash string.
      */
     public static boolean verifyPassword(String password, String storedHash) {
-        if (storedHash == null || !storedHash.contains(":")) {
-            // Legacy hash without salt - simple SHA-256
-            return verifyLegacyPassword(password, storedHash);
-        }
-        
-        String[] parts = storedHash.split(":", 2);
-        if (parts.length != 2) {
+        if (storedHash == null) {
             return false;
         }
         
-        String salt = parts[0];
-        String hash = parts[1];
+        MessageDigest md = digest();
+        int separator = storedHash.indexOf(':');
+        if (separator >= 0) {
+            updateWithSalt(md, storedHash, separator);
+        }
+        // Legacy hash without salt - simple SHA-256
+        byte[] hashedPassword = md.digest(password.getBytes());
         
-        String newHash = hashPassword(password, salt);
-        return newHash.equals(storedHash);
+        return matchesHex(hashedPassword, storedHash, separator + 1);
     }
     
     /**
-     * Verify legacy password (simple SHA-256 without salt)
+     * Simple SHA-256 hash for legacy support
      */
-    private static boolean verifyLegacyPassword(String password, String storedHash) {
-        String hash = simpleHash(password);
-        return hash.equals(storedHash);
+    public static String simpleHash(String input) {
+        byte[] hashedBytes = digest().digest(input.getBytes());
+        return bytesToHex(hashedBytes);
     }
     
     /**
-     * Simple SHA-256 hash for legacy support
+     * Feed the salt prefix of a stored hash to the digest, byte for byte as
+     * hashPassword does. Generated salts are Base64 (ASCII), which needs no
+     * substring or encoding step.
      */
-    public static String simpleHash(String input) {
-        try {
-            MessageDigest md = MessageDigest.getInstance(HASH_ALGORITHM);
-            byte[] hashedBytes = md.digest(input.getBytes());
-            return bytesToHex(hashedBytes);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Hash algorithm not available", e);
+    private static void updateWithSalt(MessageDigest md, String storedHash, int length) {
+        for (int i = 0; i < length; i++) {
+            if (storedHash.charAt(i) >= 0x80) {
+                md.reset();
+                md.update(storedHash.substring(0, length).getBytes());
+                return;
+            }
+            md.update((byte) storedHash.charAt(i));
+        }
+    }
+    
+    private static MessageDigest digest() {
+        MessageDigest md = DIGEST.get();
+        md.reset();
+        return md;
+    }
+    
+    /**
+     * Whether {@code hex} from {@code offset} to its end is exactly the
+     * lowercase hex encoding of {@code bytes}. Every byte is checked even
+     * after a mismatch so timing does not reveal the matching prefix.
+     */
+    private static boolean matchesHex(byte[] bytes, String hex, int offset) {
+        if (hex.length() - offset != bytes.length * 2) {
+            return false;
+        }
+        int diff = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            int b = bytes[i] & 0xff;
+            diff |= hex.charAt(offset + 2 * i) ^ HEX_DIGITS[b >>> 4];
+            diff |= hex.charAt(offset + 2 * i + 1) ^ HEX_DIGITS[b & 0x0f];
         }
+        return diff == 0;
     }
     
     /**
@@ -94,11 +126,13 @@ public class PasswordUtil {
      * Convert byte array to hex string
      */
     private static String bytesToHex(byte[] bytes) {
-        StringBuilder result = new StringBuilder();
-        for (byte b : bytes) {
-            result.append(String.format("%02x", b));
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int b = bytes[i] & 0xff;
+            hex[2 * i] = HEX_DIGITS[b >>> 4];
+            hex[2 * i + 1] = HEX_DIGITS[b & 0x0f];
         }
-        return result.toString();
+        return new String(hex);
     }
     
     /**
@@ -1,9 +1,18 @@
 package com.examseating.util;
 
+import com.examseating.model.Student;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 /**
  * Utility class for input validation
+ * <p>
+ * The validators scan their input once, without regular expressions or
+ * intermediate strings, so they are cheap enough to run per row of a bulk
+ * import. Accept/reject behaviour is that of the original patterns, which
+ * are kept below for reference and for the rare non-ASCII input whose
+ * upper-case form has to be computed.
  */
 public class ValidationUtil {
     
@@ -27,61 +36,203 @@ public class ValidationUtil {
         "^[A-Z]{2,4}\\d{3}-(MID|FINAL|QUIZ)$"
     );
     
+    // Regex \s: space, tab, newline, vertical tab, form feed, carriage return
+    private static final String WHITESPACE = " \t\n\u000B\f\r";
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final String DIGITS = "0123456789";
+    
+    // Allowed characters per field, indexed by ASCII code
+    private static final boolean[] EMAIL_LOCAL_CHARS = charSet(LETTERS + DIGITS + "._%+-");
+    private static final boolean[] EMAIL_DOMAIN_CHARS = charSet(LETTERS + DIGITS + ".-");
+    private static final boolean[] PHONE_SEPARATOR_CHARS = charSet(WHITESPACE + "-()");
+    private static final boolean[] NAME_CHARS = charSet(LETTERS + WHITESPACE + ".',-");
+    private static final boolean[] DEPARTMENT_CHARS = charSet(LETTERS + WHITESPACE + "&-");
+    // [a-zA-Z0-9\s&-().,] - "&-(" is a range, so ' is allowed and - is not
+    private static final boolean[] SUBJECT_CHARS = charSet(LETTERS + DIGITS + WHITESPACE + "&'().,");
+    private static final boolean[] HALL_NAME_CHARS = charSet(LETTERS + DIGITS + WHITESPACE + "-");
+    
+    private static final String[] EXAM_TYPES = {"MID", "FINAL", "QUIZ"};
+    
     /**
      * Validate email address
      */
     public static boolean isValidEmail(String email) {
-        return email != null && EMAIL_PATTERN.matcher(email.trim()).matches();
+        if (email == null) {
+            return false;
+        }
+        int start = trimStart(email);
+        int end = trimEnd(email, start);
+        
+        // Local part up to the only '@' (neither character set contains '@')
+        int at = start;
+        while (at < end && isIn(EMAIL_LOCAL_CHARS, email.charAt(at))) {
+            at++;
+        }
+        if (at == start || at == end || email.charAt(at) != '@') {
+            return false;
+        }
+        
+        // Domain: the top-level part after the last dot is two or more letters
+        int lastDot = -1;
+        for (int i = at + 1; i < end; i++) {
+            char c = email.charAt(i);
+            if (!isIn(EMAIL_DOMAIN_CHARS, c)) {
+                return false;
+            }
+            if (c == '.') {
+                lastDot = i;
+            }
+        }
+        if (lastDot <= at + 1 || end - lastDot - 1 < 2) {
+            return false;
+        }
+        for (int i = lastDot + 1; i < end; i++) {
+            if (!isAsciiLetter(email.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
     }
     
     /**
      * Validate phone number
      */
     public static boolean isValidPhone(String phone) {
-        if (phone == null || phone.trim().isEmpty()) {
+        if (phone == null) {
+            return true; // Phone is optional
+        }
+        int start = trimStart(phone);
+        int end = trimEnd(phone, start);
+        if (start == end) {
             return true; // Phone is optional
         }
-        return PHONE_PATTERN.matcher(phone.trim().replaceAll("[\\s-()]", "")).matches();
+        
+        // Ignoring spaces, dashes and parentheses: an optional '+' and then
+        // either 2-15 digits not starting with 0, or (without '+') exactly 10
+        boolean plus = false;
+        char firstDigit = 0;
+        int digits = 0;
+        for (int i = start; i < end; i++) {
+            char c = phone.charAt(i);
+            if (isIn(PHONE_SEPARATOR_CHARS, c)) {
+                continue;
+            }
+            if (c == '+' && !plus && digits == 0) {
+                plus = true;
+            } else if (isDigit(c)) {
+                if (digits++ == 0) {
+                    firstDigit = c;
+                }
+            } else {
+                return false;
+            }
+        }
+        return (digits == 10 && !plus) || (digits >= 2 && digits <= 15 && firstDigit != '0');
     }
     
     /**
      * Validate roll number
      */
     public static boolean isValidRollNo(String rollNo) {
-        return rollNo != null && ROLL_NO_PATTERN.matcher(rollNo.trim().toUpperCase()).matches();
+        if (rollNo == null) {
+            return false;
+        }
+        int start = trimStart(rollNo);
+        int end = trimEnd(rollNo, start);
+        if (!isAscii(rollNo, start, end)) {
+            return ROLL_NO_PATTERN.matcher(rollNo.trim().toUpperCase()).matches();
+        }
+        
+        int letters = countLetters(rollNo, start, end);
+        if (letters > 0) {
+            // AB1234 .. ABCD123456
+            int digits = countDigits(rollNo, start + letters, end);
+            return letters >= 2 && letters <= 4
+                    && start + letters + digits == end && digits >= 4 && digits <= 6;
+        }
+        
+        // 12AB123 .. 12ABCD1234
+        int prefix = countDigits(rollNo, start, end);
+        if (prefix != 2) {
+            return false;
+        }
+        letters = countLetters(rollNo, start + 2, end);
+        int digits = countDigits(rollNo, start + 2 + letters, end);
+        return letters >= 2 && letters <= 4
+                && start + 2 + letters + digits == end && digits >= 3 && digits <= 4;
     }
     
     /**
      * Validate exam code
      */
     public static boolean isValidExamCode(String examCode) {
-        return examCode != null && EXAM_CODE_PATTERN.matcher(examCode.trim().toUpperCase()).matches();
+        if (examCode == null) {
+            return false;
+        }
+        int start = trimStart(examCode);
+        int end = trimEnd(examCode, start);
+        if (!isAscii(examCode, start, end)) {
+            return EXAM_CODE_PATTERN.matcher(examCode.trim().toUpperCase()).matches();
+        }
+        
+        // CS101-MID .. ABCD123-FINAL
+        int letters = countLetters(examCode, start, end);
+        int dash = start + letters + 3;
+        if (letters < 2 || letters > 4 || dash >= end
+                || countDigits(examCode, start + letters, end) != 3 || examCode.charAt(dash) != '-') {
+            return false;
+        }
+        for (String type : EXAM_TYPES) {
+            if (end - dash - 1 == type.length() && examCode.regionMatches(true, dash + 1, type, 0, type.length())) {
+                return true;
+            }
+        }
+        return false;
     }
     
     /**
      * Validate name (letters, spaces, and some special characters)
      */
     public static boolean isValidName(String name) {
-        if (name == null || name.trim().isEmpty()) {
-            return false;
-        }
-        String trimmed = name.trim();
-        return trimmed.length() >= 2 && 
-               trimmed.length() <= 100 && 
-               trimmed.matches("^[a-zA-Z\\s.',-]+$");
+        return isValidText(name, 2, NAME_CHARS);
     }
     
     /**
      * Validate department name
      */
     public static boolean isValidDepartment(String department) {
-        if (department == null || department.trim().isEmpty()) {
-            return false;
+        return isValidText(department, 2, DEPARTMENT_CHARS);
+    }
+    
+    /**
+     * Validate every field of a student in one pass. The result maps each
+     * invalid field (rollNo, name, email, department, year, semester, phone)
+     * to its error message, in that order, and is empty for a valid student.
+     */
+    public static Map<String, String> validateStudent(Student student) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        if (!isValidRollNo(student.getRollNo())) {
+            errors.put("rollNo", "Invalid roll number format");
         }
-        String trimmed = department.trim();
-        return trimmed.length() >= 2 && 
-               trimmed.length() <= 100 && 
-               trimmed.matches("^[a-zA-Z\\s&-]+$");
+        if (!isValidName(student.getName())) {
+            errors.put("name", "Invalid name");
+        }
+        if (!isValidEmail(student.getEmail())) {
+            errors.put("email", "Invalid email format");
+        }
+        if (!isValidDepartment(student.getDepartment())) {
+            errors.put("department", "Invalid department");
+        }
+        if (!isValidYear(student.getYear())) {
+            errors.put("year", "Year must be between 1 and 6");
+        }
+        if (!isValidSemester(student.getSemester())) {
+            errors.put("semester", "Semester must be between 1 and 8");
+        }
+        if (!isValidPhone(student.getPhone())) {
+            errors.put("phone", "Invalid phone number");
+        }
+        return errors;
     }
     
     /**
@@ -137,39 +288,24 @@ public class ValidationUtil {
      * Validate subject name
      */
     public static boolean isValidSubject(String subject) {
-        if (subject == null || subject.trim().isEmpty()) {
-            return false;
-        }
-        String trimmed = subject.trim();
-        return trimmed.length() >= 3 && 
-               trimmed.length() <= 100 && 
-               trimmed.matches("^[a-zA-Z0-9\\s&-().,]+$");
+        return isValidText(subject, 3, SUBJECT_CHARS);
     }
     
     /**
      * Validate hall name
      */
     public static boolean isValidHallName(String hallName) {
-        if (hallName == null || hallName.trim().isEmpty()) {
-            return false;
-        }
-        String trimmed = hallName.trim();
-        return trimmed.length() >= 2 && 
-               trimmed.length() <= 100 && 
-               trimmed.matches("^[a-zA-Z0-9\\s-]+$");
+        return isValidText(hallName, 2, HALL_NAME_CHARS);
     }
     
     /**
      * Validate building name
      */
     public static boolean isValidBuildingName(String building) {
-        if (building == null || building.trim().isEmpty()) {
+        if (isEmpty(building)) {
             return true; // Building is optional
         }
-        String trimmed = building.trim();
-        return trimmed.length() >= 2 && 
-               trimmed.length() <= 100 && 
-               trimmed.matches("^[a-zA-Z0-9\\s-]+$");
+        return isValidText(building, 2, HALL_NAME_CHARS);
     }
     
     /**
@@ -179,12 +315,31 @@ public class ValidationUtil {
         if (input == null) {
             return null;
         }
-        return input.trim()
-                   .replaceAll("<", "&lt;")
-                   .replaceAll(">", "&gt;")
-                   .replaceAll("\"", "&quot;")
-                   .replaceAll("'", "&#x27;")
-                   .replaceAll("/", "&#x2F;");
+        String trimmed = input.trim();
+        StringBuilder sanitized = null;
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            String entity;
+            switch (c) {
+                case '<': entity = "&lt;"; break;
+                case '>': entity = "&gt;"; break;
+                case '"': entity = "&quot;"; break;
+                case '\'': entity = "&#x27;"; break;
+                case '/': entity = "&#x2F;"; break;
+                default: entity = null;
+            }
+            if (entity != null && sanitized == null) {
+                sanitized = new StringBuilder(trimmed.length() + 16).append(trimmed, 0, i);
+            }
+            if (sanitized != null) {
+                if (entity != null) {
+                    sanitized.append(entity);
+                } else {
+                    sanitized.append(c);
+                }
+            }
+        }
+        return sanitized != null ? sanitized.toString() : trimmed;
     }
     
     /**
@@ -279,4 +434,87 @@ public class ValidationUtil {
         
         return formatted.toString().trim();
     }
+    
+    /**
+     * Trimmed length between minLength and 100, every character allowed
+     */
+    private static boolean isValidText(String value, int minLength, boolean[] allowed) {
+        if (value == null) {
+            return false;
+        }
+        int start = trimStart(value);
+        int end = trimEnd(value, start);
+        int length = end - start;
+        if (length < minLength || length > 100) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (!isIn(allowed, value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    // Bounds of the substring String.trim() would return
+    private static int trimStart(String value) {
+        int start = 0;
+        while (start < value.length() && value.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+    
+    private static int trimEnd(String value, int start) {
+        int end = value.length();
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+    
+    private static int countLetters(String value, int from, int end) {
+        int i = from;
+        while (i < end && isAsciiLetter(value.charAt(i))) {
+            i++;
+        }
+        return i - from;
+    }
+    
+    private static int countDigits(String value, int from, int end) {
+        int i = from;
+        while (i < end && isDigit(value.charAt(i))) {
+            i++;
+        }
+        return i - from;
+    }
+    
+    private static boolean isAscii(String value, int from, int end) {
+        for (int i = from; i < end; i++) {
+            if (value.charAt(i) >= 128) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+    
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+    
+    private static boolean isIn(boolean[] set, char c) {
+        return c < set.length && set[c];
+    }
+    
+    private static boolean[] charSet(String chars) {
+        boolean[] set = new boolean[128];
+        for (int i = 0; i < chars.length(); i++) {
+            set[chars.charAt(i)] = true;
+        }
+        return set;
+    }
 }
\ No newline at end of file
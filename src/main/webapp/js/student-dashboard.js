@@ -2,6 +2,7 @@
 
 let currentStudent = null;
 let currentSection = 'dashboard';
+let dashboardData = null;
 
 // Initialize dashboard when DOM is loaded
 document.addEventListener('DOMContentLoaded', function() {
@@ -22,9 +23,6 @@ function initializeDashboard() {
     // Set up modals
     setupModals();
     
-    // Load initial data
-    loadDashboardData();
-    
     console.log('Student Dashboard initialized');
 }
 
@@ -115,8 +113,7 @@ function setupModals() {
 function checkAuthentication() {
     ExamSeatingApp.showLoading('Checking authentication...');
     
-    fetch('/auth/status')
-        .then(response => response.json())
+    fetchDashboard()
         .then(data => {
             ExamSeatingApp.hideLoading();
             
@@ -132,8 +129,8 @@ function checkAuthentication() {
             currentStudent = data;
             updateUserInfo(data);
             
-            // Load dashboard data
-            loadDashboardData();
+            // Render dashboard data from the same response
+            displayDashboard(data);
             
         })
         .catch(error => {
@@ -147,6 +144,21 @@ function checkAuthentication() {
         });
 }
 
+/**
+ * Fetch the dashboard document (session, profile, stats, activity,
+ * upcoming exams and seating) in a single request
+ */
+function fetchDashboard() {
+    return fetch('/student/dashboard')
+        .then(response => response.json())
+        .then(data => {
+            if (data.success) {
+                dashboardData = data;
+            }
+            return data;
+        });
+}
+
 /**
  * Update user information in the UI
  */
@@ -224,9 +236,34 @@ function showSection(sectionName, pushState = true) {
  * Load dashboard data
  */
 function loadDashboardData() {
-    loadStudentStats();
-    loadRecentActivity();
-    loadUpcomingExams();
+    fetchDashboard()
+        .then(data => {
+            if (data.success) {
+                displayDashboard(data);
+            }
+        })
+        .catch(error => {
+            console.error('Error loading dashboard:', error);
+            displayDashboard({
+                stats: {
+                    upcomingExams: 0,
+                    completedExams: 0,
+                    seatingArrangements: 0,
+                    profileCompletion: 75
+                },
+                activities: [],
+                upcomingExams: []
+            });
+        });
+}
+
+/**
+ * Render the dashboard section from a dashboard document
+ */
+function displayDashboard(data) {
+    updateStatsDisplay(data.stats);
+    displayRecentActivity(data.activities);
+    displayUpcomingExamsList(data.upcomingExams);
 }
 
 /**
@@ -249,29 +286,6 @@ function loadSectionData(section) {
     }
 }
 
-/**
- * Load student statistics
- */
-function loadStudentStats() {
-    fetch('/student/stats')
-        .then(response => response.json())
-        .then(data => {
-            if (data.success) {
-                updateStatsDisplay(data.stats);
-            }
-        })
-        .catch(error => {
-            console.error('Error loading stats:', error);
-            // Set default values
-            updateStatsDisplay({
-                upcomingExams: 0,
-                completedExams: 0,
-                seatingArrangements: 0,
-                profileCompletion: 75
-            });
-        });
-}
-
 /**
  * Update stats display
  */
@@ -306,23 +320,6 @@ function animateCounter(elementId, targetValue) {
     }, 16);
 }
 
-/**
- * Load recent activity
- */
-function loadRecentActivity() {
-    fetch('/student/activity')
-        .then(response => response.json())
-        .then(data => {
-            if (data.success) {
-                displayRecentActivity(data.activities);
-            }
-        })
-        .catch(error => {
-            console.error('Error loading recent activity:', error);
-            displayRecentActivity([]);
-        });
-}
-
 /**
  * Display recent activity
  */
@@ -406,23 +403,6 @@ function formatTimeAgo(timestamp) {
     return past.toLocaleDateString();
 }
 
-/**
- * Load upcoming exams
- */
-function loadUpcomingExams() {
-    fetch('/student/exams?status=upcoming&limit=5')
-        .then(response => response.json())
-        .then(data => {
-            if (data.success) {
-                displayUpcomingExamsList(data.exams);
-            }
-        })
-        .catch(error => {
-            console.error('Error loading upcoming exams:', error);
-            displayUpcomingExamsList([]);
-        });
-}
-
 /**
  * Display upcoming exams list
  */
@@ -552,10 +532,14 @@ function displayExamsGrid(exams) {
  * Load seating arrangements
  */
 function loadSeatingArrangements() {
+    if (dashboardData) {
+        displaySeatingArrangements(dashboardData.arrangements);
+        return;
+    }
+    
     ExamSeatingApp.showLoading('Loading seating arrangements...');
     
-    fetch('/student/seating')
-        .then(response => response.json())
+    fetchDashboard()
         .then(data => {
             ExamSeatingApp.hideLoading();
             if (data.success) {
@@ -626,8 +610,12 @@ function displaySeatingArrangements(arrangements) {
  * Load profile data
  */
 function loadProfileData() {
-    fetch('/student/profile')
-        .then(response => response.json())
+    if (dashboardData) {
+        updateProfileForm(dashboardData.student);
+        return;
+    }
+    
+    fetchDashboard()
         .then(data => {
             if (data.success && data.student) {
                 updateProfileForm(data.student);
@@ -697,6 +685,9 @@ function handleProfileUpdate(e) {
         if (data.success) {
             ExamSeatingApp.showNotification('Profile updated successfully', 'success');
             
+            // Refetch the dashboard on next use
+            dashboardData = null;
+            
             // Update user name in header
             document.getElementById('user-name').textContent = profileData.name;
             document.getElementById('profile-name').textContent = profileData.name;
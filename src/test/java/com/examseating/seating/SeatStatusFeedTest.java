@@ -0,0 +1,44 @@
+package com.examseating.seating;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.examseating.model.SeatingArrangement;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SeatStatusFeedTest {
+
+    @Test
+    void subscriberClosingItselfDuringPublishDoesNotStopDelivery() {
+        SeatStatusFeed feed = new SeatStatusFeed(16);
+        List<Long> first = new ArrayList<>();
+        List<Long> second = new ArrayList<>();
+        List<Long> third = new ArrayList<>();
+
+        SeatStatusFeed.Subscription[] closing = new SeatStatusFeed.Subscription[1];
+        closing[0] = feed.subscribe(1, 0, 0, change -> {
+            first.add(change.getSequence());
+            closing[0].close();
+        });
+        feed.subscribe(1, 0, 0, change -> second.add(change.getSequence()));
+        feed.subscribe(1, 0, 0, change -> third.add(change.getSequence()));
+
+        feed.publish(seat(1, 10));
+        feed.publish(seat(1, 11));
+
+        assertEquals(List.of(1L), first);
+        assertEquals(List.of(1L, 2L), second);
+        assertEquals(List.of(1L, 2L), third);
+        assertEquals(2, feed.getSubscriberCount());
+    }
+
+    private static SeatingArrangement seat(int examId, int seatingId) {
+        SeatingArrangement arrangement = new SeatingArrangement();
+        arrangement.setId(seatingId);
+        arrangement.setExamId(examId);
+        arrangement.setHallId(1);
+        arrangement.setStatus(SeatingArrangement.SeatingStatus.PRESENT);
+        return arrangement;
+    }
+}
\ No newline at end of file